@@ -0,0 +1,12 @@
+package com.decathlonminds.emotional.cache;
+
+/**
+ * Compteurs d'un cache mémoire, exposés pour la supervision
+ */
+public record CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
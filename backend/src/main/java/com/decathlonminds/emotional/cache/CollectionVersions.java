@@ -0,0 +1,105 @@
+package com.decathlonminds.emotional.cache;
+
+import com.decathlonminds.emotional.event.FeedPostChangedEvent;
+import com.decathlonminds.emotional.event.PostChangedEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Numéro de version en mémoire par collection, incrémenté après chaque écriture validée.
+ * Toutes les lectures d'une collection (pages et éléments) portent l'ETag de sa version courante :
+ * un client qui renvoie cet ETag reçoit 304 ; pour une page, sans qu'aucune requête ne parte vers la base.
+ * Pour un élément aussi : une suppression change la version, un ETag encore valide prouve donc que l'élément
+ * existe. L'élément n'est lu qu'en cas d'ETag absent ou périmé, et une réponse 404 ne porte pas d'ETag.
+ * Un préfixe tiré au démarrage évite qu'un ETag émis avant un redémarrage soit reconnu à tort.
+ */
+@Component
+public class CollectionVersions {
+
+    private final String nonce = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<VersionedCollection, AtomicLong> versions = new EnumMap<>(VersionedCollection.class);
+
+    public CollectionVersions() {
+        for (VersionedCollection collection : VersionedCollection.values()) {
+            versions.put(collection, new AtomicLong());
+        }
+    }
+
+    public void bump(VersionedCollection collection) {
+        versions.get(collection).incrementAndGet();
+    }
+
+    public String etag(VersionedCollection collection) {
+        return "\"" + collection.name().toLowerCase(Locale.ROOT) + "-" + nonce + "-"
+                + versions.get(collection).get() + "\"";
+    }
+
+    /**
+     * Positionne l'ETag de la collection sur la réponse et indique si le client possède déjà cette version
+     * (If-None-Match) ; dans ce cas la réponse 304 est prête et le contrôleur renvoie null.
+     * La version est lue avant la base : une écriture concurrente ne peut que rendre l'ETag trop ancien.
+     */
+    public boolean isNotModified(VersionedCollection collection, WebRequest request) {
+        return request.checkNotModified(etag(collection));
+    }
+
+    /**
+     * Lecture conditionnelle d'un élément de la collection : 304 (null) sans lire la base si le client
+     * possède la version courante, sinon 404 sans ETag si l'élément n'existe pas, ou l'élément et son ETag.
+     * Comme pour les pages, la version est lue avant la base.
+     */
+    public <T> ResponseEntity<T> getItem(VersionedCollection collection, WebRequest request, Supplier<Optional<T>> loader) {
+        String etag = etag(collection);
+        // checkNotModified positionne l'ETag même sans correspondance : il n'est appelé qu'en cas de 304 certain
+        if (matchesIfNoneMatch(request, etag) && request.checkNotModified(etag)) {
+            return null;
+        }
+        return loader.get()
+                .map(item -> ResponseEntity.ok().eTag(etag).body(item))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Comparaison faible (RFC 9110) de l'ETag avec les valeurs de If-None-Match, sans effet sur la réponse.
+     * "*" n'est pas reconnu ici : il suppose que l'élément existe, ce que seule la base peut dire.
+     */
+    private static boolean matchesIfNoneMatch(WebRequest request, String etag) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) {
+            return false;
+        }
+        for (String header : headers) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @TransactionalEventListener
+    public void onFeedPostChanged(FeedPostChangedEvent event) {
+        bump(VersionedCollection.FEED);
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        bump(VersionedCollection.POSTS);
+    }
+}
@@ -0,0 +1,82 @@
+package com.decathlonminds.emotional.cache;
+
+import com.decathlonminds.emotional.dto.CursorPage;
+import com.decathlonminds.emotional.dto.FeedPostDto;
+import com.decathlonminds.emotional.event.FeedPostChangedEvent;
+import com.decathlonminds.emotional.model.PostType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cache des pages du fil d'actualité, placé devant FeedService.
+ * Les pages sont rangées par périmètre (tout le fil, un type, un tag) ; une écriture invalide
+ * uniquement les périmètres touchés par l'ancienne et la nouvelle version de la publication.
+ */
+@Component
+public class FeedPageCache {
+
+    private static final String ALL_SCOPE = "all";
+    private static final String TYPE_SCOPE_PREFIX = "type:";
+    private static final String TAG_SCOPE_PREFIX = "tag:";
+
+    private final LruTtlCache<PageKey, CursorPage<FeedPostDto>> pages;
+
+    public FeedPageCache(@Value("${feed.cache.max-entries:500}") int maxEntries,
+                         @Value("${feed.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.pages = new LruTtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public static String allScope() {
+        return ALL_SCOPE;
+    }
+
+    public static String typeScope(PostType type) {
+        return TYPE_SCOPE_PREFIX + type.name();
+    }
+
+    public static String tagScope(String tag) {
+        return TAG_SCOPE_PREFIX + tag;
+    }
+
+    public CursorPage<FeedPostDto> get(String scope, String cursor, int size, Supplier<CursorPage<FeedPostDto>> loader) {
+        return pages.get(new PageKey(scope, cursor, size), loader);
+    }
+
+    public void invalidateAll() {
+        pages.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return pages.stats();
+    }
+
+    @TransactionalEventListener
+    public void onFeedPostChanged(FeedPostChangedEvent event) {
+        Set<String> scopes = new HashSet<>();
+        scopes.add(ALL_SCOPE);
+        addScopes(scopes, event.previous());
+        addScopes(scopes, event.current());
+        pages.invalidateIf(key -> scopes.contains(key.scope()));
+    }
+
+    private void addScopes(Set<String> scopes, FeedPostDto post) {
+        if (post == null) {
+            return;
+        }
+        if (post.getType() != null) {
+            scopes.add(typeScope(post.getType()));
+        }
+        if (post.getTags() != null) {
+            post.getTags().forEach(tag -> scopes.add(tagScope(tag)));
+        }
+    }
+
+    private record PageKey(String scope, String cursor, int size) {
+    }
+}
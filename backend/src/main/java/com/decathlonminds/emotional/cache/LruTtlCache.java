@@ -0,0 +1,123 @@
+package com.decathlonminds.emotional.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache mémoire borné, avec éviction LRU sur la taille et expiration après un TTL.
+ * Les chargements concurrents d'une invalidation ne sont pas conservés, afin qu'une lecture
+ * lancée avant une écriture ne réinsère pas une valeur périmée.
+ */
+public class LruTtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Incrémenté à chaque invalidation, protégé par le moniteur de l'instance
+    private long invalidationGeneration;
+
+    public LruTtlCache(int maxEntries, Duration ttl) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("La taille maximale du cache doit être positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                if (size() > LruTtlCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Renvoie la valeur en cache ou la charge avec loader (lecture traversante).
+     * Les valeurs null ne sont pas mises en cache.
+     */
+    public V get(K key, Supplier<? extends V> loader) {
+        long generation;
+        synchronized (this) {
+            V cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+            generation = invalidationGeneration;
+        }
+
+        V value = loader.get();
+        if (value != null) {
+            synchronized (this) {
+                if (generation == invalidationGeneration) {
+                    entries.put(key, new CachedValue<>(value, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return value;
+    }
+
+    public synchronized Optional<V> getIfPresent(K key) {
+        return Optional.ofNullable(lookup(key));
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new CachedValue<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Insère une valeur avec une durée de vie propre, à la place du TTL par défaut du cache
+     */
+    public synchronized void put(K key, V value, Duration ttl) {
+        entries.put(key, new CachedValue<>(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        invalidationGeneration++;
+    }
+
+    public synchronized void invalidateIf(Predicate<? super K> predicate) {
+        entries.keySet().removeIf(predicate);
+        invalidationGeneration++;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        invalidationGeneration++;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxEntries);
+    }
+
+    // Appelé sous le moniteur de l'instance
+    private V lookup(K key) {
+        CachedValue<V> cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAtNanos - System.nanoTime() > 0) {
+                hits.increment();
+                return cached.value;
+            }
+            entries.remove(key);
+            evictions.increment();
+        }
+        misses.increment();
+        return null;
+    }
+
+    private record CachedValue<V>(V value, long expiresAtNanos) {
+    }
+}
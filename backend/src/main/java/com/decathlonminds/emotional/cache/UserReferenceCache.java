@@ -0,0 +1,58 @@
+package com.decathlonminds.emotional.cache;
+
+import com.decathlonminds.emotional.event.UserChangedEvent;
+import com.decathlonminds.emotional.model.User;
+import com.decathlonminds.emotional.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache de l'existence des utilisateurs, pour rattacher une ligne à un utilisateur sans le charger.
+ * Une fois l'existence connue, l'utilisateur est fourni sous forme de référence (getReferenceById) :
+ * aucun SELECT sur users, seule la clé étrangère est écrite.
+ * Les absences sont aussi mises en cache ; créations et suppressions invalident l'entrée concernée.
+ */
+@Component
+public class UserReferenceCache {
+
+    private final UserRepository userRepository;
+    private final LruTtlCache<UUID, Boolean> existence;
+
+    @Autowired
+    public UserReferenceCache(UserRepository userRepository,
+                              @Value("${users.reference-cache.max-entries:10000}") int maxEntries,
+                              @Value("${users.reference-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.existence = new LruTtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public boolean exists(UUID userId) {
+        return existence.get(userId, () -> userRepository.existsById(userId));
+    }
+
+    /**
+     * Référence non initialisée vers l'utilisateur, s'il existe
+     */
+    public Optional<User> findReference(UUID userId) {
+        return exists(userId) ? Optional.of(userRepository.getReferenceById(userId)) : Optional.empty();
+    }
+
+    public void invalidate(UUID userId) {
+        existence.invalidate(userId);
+    }
+
+    public CacheStats stats() {
+        return existence.stats();
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+}
@@ -0,0 +1,9 @@
+package com.decathlonminds.emotional.cache;
+
+/**
+ * Collections dont les lectures portent un ETag dérivé d'un numéro de version
+ */
+public enum VersionedCollection {
+    FEED,
+    POSTS
+}
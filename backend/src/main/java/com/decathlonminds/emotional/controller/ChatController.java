@@ -1,6 +1,10 @@
 package com.decathlonminds.emotional.controller;
 
 import com.decathlonminds.emotional.dto.ChatConversationDto;
+import com.decathlonminds.emotional.dto.ChatConversationStatsDto;
+import com.decathlonminds.emotional.dto.ChatDailySummaryDto;
+import com.decathlonminds.emotional.dto.ChatEmotionAnalyticsDto;
+import com.decathlonminds.emotional.dto.CursorPage;
 import com.decathlonminds.emotional.service.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,11 +15,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -45,18 +56,113 @@ public class ChatController {
     }
 
     @Operation(summary = "Récupérer les conversations par utilisateur", 
-               description = "Récupère l'historique des conversations d'un utilisateur")
+               description = "Renvoie une page de l'historique des conversations d'un utilisateur, " +
+                             "de la plus récente à la plus ancienne")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Conversations trouvées",
-                     content = @Content(schema = @Schema(implementation = ChatConversationDto.class))),
+                     content = @Content(schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "400", description = "Curseur de pagination invalide"),
         @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ChatConversationDto>> getConversationsByUser(
+    public ResponseEntity<CursorPage<ChatConversationDto>> getConversationsByUser(
+            @Parameter(description = "ID de l'utilisateur", required = true)
+            @PathVariable UUID userId,
+            @Parameter(description = "Curseur renvoyé par la page précédente (optionnel)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de conversations par page (20 par défaut, 100 au maximum)")
+            @RequestParam(required = false) Integer size) {
+        return chatService.getConversationsByUser(userId, cursor, size)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Exporter l'historique d'un utilisateur",
+               description = "Renvoie toutes les conversations récentes d'un utilisateur en NDJSON (une par ligne, " +
+                             "de la plus ancienne à la plus récente), écrites au fil de la lecture. " +
+                             "Les journées archivées sont disponibles sous forme de résumés.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export en cours de transmission"),
+        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
+    })
+    @GetMapping(value = "/user/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportConversations(
+            @Parameter(description = "ID de l'utilisateur", required = true)
+            @PathVariable UUID userId) {
+        if (!chatService.userExists(userId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"conversations-" + userId + ".ndjson\"")
+                .body((StreamingResponseBody) out -> chatService.exportConversations(userId, out));
+    }
+
+    @Operation(summary = "Statistiques de l'historique d'un utilisateur",
+               description = "Renvoie le nombre de conversations, récentes et archivées, et leur répartition par émotion")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistiques calculées"),
+        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
+    })
+    @GetMapping("/user/{userId}/stats")
+    public ResponseEntity<ChatConversationStatsDto> getConversationStats(
             @Parameter(description = "ID de l'utilisateur", required = true)
             @PathVariable UUID userId) {
-        List<ChatConversationDto> conversations = chatService.getConversationsByUser(userId);
-        return ResponseEntity.ok(conversations);
+        return chatService.getConversationStats(userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Résumés des journées archivées",
+               description = "Renvoie les résumés quotidiens des conversations anciennes d'un utilisateur, " +
+                             "éventuellement limités aux journées où une émotion a été exprimée")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Résumés trouvés"),
+        @ApiResponse(responseCode = "400", description = "Période invalide"),
+        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
+    })
+    @GetMapping("/user/{userId}/summaries")
+    public ResponseEntity<List<ChatDailySummaryDto>> getDailySummaries(
+            @Parameter(description = "ID de l'utilisateur", required = true)
+            @PathVariable UUID userId,
+            @Parameter(description = "Date de début (optionnel)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Date de fin (optionnel)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Émotion (optionnel)", example = "SAD")
+            @RequestParam(required = false) String emotion) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return chatService.getDailySummaries(userId, startDate, endDate, emotion)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Répartition des émotions d'un utilisateur",
+               description = "Renvoie les fréquences émotion × raison, la dernière émotion exprimée " +
+                             "et les séries de conversations de même émotion d'un utilisateur")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistiques trouvées"),
+        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
+    })
+    @GetMapping("/user/{userId}/analytics")
+    public ResponseEntity<ChatEmotionAnalyticsDto> getEmotionAnalytics(
+            @Parameter(description = "ID de l'utilisateur", required = true)
+            @PathVariable UUID userId) {
+        return chatService.getEmotionAnalytics(userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Répartition globale des émotions",
+               description = "Renvoie les fréquences émotion × raison de l'ensemble des conversations")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistiques calculées")
+    })
+    @GetMapping("/analytics")
+    public ResponseEntity<ChatEmotionAnalyticsDto> getGlobalEmotionAnalytics() {
+        return ResponseEntity.ok(chatService.getGlobalEmotionAnalytics());
     }
 
     @Operation(summary = "Générer une citation rassurante", 
@@ -71,6 +177,23 @@ public class ChatController {
         String quote = chatService.generateReassuranceQuote(request.getEmotion(), request.getReason());
         return ResponseEntity.ok(new QuoteResponse(quote));
     }
+
+    @Operation(summary = "Recharger les citations",
+               description = "Relit le fichier des citations rassurantes sans redémarrer le serveur")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Citations rechargées"),
+        @ApiResponse(responseCode = "400", description = "Fichier invalide, les citations actuelles sont conservées"),
+        @ApiResponse(responseCode = "500", description = "Fichier illisible")
+    })
+    @PostMapping("/quote/reload")
+    public ResponseEntity<Map<String, Integer>> reloadQuotes() throws IOException {
+        return ResponseEntity.ok(Map.of("loaded", chatService.reloadQuotes()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
     
     // Classes internes pour les requêtes et réponses
     
@@ -1,7 +1,13 @@
 package com.decathlonminds.emotional.controller;
 
+import com.decathlonminds.emotional.dto.EmotionalEntryBatchDto;
+import com.decathlonminds.emotional.dto.EmotionalEntryBatchResultDto;
 import com.decathlonminds.emotional.dto.EmotionalEntryDto;
+import com.decathlonminds.emotional.dto.MoodTrendDto;
 import com.decathlonminds.emotional.model.EmotionType;
+import com.decathlonminds.emotional.model.TrendGranularity;
+import com.decathlonminds.emotional.service.EmotionalEntryService;
+import com.decathlonminds.emotional.service.MoodTrendService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,7 +24,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +32,19 @@ import java.util.UUID;
 @Tag(name = "États Émotionnels", description = "API pour la gestion des états émotionnels des utilisateurs")
 public class EmotionalEntryController {
 
+    private static final int MAX_NEARBY_RADIUS_METERS = 50_000;
+    private static final int MAX_NEARBY_RESULTS = 500;
+
+    private final EmotionalEntryService emotionalEntryService;
+    private final MoodTrendService moodTrendService;
+
+    @Autowired
+    public EmotionalEntryController(EmotionalEntryService emotionalEntryService,
+                                    MoodTrendService moodTrendService) {
+        this.emotionalEntryService = emotionalEntryService;
+        this.moodTrendService = moodTrendService;
+    }
+
     @Operation(summary = "Enregistrer un nouvel état émotionnel", 
                description = "Permet à un utilisateur d'enregistrer son état émotionnel courant")
     @ApiResponses(value = {
@@ -36,10 +55,25 @@ public class EmotionalEntryController {
     })
     @PostMapping
     public ResponseEntity<EmotionalEntryDto> createEmotionalEntry(@Valid @RequestBody EmotionalEntryDto emotionalEntryDto) {
-        // Simulation
-        emotionalEntryDto.setId(UUID.randomUUID());
-        emotionalEntryDto.setRecordedAt(ZonedDateTime.now());
-        return new ResponseEntity<>(emotionalEntryDto, HttpStatus.CREATED);
+        return emotionalEntryService.createEntry(emotionalEntryDto)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Enregistrer un lot d'états émotionnels", 
+               description = "Permet à l'application mobile de synchroniser sa file d'attente hors ligne (1000 entrées au maximum)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Lot enregistré avec succès",
+                     content = @Content(schema = @Schema(implementation = EmotionalEntryBatchResultDto.class))),
+        @ApiResponse(responseCode = "400", description = "Données d'entrée invalides"),
+        @ApiResponse(responseCode = "404", description = "Un des utilisateurs n'existe pas")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<EmotionalEntryBatchResultDto> createEmotionalEntries(
+            @Valid @RequestBody EmotionalEntryBatchDto batchDto) {
+        return emotionalEntryService.createEntries(batchDto.getEntries())
+                .map(ids -> new ResponseEntity<>(new EmotionalEntryBatchResultDto(ids.size(), ids), HttpStatus.CREATED))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Récupérer un état émotionnel par ID", 
@@ -53,13 +87,9 @@ public class EmotionalEntryController {
     public ResponseEntity<EmotionalEntryDto> getEmotionalEntryById(
             @Parameter(description = "ID de l'enregistrement à récupérer", required = true)
             @PathVariable UUID id) {
-        // Simulation
-        EmotionalEntryDto entry = new EmotionalEntryDto();
-        entry.setId(id);
-        entry.setUserId(UUID.randomUUID());
-        entry.setEmotion(EmotionType.HAPPY);
-        entry.setRecordedAt(ZonedDateTime.now().minusHours(1));
-        return ResponseEntity.ok(entry);
+        return emotionalEntryService.getEntryById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Récupérer les états émotionnels d'un utilisateur", 
@@ -78,21 +108,36 @@ public class EmotionalEntryController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @Parameter(description = "Type d'émotion (optionnel)")
             @RequestParam(required = false) EmotionType emotionType) {
-        
-        // Simulation
-        EmotionalEntryDto entry1 = new EmotionalEntryDto();
-        entry1.setId(UUID.randomUUID());
-        entry1.setUserId(userId);
-        entry1.setEmotion(EmotionType.HAPPY);
-        entry1.setRecordedAt(ZonedDateTime.now().minusHours(2));
-        
-        EmotionalEntryDto entry2 = new EmotionalEntryDto();
-        entry2.setId(UUID.randomUUID());
-        entry2.setUserId(userId);
-        entry2.setEmotion(EmotionType.CALM);
-        entry2.setRecordedAt(ZonedDateTime.now().minusHours(5));
-        
-        return ResponseEntity.ok(List.of(entry1, entry2));
+        return emotionalEntryService.getEntriesByUser(userId, startDate, endDate, emotionType)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Récupérer l'évolution de l'humeur d'un utilisateur",
+               description = "Agrège les états émotionnels par jour, semaine ou mois à partir des agrégats quotidiens. " +
+                             "Par défaut, couvre les douze derniers mois.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tendances récupérées avec succès",
+                     content = @Content(schema = @Schema(implementation = MoodTrendDto.class))),
+        @ApiResponse(responseCode = "400", description = "Période invalide"),
+        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
+    })
+    @GetMapping("/user/{userId}/trends")
+    public ResponseEntity<MoodTrendDto> getMoodTrends(
+            @Parameter(description = "ID de l'utilisateur", required = true)
+            @PathVariable UUID userId,
+            @Parameter(description = "Granularité des périodes")
+            @RequestParam(defaultValue = "DAY") TrendGranularity granularity,
+            @Parameter(description = "Date de début (optionnel)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Date de fin (optionnel)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return moodTrendService.getTrends(userId, granularity, startDate, endDate)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Mise à jour d'un état émotionnel", 
@@ -108,9 +153,9 @@ public class EmotionalEntryController {
             @Parameter(description = "ID de l'enregistrement à modifier", required = true)
             @PathVariable UUID id,
             @Valid @RequestBody EmotionalEntryDto emotionalEntryDto) {
-        // Simulation
-        emotionalEntryDto.setId(id);
-        return ResponseEntity.ok(emotionalEntryDto);
+        return emotionalEntryService.updateEntry(id, emotionalEntryDto)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Suppression d'un état émotionnel", 
@@ -123,14 +168,17 @@ public class EmotionalEntryController {
     public ResponseEntity<Void> deleteEmotionalEntry(
             @Parameter(description = "ID de l'enregistrement à supprimer", required = true)
             @PathVariable UUID id) {
-        // Simulation
-        return ResponseEntity.noContent().build();
+        boolean deleted = emotionalEntryService.deleteEntry(id);
+        return deleted
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 
     @Operation(summary = "Récupérer les états émotionnels par localisation", 
-               description = "Récupère les états émotionnels enregistrés à proximité d'une position géographique")
+               description = "Récupère les états émotionnels enregistrés à proximité d'une position géographique, du plus proche au plus éloigné")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Liste des états émotionnels récupérée avec succès")
+        @ApiResponse(responseCode = "200", description = "Liste des états émotionnels récupérée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Rayon ou limite invalide")
     })
     @GetMapping("/nearby")
     public ResponseEntity<List<EmotionalEntryDto>> getNearbyEmotionalEntries(
@@ -138,16 +186,15 @@ public class EmotionalEntryController {
             @RequestParam BigDecimal latitude,
             @Parameter(description = "Longitude", required = true)
             @RequestParam BigDecimal longitude,
-            @Parameter(description = "Rayon de recherche en mètres", required = true)
-            @RequestParam int radiusMeters) {
-        
-        // Simulation
-        EmotionalEntryDto entry = new EmotionalEntryDto();
-        entry.setId(UUID.randomUUID());
-        entry.setLocationLatitude(latitude.add(new BigDecimal("0.0001")));
-        entry.setLocationLongitude(longitude.add(new BigDecimal("0.0001")));
-        entry.setEmotion(EmotionType.HAPPY);
-        
-        return ResponseEntity.ok(List.of(entry));
+            @Parameter(description = "Rayon de recherche en mètres (50 km au maximum)", required = true)
+            @RequestParam int radiusMeters,
+            @Parameter(description = "Nombre maximal de résultats (50 par défaut, 500 au maximum)")
+            @RequestParam(defaultValue = "50") int limit) {
+        if (radiusMeters <= 0 || radiusMeters > MAX_NEARBY_RADIUS_METERS || limit <= 0 || limit > MAX_NEARBY_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<EmotionalEntryDto> entries = emotionalEntryService.findNearby(
+                latitude.doubleValue(), longitude.doubleValue(), radiusMeters, limit);
+        return ResponseEntity.ok(entries);
     }
 }
@@ -1,8 +1,14 @@
 package com.decathlonminds.emotional.controller;
 
+import com.decathlonminds.emotional.cache.CacheStats;
+import com.decathlonminds.emotional.cache.CollectionVersions;
+import com.decathlonminds.emotional.cache.VersionedCollection;
+import com.decathlonminds.emotional.dto.CursorPage;
 import com.decathlonminds.emotional.dto.FeedPostDto;
+import com.decathlonminds.emotional.dto.FeedStreamEventDto;
 import com.decathlonminds.emotional.model.PostType;
 import com.decathlonminds.emotional.service.FeedService;
+import com.decathlonminds.emotional.service.FeedStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,10 +19,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -25,35 +33,81 @@ import java.util.UUID;
 public class FeedController {
 
     private final FeedService feedService;
+    private final FeedStreamService feedStreamService;
+    private final CollectionVersions collectionVersions;
 
     @Autowired
-    public FeedController(FeedService feedService) {
+    public FeedController(FeedService feedService, FeedStreamService feedStreamService,
+                          CollectionVersions collectionVersions) {
         this.feedService = feedService;
+        this.feedStreamService = feedStreamService;
+        this.collectionVersions = collectionVersions;
     }
 
     @Operation(summary = "Récupérer toutes les publications", 
-              description = "Renvoie toutes les publications du fil d'actualité triées par date de création (la plus récente d'abord)")
+              description = "Renvoie une page de publications du fil d'actualité triées par date de création (la plus récente d'abord)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Publications trouvées",
-                    content = @Content(schema = @Schema(implementation = FeedPostDto.class)))
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "304", description = "Inchangées depuis l'ETag transmis (If-None-Match)"),
+        @ApiResponse(responseCode = "400", description = "Curseur de pagination invalide")
     })
     @GetMapping
-    public ResponseEntity<List<FeedPostDto>> getAllPosts() {
-        List<FeedPostDto> posts = feedService.getAllPosts();
+    public ResponseEntity<CursorPage<FeedPostDto>> getAllPosts(
+            @Parameter(description = "Curseur renvoyé par la page précédente (optionnel)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de publications par page (20 par défaut, 100 au maximum)")
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        if (collectionVersions.isNotModified(VersionedCollection.FEED, webRequest)) {
+            return null;
+        }
+        CursorPage<FeedPostDto> posts = feedService.getAllPosts(cursor, size);
         return ResponseEntity.ok(posts);
     }
 
+    @Operation(summary = "Suivre le fil en temps réel",
+              description = "Flux Server-Sent Events des publications créées (created), modifiées (updated) " +
+                            "et supprimées (deleted). Le premier événement (ready) donne l'identifiant courant. " +
+                            "Pour reprendre après une coupure, renvoyer le dernier identifiant reçu dans l'en-tête " +
+                            "Last-Event-ID ou le paramètre lastEventId ; si la reprise est impossible, " +
+                            "un événement reset invite à recharger le fil")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Flux ouvert (text/event-stream) ; fermé par le serveur " +
+                     "si le client ne lit pas assez vite, il se reconnecte alors avec Last-Event-ID",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                       schema = @Schema(implementation = FeedStreamEventDto.class)))
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPosts(
+            @Parameter(description = "Dernier identifiant d'événement reçu (en-tête envoyé par EventSource)")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @Parameter(description = "Dernier identifiant d'événement reçu, pour les clients sans en-tête (optionnel)")
+            @RequestParam(required = false) String lastEventId) {
+        return feedStreamService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
     @Operation(summary = "Récupérer les publications par type", 
               description = "Renvoie les publications du fil d'actualité filtrées par type")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Publications trouvées",
-                    content = @Content(schema = @Schema(implementation = FeedPostDto.class)))
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "304", description = "Inchangées depuis l'ETag transmis (If-None-Match)"),
+        @ApiResponse(responseCode = "400", description = "Curseur de pagination invalide")
     })
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<FeedPostDto>> getPostsByType(
+    public ResponseEntity<CursorPage<FeedPostDto>> getPostsByType(
             @Parameter(description = "Type de publication", required = true)
-            @PathVariable PostType type) {
-        List<FeedPostDto> posts = feedService.getPostsByType(type);
+            @PathVariable PostType type,
+            @Parameter(description = "Curseur renvoyé par la page précédente (optionnel)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de publications par page (20 par défaut, 100 au maximum)")
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        if (collectionVersions.isNotModified(VersionedCollection.FEED, webRequest)) {
+            return null;
+        }
+        CursorPage<FeedPostDto> posts = feedService.getPostsByType(type, cursor, size);
         return ResponseEntity.ok(posts);
     }
 
@@ -61,30 +115,51 @@ public class FeedController {
               description = "Renvoie les publications du fil d'actualité contenant un tag spécifique")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Publications trouvées",
-                    content = @Content(schema = @Schema(implementation = FeedPostDto.class)))
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "304", description = "Inchangées depuis l'ETag transmis (If-None-Match)"),
+        @ApiResponse(responseCode = "400", description = "Curseur de pagination invalide")
     })
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<List<FeedPostDto>> getPostsByTag(
+    public ResponseEntity<CursorPage<FeedPostDto>> getPostsByTag(
             @Parameter(description = "Tag à rechercher", required = true)
-            @PathVariable String tag) {
-        List<FeedPostDto> posts = feedService.getPostsByTag(tag);
+            @PathVariable String tag,
+            @Parameter(description = "Curseur renvoyé par la page précédente (optionnel)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de publications par page (20 par défaut, 100 au maximum)")
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        if (collectionVersions.isNotModified(VersionedCollection.FEED, webRequest)) {
+            return null;
+        }
+        CursorPage<FeedPostDto> posts = feedService.getPostsByTag(tag, cursor, size);
         return ResponseEntity.ok(posts);
     }
 
+    @Operation(summary = "Statistiques du cache du fil d'actualité", 
+              description = "Renvoie les compteurs de succès, d'échecs et d'évictions du cache des pages du fil")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistiques du cache",
+                    content = @Content(schema = @Schema(implementation = CacheStats.class)))
+    })
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return ResponseEntity.ok(feedService.getCacheStats());
+    }
+
     @Operation(summary = "Récupérer une publication par ID", 
               description = "Renvoie une publication spécifique par son ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Publication trouvée",
                     content = @Content(schema = @Schema(implementation = FeedPostDto.class))),
+        @ApiResponse(responseCode = "304", description = "Inchangée depuis l'ETag transmis (If-None-Match)"),
         @ApiResponse(responseCode = "404", description = "Publication non trouvée")
     })
     @GetMapping("/{id}")
     public ResponseEntity<FeedPostDto> getPostById(
             @Parameter(description = "ID de la publication", required = true)
-            @PathVariable UUID id) {
-        return feedService.getPostById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+            @PathVariable UUID id,
+            WebRequest webRequest) {
+        return collectionVersions.getItem(VersionedCollection.FEED, webRequest, () -> feedService.getPostById(id));
     }
 
     @Operation(summary = "Créer une nouvelle publication", 
@@ -133,4 +208,9 @@ public class FeedController {
                 ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
                 : ResponseEntity.notFound().build();
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
@@ -1,13 +1,17 @@
 package com.decathlonminds.emotional.controller;
 
+import com.decathlonminds.emotional.cache.CollectionVersions;
+import com.decathlonminds.emotional.cache.VersionedCollection;
+import com.decathlonminds.emotional.dto.PageResult;
 import com.decathlonminds.emotional.dto.PostDTO;
+import com.decathlonminds.emotional.dto.PostSummaryDTO;
 import com.decathlonminds.emotional.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,26 +19,38 @@ import java.util.UUID;
 @RequestMapping("/api/posts")
 public class PostController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PostService postService;
+    // Les lectures portent l'ETag de la version courante des posts : If-None-Match inchangé => 304 sans requête en base
+    private final CollectionVersions collectionVersions;
 
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService, CollectionVersions collectionVersions) {
         this.postService = postService;
+        this.collectionVersions = collectionVersions;
     }
 
-    // Récupérer tous les posts
+    // Récupérer tous les posts (résumés paginés, 20 par page par défaut, 100 au maximum)
     @GetMapping
-    public ResponseEntity<List<PostDTO>> getAllPosts() {
-        List<PostDTO> posts = postService.getAllPosts();
+    public ResponseEntity<PageResult<PostSummaryDTO>> getAllPosts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (collectionVersions.isNotModified(VersionedCollection.POSTS, webRequest)) {
+            return null;
+        }
+        PageResult<PostSummaryDTO> posts = postService.getAllPosts(page, size);
         return ResponseEntity.ok(posts);
     }
 
-    // Récupérer un post par ID
+    // Récupérer un post par ID (seul endpoint renvoyant le contenu complet)
     @GetMapping("/{id}")
-    public ResponseEntity<PostDTO> getPostById(@PathVariable UUID id) {
-        Optional<PostDTO> post = postService.getPostById(id);
-        return post.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<PostDTO> getPostById(@PathVariable UUID id, WebRequest webRequest) {
+        return collectionVersions.getItem(VersionedCollection.POSTS, webRequest, () -> postService.getPostById(id));
     }
 
     // Créer un nouveau post
@@ -59,41 +75,94 @@ public class PostController {
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
 
-    // Filtrer les posts par émotion, cause et type
+    // Filtrer les posts par émotion, cause et type (paginé, 20 par page par défaut, 100 au maximum)
     @GetMapping("/filter")
-    public ResponseEntity<List<PostDTO>> getFilteredPosts(
+    public ResponseEntity<PageResult<PostSummaryDTO>> getFilteredPosts(
             @RequestParam(required = false) String emotion,
             @RequestParam(required = false) String cause,
-            @RequestParam(required = false) String type) {
-        List<PostDTO> posts = postService.getFilteredPosts(emotion, cause, type);
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (collectionVersions.isNotModified(VersionedCollection.POSTS, webRequest)) {
+            return null;
+        }
+        PageResult<PostSummaryDTO> posts = postService.getFilteredPosts(emotion, cause, type, page, size);
         return ResponseEntity.ok(posts);
     }
 
     // Trouver les posts par type
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<PostDTO>> getPostsByType(@PathVariable String type) {
-        List<PostDTO> posts = postService.getPostsByType(type);
+    public ResponseEntity<PageResult<PostSummaryDTO>> getPostsByType(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (collectionVersions.isNotModified(VersionedCollection.POSTS, webRequest)) {
+            return null;
+        }
+        PageResult<PostSummaryDTO> posts = postService.getPostsByType(type, page, size);
         return ResponseEntity.ok(posts);
     }
 
     // Trouver les posts par émotion
     @GetMapping("/emotion/{emotion}")
-    public ResponseEntity<List<PostDTO>> getPostsByEmotion(@PathVariable String emotion) {
-        List<PostDTO> posts = postService.getPostsByEmotion(emotion);
+    public ResponseEntity<PageResult<PostSummaryDTO>> getPostsByEmotion(
+            @PathVariable String emotion,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (collectionVersions.isNotModified(VersionedCollection.POSTS, webRequest)) {
+            return null;
+        }
+        PageResult<PostSummaryDTO> posts = postService.getPostsByEmotion(emotion, page, size);
         return ResponseEntity.ok(posts);
     }
 
     // Trouver les posts par cause
     @GetMapping("/cause/{cause}")
-    public ResponseEntity<List<PostDTO>> getPostsByCause(@PathVariable String cause) {
-        List<PostDTO> posts = postService.getPostsByCause(cause);
+    public ResponseEntity<PageResult<PostSummaryDTO>> getPostsByCause(
+            @PathVariable String cause,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (collectionVersions.isNotModified(VersionedCollection.POSTS, webRequest)) {
+            return null;
+        }
+        PageResult<PostSummaryDTO> posts = postService.getPostsByCause(cause, page, size);
         return ResponseEntity.ok(posts);
     }
 
     // Trouver les posts par tag
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<List<PostDTO>> getPostsByTag(@PathVariable String tag) {
-        List<PostDTO> posts = postService.getPostsByTag(tag);
+    public ResponseEntity<PageResult<PostSummaryDTO>> getPostsByTag(
+            @PathVariable String tag,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (collectionVersions.isNotModified(VersionedCollection.POSTS, webRequest)) {
+            return null;
+        }
+        PageResult<PostSummaryDTO> posts = postService.getPostsByTag(tag, page, size);
         return ResponseEntity.ok(posts);
     }
+
+    private boolean isValidPage(int page, int size) {
+        return page >= 0 && size > 0 && size <= MAX_PAGE_SIZE;
+    }
 }
@@ -0,0 +1,57 @@
+package com.decathlonminds.emotional.controller;
+
+import com.decathlonminds.emotional.dto.EmotionalRecommendationDto;
+import com.decathlonminds.emotional.model.EmotionType;
+import com.decathlonminds.emotional.model.IntensityLevel;
+import com.decathlonminds.emotional.model.WeatherCondition;
+import com.decathlonminds.emotional.service.RecommendationEngine;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/recommendations")
+@Tag(name = "Recommandations", description = "API de recommandation de parcours selon l'état émotionnel")
+public class RecommendationController {
+
+    private final RecommendationEngine recommendationEngine;
+
+    @Autowired
+    public RecommendationController(RecommendationEngine recommendationEngine) {
+        this.recommendationEngine = recommendationEngine;
+    }
+
+    @Operation(summary = "Recommander un parcours",
+               description = "Renvoie les parcours recommandés pour une émotion et une intensité, " +
+                             "éventuellement filtrés par la météo courante")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recommandations trouvées"),
+        @ApiResponse(responseCode = "400", description = "Émotion, intensité ou météo inconnue")
+    })
+    @GetMapping
+    public ResponseEntity<List<EmotionalRecommendationDto>> getRecommendations(
+            @Parameter(description = "Émotion ressentie", required = true)
+            @RequestParam EmotionType emotion,
+            @Parameter(description = "Intensité de l'émotion", required = true)
+            @RequestParam IntensityLevel intensity,
+            @Parameter(description = "Météo courante (optionnel)")
+            @RequestParam(required = false) WeatherCondition weather) {
+        return ResponseEntity.ok(recommendationEngine.recommend(emotion, intensity, weather));
+    }
+
+    @Operation(summary = "Recharger les recommandations",
+               description = "Recharge les recommandations depuis la base après une modification")
+    @ApiResponse(responseCode = "200", description = "Recommandations rechargées")
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Integer>> reloadRecommendations() {
+        return ResponseEntity.ok(Map.of("loaded", recommendationEngine.reload()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.decathlonminds.emotional.controller;
+
+import com.decathlonminds.emotional.dto.PageResult;
+import com.decathlonminds.emotional.dto.SearchResultDto;
+import com.decathlonminds.emotional.model.SearchSource;
+import com.decathlonminds.emotional.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/search")
+@Tag(name = "Recherche", description = "Recherche plein texte dans les posts et le fil d'actualité")
+public class SearchController {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_PAGE = 500;
+
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @Operation(summary = "Rechercher dans les posts",
+               description = "Recherche plein texte dans les titres et contenus (racinisation française). " +
+                             "Accepte la syntaxe des moteurs de recherche : \"expression exacte\", -exclusion, OR. " +
+                             "Les termes trouvés sont entourés de <mark>. Seules les 200 correspondances les plus " +
+                             "récentes de chaque origine sont classées (et comptées dans le total).")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Résultats triés par pertinence"),
+        @ApiResponse(responseCode = "400", description = "Requête vide ou trop longue, ou pagination invalide")
+    })
+    @GetMapping
+    public ResponseEntity<PageResult<SearchResultDto>> search(
+            @Parameter(description = "Texte recherché", required = true, example = "marche stress")
+            @RequestParam String q,
+            @Parameter(description = "Limiter à une origine (optionnel)")
+            @RequestParam(required = false) SearchSource source,
+            @Parameter(description = "Numéro de page, à partir de 0 (500 au maximum)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Nombre de résultats par page (20 par défaut, 50 au maximum)")
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH || page < 0 || page > MAX_PAGE || size <= 0 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(searchService.search(q, source, page, size));
+    }
+}
@@ -0,0 +1,83 @@
+package com.decathlonminds.emotional.controller;
+
+import com.decathlonminds.emotional.dto.TagCountDto;
+import com.decathlonminds.emotional.dto.TagDto;
+import com.decathlonminds.emotional.service.TagService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/tags")
+@Tag(name = "Tags", description = "Tags des posts et du fil d'actualité")
+public class TagController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final TagService tagService;
+
+    @Autowired
+    public TagController(TagService tagService) {
+        this.tagService = tagService;
+    }
+
+    @Operation(summary = "Compléter un tag",
+               description = "Renvoie les tags commençant par le préfixe saisi, les plus utilisés d'abord. " +
+                             "Le préfixe est normalisé comme les tags (minuscules, sans '#').")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions trouvées"),
+        @ApiResponse(responseCode = "400", description = "Limite invalide")
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<TagCountDto>> autocomplete(
+            @Parameter(description = "Début du tag", required = true, example = "str")
+            @RequestParam String prefix,
+            @Parameter(description = "Nombre de suggestions (10 par défaut, 50 au maximum)")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tagService.autocomplete(prefix, limit));
+    }
+
+    @Operation(summary = "Tags les plus utilisés", description = "Renvoie les tags triés par nombre d'utilisations")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tags trouvés"),
+        @ApiResponse(responseCode = "400", description = "Limite invalide")
+    })
+    @GetMapping("/popular")
+    public ResponseEntity<List<TagCountDto>> getPopularTags(
+            @Parameter(description = "Nombre de tags (20 par défaut, 50 au maximum)")
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tagService.getPopularTags(limit));
+    }
+
+    @Operation(summary = "Posts portant un tag",
+               description = "Renvoie les identifiants des posts et publications portant le tag")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tag trouvé"),
+        @ApiResponse(responseCode = "404", description = "Tag inconnu")
+    })
+    @GetMapping("/{tag}")
+    public ResponseEntity<TagDto> getTag(
+            @Parameter(description = "Tag recherché", required = true)
+            @PathVariable String tag) {
+        return tagService.getTag(tag)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
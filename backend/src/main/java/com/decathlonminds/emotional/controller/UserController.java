@@ -1,6 +1,8 @@
 package com.decathlonminds.emotional.controller;
 
+import com.decathlonminds.emotional.dto.PageResult;
 import com.decathlonminds.emotional.dto.UserDto;
+import com.decathlonminds.emotional.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,11 +11,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -21,6 +24,15 @@ import java.util.UUID;
 @Tag(name = "Utilisateurs", description = "API pour la gestion des utilisateurs")
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserService userService;
+
+    @Autowired
+    public UserController(UserService userService) {
+        this.userService = userService;
+    }
+
     @Operation(summary = "Inscription d'un nouvel utilisateur", 
                description = "Création d'un compte utilisateur avec les informations requises")
     @ApiResponses(value = {
@@ -31,9 +43,9 @@ public class UserController {
     })
     @PostMapping
     public ResponseEntity<UserDto> registerUser(@Valid @RequestBody UserDto userDto) {
-        // Simulation - Dans une implémentation réelle, cela serait traité par un service
-        userDto.setId(UUID.randomUUID());
-        return new ResponseEntity<>(userDto, HttpStatus.CREATED);
+        return userService.register(userDto)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED))
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
     }
 
     @Operation(summary = "Récupération d'un utilisateur par ID", 
@@ -47,27 +59,28 @@ public class UserController {
     public ResponseEntity<UserDto> getUserById(
             @Parameter(description = "ID de l'utilisateur à récupérer", required = true)
             @PathVariable UUID id) {
-        // Simulation
-        UserDto user = new UserDto();
-        user.setId(id);
-        user.setEmail("user@example.com");
-        user.setFirstName("Jean");
-        user.setLastName("Dupont");
-        return ResponseEntity.ok(user);
+        return userService.getUserById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Récupération de tous les utilisateurs", 
-               description = "Récupère la liste de tous les utilisateurs dans le système (accès admin)")
+               description = "Récupère une page des utilisateurs du système, les plus récents d'abord (accès admin)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des utilisateurs récupérée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Pagination invalide"),
         @ApiResponse(responseCode = "403", description = "Accès interdit - Droits administrateur requis")
     })
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        // Simulation
-        UserDto user1 = new UserDto(UUID.randomUUID(), "user1@example.com", null, "Jean", "Dupont");
-        UserDto user2 = new UserDto(UUID.randomUUID(), "user2@example.com", null, "Marie", "Martin");
-        return ResponseEntity.ok(List.of(user1, user2));
+    public ResponseEntity<PageResult<UserDto>> getAllUsers(
+            @Parameter(description = "Numéro de page (à partir de 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Nombre d'utilisateurs par page (20 par défaut, 100 au maximum)")
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.getAllUsers(page, size));
     }
 
     @Operation(summary = "Mise à jour d'un utilisateur", 
@@ -76,29 +89,37 @@ public class UserController {
         @ApiResponse(responseCode = "200", description = "Utilisateur mis à jour avec succès",
                      content = @Content(schema = @Schema(implementation = UserDto.class))),
         @ApiResponse(responseCode = "400", description = "Données d'entrée invalides"),
-        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
+        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé"),
+        @ApiResponse(responseCode = "409", description = "Email déjà utilisé")
     })
     @PutMapping("/{id}")
     public ResponseEntity<UserDto> updateUser(
             @Parameter(description = "ID de l'utilisateur à modifier", required = true)
             @PathVariable UUID id,
             @Valid @RequestBody UserDto userDto) {
-        // Simulation
-        userDto.setId(id);
-        return ResponseEntity.ok(userDto);
+        return userService.updateUser(id, userDto)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Suppression d'un utilisateur", 
                description = "Supprime un utilisateur du système")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Utilisateur supprimé avec succès"),
-        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
+        @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé"),
+        @ApiResponse(responseCode = "409", description = "Utilisateur encore référencé (états émotionnels, conversations)")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(
             @Parameter(description = "ID de l'utilisateur à supprimer", required = true)
             @PathVariable UUID id) {
-        // Simulation
-        return ResponseEntity.noContent().build();
+        return userService.deleteUser(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleConflict(DataIntegrityViolationException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Email déjà utilisé ou utilisateur encore référencé");
     }
 }
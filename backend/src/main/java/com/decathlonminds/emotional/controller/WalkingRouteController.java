@@ -0,0 +1,268 @@
+package com.decathlonminds.emotional.controller;
+
+import com.decathlonminds.emotional.dto.NearbyRouteDto;
+import com.decathlonminds.emotional.dto.PageResult;
+import com.decathlonminds.emotional.dto.RouteGeometryDto;
+import com.decathlonminds.emotional.dto.WalkingRouteDto;
+import com.decathlonminds.emotional.geo.RouteSearchCriteria;
+import com.decathlonminds.emotional.model.IntensityLevel;
+import com.decathlonminds.emotional.model.RouteDetailLevel;
+import com.decathlonminds.emotional.model.RouteSortField;
+import com.decathlonminds.emotional.repository.WalkingRouteFilter;
+import com.decathlonminds.emotional.service.WalkingRouteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/routes")
+@Tag(name = "Parcours", description = "API pour la gestion des parcours de marche")
+public class WalkingRouteController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_NEAREST_RESULTS = 100;
+    private static final int MAX_NEARBY_RADIUS_METERS = 100_000;
+    private static final int MAX_NEARBY_RESULTS = 500;
+
+    private final WalkingRouteService walkingRouteService;
+
+    @Autowired
+    public WalkingRouteController(WalkingRouteService walkingRouteService) {
+        this.walkingRouteService = walkingRouteService;
+    }
+
+    @Operation(summary = "Rechercher des parcours",
+               description = "Renvoie une page de parcours correspondant à tous les critères fournis " +
+                             "(difficulté, type, distance et durée maximales), triée selon le champ demandé")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parcours trouvés",
+                     content = @Content(schema = @Schema(implementation = PageResult.class))),
+        @ApiResponse(responseCode = "400", description = "Pagination ou critère invalide")
+    })
+    @GetMapping
+    public ResponseEntity<PageResult<WalkingRouteDto>> searchRoutes(
+            @Parameter(description = "Difficulté (optionnel)")
+            @RequestParam(required = false) IntensityLevel difficulty,
+            @Parameter(description = "Type de parcours (optionnel)", example = "NATURE_TRAIL")
+            @RequestParam(required = false) String routeType,
+            @Parameter(description = "Distance maximale en mètres (optionnel)")
+            @RequestParam(required = false) Integer maxDistanceMeters,
+            @Parameter(description = "Durée maximale en minutes (optionnel)")
+            @RequestParam(required = false) Integer maxDurationMinutes,
+            @Parameter(description = "Numéro de page, à partir de 0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Nombre de parcours par page (20 par défaut, 100 au maximum)")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Champ de tri")
+            @RequestParam(defaultValue = "NAME") RouteSortField sortBy,
+            @Parameter(description = "Sens du tri")
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        WalkingRouteFilter filter = new WalkingRouteFilter(difficulty, routeType, maxDistanceMeters, maxDurationMinutes);
+        return ResponseEntity.ok(walkingRouteService.searchRoutes(filter, page, size, sortBy, direction));
+    }
+
+    @Operation(summary = "Créer un parcours",
+               description = "Crée un parcours de marche ; son tracé s'enregistre ensuite via PUT /routes/{id}/geometry")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Parcours créé",
+                     content = @Content(schema = @Schema(implementation = WalkingRouteDto.class))),
+        @ApiResponse(responseCode = "400", description = "Données d'entrée invalides")
+    })
+    @PostMapping
+    public ResponseEntity<WalkingRouteDto> createRoute(@Valid @RequestBody WalkingRouteDto routeDto) {
+        return new ResponseEntity<>(walkingRouteService.createRoute(routeDto), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Récupérer un parcours par ID",
+               description = "Renvoie le détail d'un parcours de marche")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parcours trouvé",
+                     content = @Content(schema = @Schema(implementation = WalkingRouteDto.class))),
+        @ApiResponse(responseCode = "404", description = "Parcours non trouvé")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<WalkingRouteDto> getRouteById(
+            @Parameter(description = "ID du parcours", required = true)
+            @PathVariable UUID id) {
+        return walkingRouteService.getRouteById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Mettre à jour un parcours",
+               description = "Modifie les informations d'un parcours de marche")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parcours mis à jour",
+                     content = @Content(schema = @Schema(implementation = WalkingRouteDto.class))),
+        @ApiResponse(responseCode = "400", description = "Données d'entrée invalides"),
+        @ApiResponse(responseCode = "404", description = "Parcours non trouvé")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<WalkingRouteDto> updateRoute(
+            @Parameter(description = "ID du parcours", required = true)
+            @PathVariable UUID id,
+            @Valid @RequestBody WalkingRouteDto routeDto) {
+        return walkingRouteService.updateRoute(id, routeDto)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Supprimer un parcours",
+               description = "Supprime un parcours de marche et son tracé")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Parcours supprimé"),
+        @ApiResponse(responseCode = "404", description = "Parcours non trouvé"),
+        @ApiResponse(responseCode = "409", description = "Parcours encore référencé (recommandations, activités)")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRoute(
+            @Parameter(description = "ID du parcours", required = true)
+            @PathVariable UUID id) {
+        return walkingRouteService.deleteRoute(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "Parcours les plus proches",
+               description = "Renvoie les parcours dont le point de départ est le plus proche de la position, " +
+                             "filtrés par difficulté, distance et durée")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parcours trouvés"),
+        @ApiResponse(responseCode = "400", description = "Limite invalide")
+    })
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyRouteDto>> getNearestRoutes(
+            @Parameter(description = "Latitude", required = true)
+            @RequestParam BigDecimal latitude,
+            @Parameter(description = "Longitude", required = true)
+            @RequestParam BigDecimal longitude,
+            @Parameter(description = "Nombre de parcours (10 par défaut, 100 au maximum)")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Difficulté (optionnel)")
+            @RequestParam(required = false) IntensityLevel difficulty,
+            @Parameter(description = "Distance maximale du parcours en mètres (optionnel)")
+            @RequestParam(required = false) Integer maxDistanceMeters,
+            @Parameter(description = "Durée maximale du parcours en minutes (optionnel)")
+            @RequestParam(required = false) Integer maxDurationMinutes) {
+        if (limit <= 0 || limit > MAX_NEAREST_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(walkingRouteService.findNearest(latitude.doubleValue(), longitude.doubleValue(), limit,
+                new RouteSearchCriteria(difficulty, maxDistanceMeters, maxDurationMinutes)));
+    }
+
+    @Operation(summary = "Parcours à proximité",
+               description = "Renvoie les parcours dont le point de départ est dans le rayon donné, du plus proche " +
+                             "au plus éloigné, filtrés par difficulté, distance et durée")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parcours trouvés"),
+        @ApiResponse(responseCode = "400", description = "Rayon ou limite invalide")
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRouteDto>> getNearbyRoutes(
+            @Parameter(description = "Latitude", required = true)
+            @RequestParam BigDecimal latitude,
+            @Parameter(description = "Longitude", required = true)
+            @RequestParam BigDecimal longitude,
+            @Parameter(description = "Rayon de recherche en mètres (100 km au maximum)", required = true)
+            @RequestParam int radiusMeters,
+            @Parameter(description = "Nombre maximal de résultats (50 par défaut, 500 au maximum)")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Difficulté (optionnel)")
+            @RequestParam(required = false) IntensityLevel difficulty,
+            @Parameter(description = "Distance maximale du parcours en mètres (optionnel)")
+            @RequestParam(required = false) Integer maxDistanceMeters,
+            @Parameter(description = "Durée maximale du parcours en minutes (optionnel)")
+            @RequestParam(required = false) Integer maxDurationMinutes) {
+        if (radiusMeters <= 0 || radiusMeters > MAX_NEARBY_RADIUS_METERS || limit <= 0 || limit > MAX_NEARBY_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(walkingRouteService.findWithinRadius(latitude.doubleValue(), longitude.doubleValue(),
+                radiusMeters, limit, new RouteSearchCriteria(difficulty, maxDistanceMeters, maxDurationMinutes)));
+    }
+
+    @Operation(summary = "Récupérer le tracé d'un parcours",
+               description = "Renvoie les points du parcours sous forme [[latitude, longitude, altitude], ...], " +
+                             "écrits en flux depuis le format compact stocké en base")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tracé trouvé"),
+        @ApiResponse(responseCode = "404", description = "Parcours ou tracé non trouvé")
+    })
+    @GetMapping(value = "/{id}/geometry", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getRouteGeometry(
+            @Parameter(description = "ID du parcours", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Niveau de détail (FULL par défaut ; HIGH, MEDIUM ou LOW pour les petites cartes)")
+            @RequestParam(defaultValue = "FULL") RouteDetailLevel detail) {
+        return walkingRouteService.getEncodedGeometry(id, detail)
+                .map(encoded -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body((StreamingResponseBody) out ->
+                                walkingRouteService.writeGeometryJson(id, detail, encoded, out)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Récupérer le tracé encodé d'un parcours",
+               description = "Renvoie le tracé au format binaire compact (écarts en varint zigzag, millionièmes de degré)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tracé trouvé"),
+        @ApiResponse(responseCode = "404", description = "Parcours ou tracé non trouvé")
+    })
+    @GetMapping(value = "/{id}/geometry", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getEncodedRouteGeometry(
+            @Parameter(description = "ID du parcours", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Niveau de détail (FULL par défaut ; HIGH, MEDIUM ou LOW pour les petites cartes)")
+            @RequestParam(defaultValue = "FULL") RouteDetailLevel detail) {
+        return walkingRouteService.getEncodedGeometry(id, detail)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Remplacer le tracé d'un parcours",
+               description = "Enregistre les points du parcours au format compact et précalcule ses versions simplifiées")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Tracé enregistré"),
+        @ApiResponse(responseCode = "400", description = "Points invalides"),
+        @ApiResponse(responseCode = "404", description = "Parcours non trouvé")
+    })
+    @PutMapping("/{id}/geometry")
+    public ResponseEntity<Void> updateRouteGeometry(
+            @Parameter(description = "ID du parcours", required = true)
+            @PathVariable UUID id,
+            @Valid @RequestBody RouteGeometryDto geometryDto) {
+        return walkingRouteService.saveGeometry(id, geometryDto)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleConflict(DataIntegrityViolationException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Le parcours est encore référencé");
+    }
+}
@@ -0,0 +1,32 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Volume de l'historique des conversations d'un utilisateur, archives comprises")
+public class ChatConversationStatsDto {
+
+    @Schema(description = "Identifiant de l'utilisateur", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID userId;
+
+    @Schema(description = "Nombre total de conversations", example = "152")
+    private long totalConversations;
+
+    @Schema(description = "Conversations récentes, consultables en détail", example = "40")
+    private long recentConversations;
+
+    @Schema(description = "Conversations anciennes, résumées par journée", example = "112")
+    private long archivedConversations;
+
+    @Schema(description = "Nombre de conversations par émotion, archives comprises")
+    private Map<String, Long> emotionCounts = new TreeMap<>();
+}
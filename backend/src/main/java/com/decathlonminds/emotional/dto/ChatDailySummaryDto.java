@@ -0,0 +1,31 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Résumé d'une journée de conversations archivée par le job de rétention")
+public class ChatDailySummaryDto {
+
+    @Schema(description = "Jour résumé", example = "2025-01-15")
+    private LocalDate day;
+
+    @Schema(description = "Nombre de conversations de la journée", example = "6")
+    private int conversationCount;
+
+    @Schema(description = "Nombre de conversations par émotion")
+    private Map<String, Integer> emotionCounts;
+
+    @Schema(description = "Nombre de conversations par raison")
+    private Map<String, Integer> reasonCounts;
+
+    @Schema(description = "Transcription abrégée de la journée")
+    private String transcript;
+}
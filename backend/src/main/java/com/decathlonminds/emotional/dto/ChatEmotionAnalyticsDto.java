@@ -0,0 +1,52 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Répartition des émotions exprimées au chatbot, pour un utilisateur ou pour l'ensemble des utilisateurs")
+public class ChatEmotionAnalyticsDto {
+
+    @Schema(description = "Identifiant de l'utilisateur, absent pour les statistiques globales",
+            example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID userId;
+
+    @Schema(description = "Nombre total de conversations", example = "152")
+    private long totalConversations;
+
+    @Schema(description = "Nombre de conversations par émotion (UNKNOWN : émotion absente ou inconnue)")
+    private Map<String, Long> emotionCounts = new LinkedHashMap<>();
+
+    @Schema(description = "Nombre de conversations par raison (UNKNOWN : raison absente ou inconnue)")
+    private Map<String, Long> reasonCounts = new LinkedHashMap<>();
+
+    @Schema(description = "Nombre de conversations par émotion puis par raison")
+    private Map<String, Map<String, Long>> emotionReasonCounts = new LinkedHashMap<>();
+
+    @Schema(description = "Dernière émotion exprimée", example = "SAD")
+    private String lastEmotion;
+
+    @Schema(description = "Date de la dernière conversation", example = "2025-03-12T14:15:00+01:00")
+    private ZonedDateTime lastSeenAt;
+
+    @Schema(description = "Émotion de la série en cours", example = "SAD")
+    private String currentStreakEmotion;
+
+    @Schema(description = "Nombre de conversations consécutives exprimant l'émotion de la série en cours", example = "3")
+    private int currentStreakLength;
+
+    @Schema(description = "Émotion de la plus longue série", example = "HAPPY")
+    private String longestStreakEmotion;
+
+    @Schema(description = "Nombre de conversations de la plus longue série", example = "7")
+    private int longestStreakLength;
+}
@@ -0,0 +1,25 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page de résultats paginée par curseur")
+public class CursorPage<T> {
+
+    @Schema(description = "Éléments de la page")
+    private List<T> items = new ArrayList<>();
+
+    @Schema(description = "Curseur opaque à transmettre pour obtenir la page suivante, null s'il n'y en a plus")
+    private String nextCursor;
+
+    @Schema(description = "Indique si une page suivante existe")
+    private boolean hasMore;
+}
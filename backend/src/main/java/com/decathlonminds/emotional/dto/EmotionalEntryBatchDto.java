@@ -0,0 +1,27 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lot d'états émotionnels envoyé par la file d'attente hors ligne de l'application mobile")
+public class EmotionalEntryBatchDto {
+
+    public static final int MAX_ENTRIES = 1000;
+
+    @Valid
+    @NotEmpty(message = "Le lot doit contenir au moins une entrée")
+    @Size(max = MAX_ENTRIES, message = "Le lot ne peut pas dépasser 1000 entrées")
+    @Schema(description = "États émotionnels à enregistrer (date d'enregistrement d'origine conservée si fournie)", required = true)
+    private List<EmotionalEntryDto> entries = new ArrayList<>();
+}
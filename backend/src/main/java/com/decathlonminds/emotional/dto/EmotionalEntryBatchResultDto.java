@@ -0,0 +1,23 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Résultat de l'enregistrement d'un lot d'états émotionnels")
+public class EmotionalEntryBatchResultDto {
+
+    @Schema(description = "Nombre d'entrées créées", example = "250")
+    private int created;
+
+    @Schema(description = "Identifiants des entrées créées, dans l'ordre du lot")
+    private List<UUID> ids = new ArrayList<>();
+}
@@ -0,0 +1,42 @@
+package com.decathlonminds.emotional.dto;
+
+import com.decathlonminds.emotional.model.EmotionType;
+import com.decathlonminds.emotional.model.IntensityLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Recommandation de parcours adaptée à un état émotionnel")
+public class EmotionalRecommendationDto {
+
+    @Schema(description = "Identifiant unique de la recommandation")
+    private UUID id;
+
+    @Schema(description = "Émotion ciblée", example = "STRESSED")
+    private EmotionType emotion;
+
+    @Schema(description = "Intensité ciblée", example = "HIGH")
+    private IntensityLevel intensity;
+
+    @Schema(description = "Identifiant du parcours recommandé")
+    private UUID routeId;
+
+    @Schema(description = "Nom du parcours recommandé", example = "Parcours Zen du Parc")
+    private String routeName;
+
+    @Schema(description = "Texte de la recommandation")
+    private String recommendationText;
+
+    @Schema(description = "Bienfaits scientifiques attendus")
+    private List<String> scientificBenefits;
+
+    @Schema(description = "Conditions météo adaptées (vide : toutes)", example = "[\"SUNNY\", \"CLOUDY\"]")
+    private List<String> weatherConditions;
+}
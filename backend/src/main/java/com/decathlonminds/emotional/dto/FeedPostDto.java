@@ -2,6 +2,8 @@ package com.decathlonminds.emotional.dto;
 
 import com.decathlonminds.emotional.model.PostType;
 import com.decathlonminds.emotional.model.RouteDifficulty;
+import com.decathlonminds.emotional.model.SourceStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -31,4 +33,8 @@ public class FeedPostDto {
     private ZonedDateTime date;
     private List<String> tags = new ArrayList<>();
     private UUID walkingRouteId;
+    
+    // Renseigné par le serveur lors de la validation de la source
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private SourceStatus sourceStatus;
 }
@@ -0,0 +1,25 @@
+package com.decathlonminds.emotional.dto;
+
+import com.decathlonminds.emotional.event.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Changement du fil d'actualité diffusé en temps réel")
+public class FeedStreamEventDto {
+
+    @Schema(description = "Nature du changement", example = "CREATED")
+    private ChangeType changeType;
+
+    @Schema(description = "Identifiant de la publication")
+    private UUID postId;
+
+    @Schema(description = "Publication après le changement, null pour une suppression")
+    private FeedPostDto post;
+}
@@ -0,0 +1,31 @@
+package com.decathlonminds.emotional.dto;
+
+import com.decathlonminds.emotional.model.EmotionType;
+import com.decathlonminds.emotional.model.IntensityLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Répartition des états émotionnels sur une période (jour, semaine ou mois)")
+public class MoodTrendBucketDto {
+
+    @Schema(description = "Premier jour de la période", example = "2025-03-10")
+    private LocalDate periodStart;
+
+    @Schema(description = "Nombre total d'états émotionnels enregistrés sur la période", example = "12")
+    private int totalEntries;
+
+    @Schema(description = "Nombre d'enregistrements par émotion")
+    private Map<EmotionType, Integer> emotionCounts = new EnumMap<>(EmotionType.class);
+
+    @Schema(description = "Histogramme des intensités")
+    private Map<IntensityLevel, Integer> intensityHistogram = new EnumMap<>(IntensityLevel.class);
+}
@@ -0,0 +1,34 @@
+package com.decathlonminds.emotional.dto;
+
+import com.decathlonminds.emotional.model.TrendGranularity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Évolution de l'humeur d'un utilisateur")
+public class MoodTrendDto {
+
+    @Schema(description = "Identifiant de l'utilisateur")
+    private UUID userId;
+
+    @Schema(description = "Granularité des périodes", example = "WEEK")
+    private TrendGranularity granularity;
+
+    @Schema(description = "Premier jour couvert", example = "2024-03-10")
+    private LocalDate startDate;
+
+    @Schema(description = "Dernier jour couvert", example = "2025-03-10")
+    private LocalDate endDate;
+
+    @Schema(description = "Périodes contenant au moins un enregistrement, dans l'ordre chronologique")
+    private List<MoodTrendBucketDto> buckets = new ArrayList<>();
+}
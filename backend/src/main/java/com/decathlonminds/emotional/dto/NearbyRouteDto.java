@@ -0,0 +1,19 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Parcours trouvé par une recherche de proximité")
+public class NearbyRouteDto {
+
+    @Schema(description = "Parcours")
+    private WalkingRouteDto route;
+
+    @Schema(description = "Distance en mètres entre la position demandée et le point de départ du parcours", example = "850.4")
+    private double distanceMeters;
+}
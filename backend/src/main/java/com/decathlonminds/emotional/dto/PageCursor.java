@@ -0,0 +1,54 @@
+package com.decathlonminds.emotional.dto;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Curseur de pagination par clé (keyset) sur le couple (date, id).
+ * Il est exposé aux clients sous forme de jeton opaque encodé en Base64 URL-safe.
+ */
+public record PageCursor(Instant timestamp, UUID id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    public static PageCursor of(ZonedDateTime timestamp, UUID id) {
+        return new PageCursor(timestamp.toInstant(), id);
+    }
+
+    /**
+     * Décode un jeton produit par {@link #encode()}
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    public static PageCursor decode(String token) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            if (buffer.remaining() != ENCODED_BYTES) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            Instant timestamp = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            return new PageCursor(timestamp, id);
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES);
+        buffer.putLong(timestamp.getEpochSecond());
+        buffer.putInt(timestamp.getNano());
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public ZonedDateTime timestampAtUtc() {
+        return timestamp.atZone(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,31 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page de résultats paginée par numéro de page")
+public class PageResult<T> {
+
+    @Schema(description = "Éléments de la page")
+    private List<T> items = new ArrayList<>();
+
+    @Schema(description = "Numéro de la page (à partir de 0)", example = "0")
+    private int page;
+
+    @Schema(description = "Taille de page demandée", example = "20")
+    private int size;
+
+    @Schema(description = "Nombre total d'éléments correspondant aux critères", example = "42")
+    private long totalItems;
+
+    @Schema(description = "Nombre total de pages", example = "3")
+    private int totalPages;
+}
@@ -0,0 +1,204 @@
+package com.decathlonminds.emotional.dto;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+// Version allégée d'un post pour les listes (cartes) : tous les champs sauf le contenu complet,
+// qui n'est renvoyé que par GET /api/posts/{id}
+public class PostSummaryDTO {
+    private UUID id;
+    private String type;
+    private String title;
+    private String imageUrl;
+    private String author;
+    private String date;
+    private String source;
+    private String location;
+    private Double distance;
+    private Integer duration;
+    private String difficulty;
+    private String backgroundColor;
+    private String registrationLink;
+    private String emotion;
+    private String cause;
+    private LocalDateTime createdAt;
+    private Set<String> tags = new HashSet<>();
+
+    // Constructeur vide
+    public PostSummaryDTO() {
+    }
+
+    // Constructeur utilisé par les projections JPQL (les tags sont ajoutés ensuite, en une requête par page)
+    public PostSummaryDTO(UUID id,
+                          String type,
+                          String title,
+                          String imageUrl,
+                          String author,
+                          String date,
+                          String source,
+                          String location,
+                          Double distance,
+                          Integer duration,
+                          String difficulty,
+                          String backgroundColor,
+                          String registrationLink,
+                          String emotion,
+                          String cause,
+                          LocalDateTime createdAt) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.imageUrl = imageUrl;
+        this.author = author;
+        this.date = date;
+        this.source = source;
+        this.location = location;
+        this.distance = distance;
+        this.duration = duration;
+        this.difficulty = difficulty;
+        this.backgroundColor = backgroundColor;
+        this.registrationLink = registrationLink;
+        this.emotion = emotion;
+        this.cause = cause;
+        this.createdAt = createdAt;
+    }
+
+    // Getters et Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Double getDistance() {
+        return distance;
+    }
+
+    public void setDistance(Double distance) {
+        this.distance = distance;
+    }
+
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Integer duration) {
+        this.duration = duration;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    public void setBackgroundColor(String backgroundColor) {
+        this.backgroundColor = backgroundColor;
+    }
+
+    public String getRegistrationLink() {
+        return registrationLink;
+    }
+
+    public void setRegistrationLink(String registrationLink) {
+        this.registrationLink = registrationLink;
+    }
+
+    public String getEmotion() {
+        return emotion;
+    }
+
+    public void setEmotion(String emotion) {
+        this.emotion = emotion;
+    }
+
+    public String getCause() {
+        return cause;
+    }
+
+    public void setCause(String cause) {
+        this.cause = cause;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,21 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tracé d'un parcours")
+public class RouteGeometryDto {
+
+    @NotNull(message = "Les points du tracé sont obligatoires")
+    @Size(min = 2, max = 100000, message = "Le tracé doit contenir entre 2 et 100 000 points")
+    @Schema(description = "Points [latitude, longitude] ou [latitude, longitude, altitude en mètres], dans l'ordre du parcours",
+            example = "[[48.8566, 2.3522, 35], [48.8570, 2.3525, 36]]", required = true)
+    private double[][] points;
+}
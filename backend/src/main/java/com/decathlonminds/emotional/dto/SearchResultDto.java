@@ -0,0 +1,31 @@
+package com.decathlonminds.emotional.dto;
+
+import com.decathlonminds.emotional.model.SearchSource;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Résultat de recherche plein texte")
+public class SearchResultDto {
+
+    @Schema(description = "Origine du résultat", example = "FEED_POST")
+    private SearchSource source;
+
+    @Schema(description = "Identifiant du post ou de la publication")
+    private UUID id;
+
+    @Schema(description = "Titre, termes trouvés entourés de <mark>", example = "Marcher pour <mark>réduire</mark> le stress")
+    private String title;
+
+    @Schema(description = "Extraits du contenu, termes trouvés entourés de <mark>")
+    private String snippet;
+
+    @Schema(description = "Score de pertinence (ts_rank)", example = "0.42")
+    private double rank;
+}
@@ -0,0 +1,19 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tag et nombre de posts et publications qui le portent")
+public class TagCountDto {
+
+    @Schema(description = "Tag normalisé", example = "stress")
+    private String tag;
+
+    @Schema(description = "Nombre d'utilisations", example = "42")
+    private int count;
+}
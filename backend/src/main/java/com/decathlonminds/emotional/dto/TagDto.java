@@ -0,0 +1,29 @@
+package com.decathlonminds.emotional.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Posts et publications portant un tag")
+public class TagDto {
+
+    @Schema(description = "Tag normalisé", example = "stress")
+    private String tag;
+
+    @Schema(description = "Nombre d'utilisations", example = "42")
+    private int count;
+
+    @Schema(description = "Identifiants des posts")
+    private List<UUID> postIds = new ArrayList<>();
+
+    @Schema(description = "Identifiants des publications du fil d'actualité")
+    private List<UUID> feedPostIds = new ArrayList<>();
+}
@@ -0,0 +1,7 @@
+package com.decathlonminds.emotional.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,13 @@
+package com.decathlonminds.emotional.event;
+
+import com.decathlonminds.emotional.dto.FeedPostDto;
+
+import java.util.UUID;
+
+/**
+ * Publié par FeedService à chaque écriture sur une publication du fil d'actualité.
+ * previous est null pour une création, current est null pour une suppression.
+ * Les écouteurs le reçoivent après validation de la transaction.
+ */
+public record FeedPostChangedEvent(ChangeType changeType, UUID postId, FeedPostDto previous, FeedPostDto current) {
+}
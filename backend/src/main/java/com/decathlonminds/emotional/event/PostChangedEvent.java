@@ -0,0 +1,12 @@
+package com.decathlonminds.emotional.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Publié par PostService à chaque écriture sur un post.
+ * previousTags est vide pour une création, currentTags est vide pour une suppression.
+ * Les écouteurs le reçoivent après validation de la transaction.
+ */
+public record PostChangedEvent(ChangeType changeType, UUID postId, Set<String> previousTags, Set<String> currentTags) {
+}
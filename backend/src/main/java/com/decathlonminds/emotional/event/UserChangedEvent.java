@@ -0,0 +1,10 @@
+package com.decathlonminds.emotional.event;
+
+import java.util.UUID;
+
+/**
+ * Publié à chaque création ou suppression d'un utilisateur.
+ * Les écouteurs le reçoivent après validation de la transaction.
+ */
+public record UserChangedEvent(ChangeType changeType, UUID userId) {
+}
@@ -0,0 +1,12 @@
+package com.decathlonminds.emotional.event;
+
+import com.decathlonminds.emotional.dto.WalkingRouteDto;
+
+import java.util.UUID;
+
+/**
+ * Publié par WalkingRouteService à chaque écriture sur un parcours.
+ * current est null pour une suppression. Les écouteurs le reçoivent après validation de la transaction.
+ */
+public record WalkingRouteChangedEvent(ChangeType changeType, UUID routeId, WalkingRouteDto current) {
+}
@@ -0,0 +1,9 @@
+package com.decathlonminds.emotional.geo;
+
+import java.util.UUID;
+
+/**
+ * Position d'un enregistrement candidat à une recherche de proximité
+ */
+public record GeoCandidate(UUID id, double latitude, double longitude) {
+}
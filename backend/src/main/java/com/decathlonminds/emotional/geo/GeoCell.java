@@ -0,0 +1,130 @@
+package com.decathlonminds.emotional.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Découpage de la Terre en cellules ordonnées selon une courbe de Morton (Z-order), à la manière d'un geohash
+ * numérique. Une position est codée sur 26 bits de latitude entrelacés avec 26 bits de longitude ;
+ * une cellule de niveau k correspond alors à un intervalle contigu de clés, interrogeable avec un index B-tree.
+ */
+public final class GeoCell {
+
+    public static final int MAX_LEVEL = 26;
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180.0;
+    private static final long CELLS_PER_AXIS = 1L << MAX_LEVEL;
+
+    private GeoCell() {
+    }
+
+    /**
+     * Clé de la cellule la plus fine contenant la position
+     */
+    public static long encode(double latitude, double longitude) {
+        return interleave(latitudeIndex(latitude), longitudeIndex(longitude));
+    }
+
+    /**
+     * Intervalles de clés [min, max] (bornes incluses) couvrant le cercle de centre et de rayon donnés.
+     * Le niveau est choisi pour que le cercle tienne dans le carré de 3x3 cellules autour du centre,
+     * puis les intervalles contigus sont fusionnés.
+     */
+    public static List<long[]> coveringRanges(double latitude, double longitude, double radiusMeters) {
+        int level = levelForRadius(latitude, radiusMeters);
+        List<long[]> ranges = new ArrayList<>();
+        if (level == 0) {
+            ranges.add(new long[] {0L, (1L << (2 * MAX_LEVEL)) - 1});
+            return ranges;
+        }
+
+        int shift = MAX_LEVEL - level;
+        long cellsAtLevel = 1L << level;
+        long centerLat = latitudeIndex(latitude) >> shift;
+        long centerLon = longitudeIndex(longitude) >> shift;
+        for (long dLat = -1; dLat <= 1; dLat++) {
+            long lat = centerLat + dLat;
+            if (lat < 0 || lat >= cellsAtLevel) {
+                continue;
+            }
+            for (long dLon = -1; dLon <= 1; dLon++) {
+                long lon = Math.floorMod(centerLon + dLon, cellsAtLevel);
+                long prefix = interleave(lat, lon);
+                long min = prefix << (2 * shift);
+                long max = ((prefix + 1) << (2 * shift)) - 1;
+                ranges.add(new long[] {min, max});
+            }
+        }
+        return merge(ranges);
+    }
+
+    /**
+     * Distance orthodromique (formule de haversine) en mètres
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Niveau le plus fin dont les cellules mesurent au moins radiusMeters dans les deux directions
+    private static int levelForRadius(double latitude, double radiusMeters) {
+        if (radiusMeters <= 0) {
+            return MAX_LEVEL;
+        }
+        double radiusDegrees = radiusMeters / METERS_PER_DEGREE;
+        double worstLatitude = Math.min(89.9, Math.abs(latitude) + radiusDegrees);
+        double cellsForHeight = 180.0 * METERS_PER_DEGREE / radiusMeters;
+        double cellsForWidth = 360.0 * METERS_PER_DEGREE * Math.cos(Math.toRadians(worstLatitude)) / radiusMeters;
+        double maxCells = Math.min(cellsForHeight, cellsForWidth);
+        if (maxCells < 2) {
+            return 0;
+        }
+        int level = 63 - Long.numberOfLeadingZeros((long) maxCells);
+        return Math.min(level, MAX_LEVEL);
+    }
+
+    private static long latitudeIndex(double latitude) {
+        long index = (long) Math.floor((latitude + 90.0) / 180.0 * CELLS_PER_AXIS);
+        return Math.max(0, Math.min(CELLS_PER_AXIS - 1, index));
+    }
+
+    private static long longitudeIndex(double longitude) {
+        long index = (long) Math.floor((longitude + 180.0) / 360.0 * CELLS_PER_AXIS);
+        return Math.max(0, Math.min(CELLS_PER_AXIS - 1, index));
+    }
+
+    // Latitude sur les bits impairs, longitude sur les bits pairs
+    private static long interleave(long latitudeIndex, long longitudeIndex) {
+        return (spread(latitudeIndex) << 1) | spread(longitudeIndex);
+    }
+
+    private static long spread(long value) {
+        long v = value & 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+
+    private static List<long[]> merge(List<long[]> ranges) {
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> merged = new ArrayList<>();
+        for (long[] range : ranges) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1] + 1) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(new long[] {range[0], range[1]});
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,137 @@
+package com.decathlonminds.emotional.geo;
+
+import java.util.Arrays;
+
+/**
+ * Tracé d'un parcours stocké en colonnes : latitudes et longitudes en millionièmes de degré
+ * (la précision des colonnes DECIMAL(9,6)), altitudes en mètres. Les altitudes sont absentes
+ * si l'un des points n'en a pas.
+ */
+public final class RouteGeometry {
+
+    public static final double FIXED_POINT_SCALE = 1_000_000.0;
+
+    private final int[] latitudesE6;
+    private final int[] longitudesE6;
+    private final int[] elevations;
+
+    public RouteGeometry(int[] latitudesE6, int[] longitudesE6, int[] elevations) {
+        if (latitudesE6.length != longitudesE6.length
+                || (elevations != null && elevations.length != latitudesE6.length)) {
+            throw new IllegalArgumentException("Colonnes de tracé de tailles différentes");
+        }
+        this.latitudesE6 = latitudesE6;
+        this.longitudesE6 = longitudesE6;
+        this.elevations = elevations;
+    }
+
+    /**
+     * Construit un tracé à partir de points [latitude, longitude] ou [latitude, longitude, altitude]
+     */
+    public static RouteGeometry ofDegrees(double[][] points) {
+        int[] latitudes = new int[points.length];
+        int[] longitudes = new int[points.length];
+        int[] elevations = new int[points.length];
+        boolean hasElevation = points.length > 0;
+        for (int i = 0; i < points.length; i++) {
+            double[] point = points[i];
+            if (point == null || point.length < 2 || point.length > 3) {
+                throw new IllegalArgumentException("Point de tracé invalide à l'index " + i);
+            }
+            if (!(point[0] >= -90.0 && point[0] <= 90.0) || !(point[1] >= -180.0 && point[1] <= 180.0)) {
+                throw new IllegalArgumentException("Coordonnées hors limites à l'index " + i);
+            }
+            latitudes[i] = toFixedPoint(point[0]);
+            longitudes[i] = toFixedPoint(point[1]);
+            if (point.length == 3) {
+                elevations[i] = (int) Math.round(point[2]);
+            } else {
+                hasElevation = false;
+            }
+        }
+        return new RouteGeometry(latitudes, longitudes, hasElevation ? elevations : null);
+    }
+
+    public static int toFixedPoint(double degrees) {
+        return (int) Math.round(degrees * FIXED_POINT_SCALE);
+    }
+
+    public int size() {
+        return latitudesE6.length;
+    }
+
+    public boolean hasElevation() {
+        return elevations != null;
+    }
+
+    public int latitudeE6(int index) {
+        return latitudesE6[index];
+    }
+
+    public int longitudeE6(int index) {
+        return longitudesE6[index];
+    }
+
+    public int elevation(int index) {
+        return elevations[index];
+    }
+
+    public double latitude(int index) {
+        return latitudesE6[index] / FIXED_POINT_SCALE;
+    }
+
+    public double longitude(int index) {
+        return longitudesE6[index] / FIXED_POINT_SCALE;
+    }
+
+    /**
+     * Sous-tracé constitué des points aux index donnés (dans l'ordre)
+     */
+    public RouteGeometry select(int[] indexes, int count) {
+        int[] latitudes = new int[count];
+        int[] longitudes = new int[count];
+        int[] selectedElevations = elevations != null ? new int[count] : null;
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = latitudesE6[indexes[i]];
+            longitudes[i] = longitudesE6[indexes[i]];
+            if (selectedElevations != null) {
+                selectedElevations[i] = elevations[indexes[i]];
+            }
+        }
+        return new RouteGeometry(latitudes, longitudes, selectedElevations);
+    }
+
+    /**
+     * Accumulateur de points, utilisé pour relire un tracé ligne par ligne
+     */
+    public static final class Builder {
+
+        private int[] latitudes = new int[64];
+        private int[] longitudes = new int[64];
+        private int[] elevations = new int[64];
+        private boolean hasElevation = true;
+        private int size;
+
+        public Builder add(int latitudeE6, int longitudeE6, Integer elevation) {
+            if (size == latitudes.length) {
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+                elevations = Arrays.copyOf(elevations, size * 2);
+            }
+            latitudes[size] = latitudeE6;
+            longitudes[size] = longitudeE6;
+            if (elevation != null) {
+                elevations[size] = elevation;
+            } else {
+                hasElevation = false;
+            }
+            size++;
+            return this;
+        }
+
+        public RouteGeometry build() {
+            return new RouteGeometry(Arrays.copyOf(latitudes, size), Arrays.copyOf(longitudes, size),
+                    hasElevation && size > 0 ? Arrays.copyOf(elevations, size) : null);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.decathlonminds.emotional.geo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Format binaire compact des tracés de parcours.
+ * <pre>
+ * version (1 octet) | options (1 octet, bit 0 : altitudes) | nombre de points (varint)
+ * puis pour chaque point : Δlatitude, Δlongitude [, Δaltitude] en varint zigzag
+ * </pre>
+ * Les écarts sont calculés par rapport au point précédent (le premier par rapport à 0) ; entre deux
+ * points proches, ils tiennent sur un ou deux octets, soit 3 à 6 octets par point au lieu d'une ligne
+ * route_points complète.
+ */
+public final class RouteGeometryCodec {
+
+    private static final int VERSION = 1;
+    private static final int FLAG_ELEVATION = 1;
+
+    private RouteGeometryCodec() {
+    }
+
+    public static byte[] encode(RouteGeometry geometry) {
+        int size = geometry.size();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + size * 6);
+        out.write(VERSION);
+        out.write(geometry.hasElevation() ? FLAG_ELEVATION : 0);
+        writeVarint(out, size);
+        int previousLatitude = 0;
+        int previousLongitude = 0;
+        int previousElevation = 0;
+        for (int i = 0; i < size; i++) {
+            writeVarint(out, zigzag(geometry.latitudeE6(i) - previousLatitude));
+            writeVarint(out, zigzag(geometry.longitudeE6(i) - previousLongitude));
+            previousLatitude = geometry.latitudeE6(i);
+            previousLongitude = geometry.longitudeE6(i);
+            if (geometry.hasElevation()) {
+                writeVarint(out, zigzag(geometry.elevation(i) - previousElevation));
+                previousElevation = geometry.elevation(i);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static RouteGeometry decode(byte[] encoded) {
+        Reader reader = new Reader(encoded);
+        int[] latitudes = new int[reader.size()];
+        int[] longitudes = new int[reader.size()];
+        int[] elevations = reader.hasElevation() ? new int[reader.size()] : null;
+        for (int i = 0; reader.next(); i++) {
+            latitudes[i] = reader.latitudeE6();
+            longitudes[i] = reader.longitudeE6();
+            if (elevations != null) {
+                elevations[i] = reader.elevation();
+            }
+        }
+        return new RouteGeometry(latitudes, longitudes, elevations);
+    }
+
+    /**
+     * Écrit le tracé encodé sous forme de tableau JSON [[lat, lon(, alt)], ...] sans le décoder en mémoire
+     */
+    public static void writeJsonPoints(byte[] encoded, Writer writer) throws IOException {
+        Reader reader = new Reader(encoded);
+        StringBuilder buffer = new StringBuilder(4096);
+        buffer.append('[');
+        boolean first = true;
+        while (reader.next()) {
+            if (!first) {
+                buffer.append(',');
+            }
+            first = false;
+            buffer.append('[');
+            appendDegrees(buffer, reader.latitudeE6());
+            buffer.append(',');
+            appendDegrees(buffer, reader.longitudeE6());
+            if (reader.hasElevation()) {
+                buffer.append(',').append(reader.elevation());
+            }
+            buffer.append(']');
+            if (buffer.length() >= 4000) {
+                writer.append(buffer);
+                buffer.setLength(0);
+            }
+        }
+        buffer.append(']');
+        writer.append(buffer);
+    }
+
+    /**
+     * Lecture séquentielle d'un tracé encodé, point par point, sans allocation
+     */
+    public static final class Reader {
+
+        private final byte[] data;
+        private final boolean hasElevation;
+        private final int size;
+        private int position;
+        private int remaining;
+        private int latitudeE6;
+        private int longitudeE6;
+        private int elevation;
+
+        public Reader(byte[] data) {
+            if (data.length < 3 || data[0] != VERSION) {
+                throw new IllegalArgumentException("Format de tracé inconnu");
+            }
+            this.data = data;
+            this.hasElevation = (data[1] & FLAG_ELEVATION) != 0;
+            this.position = 2;
+            this.size = readVarint();
+            this.remaining = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean hasElevation() {
+            return hasElevation;
+        }
+
+        public boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            latitudeE6 += unzigzag(readVarint());
+            longitudeE6 += unzigzag(readVarint());
+            if (hasElevation) {
+                elevation += unzigzag(readVarint());
+            }
+            return true;
+        }
+
+        public int latitudeE6() {
+            return latitudeE6;
+        }
+
+        public int longitudeE6() {
+            return longitudeE6;
+        }
+
+        public int elevation() {
+            return elevation;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (position >= data.length) {
+                    throw new IllegalArgumentException("Tracé tronqué");
+                }
+                byte b = data[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Entier variable trop long dans le tracé");
+        }
+    }
+
+    private static void appendDegrees(StringBuilder buffer, int valueE6) {
+        if (valueE6 < 0) {
+            buffer.append('-');
+        }
+        long absolute = Math.abs((long) valueE6);
+        buffer.append(absolute / 1_000_000).append('.');
+        long fraction = absolute % 1_000_000;
+        for (long divisor = 100_000; divisor > 0; divisor /= 10) {
+            buffer.append((char) ('0' + (fraction / divisor) % 10));
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,15 @@
+package com.decathlonminds.emotional.geo;
+
+import com.decathlonminds.emotional.model.IntensityLevel;
+
+/**
+ * Filtres appliqués pendant le parcours de l'index spatial des parcours ; un critère null est ignoré
+ */
+public record RouteSearchCriteria(IntensityLevel difficulty, Integer maxDistanceMeters, Integer maxDurationMinutes) {
+
+    public boolean matches(IntensityLevel routeDifficulty, int distanceMeters, int durationMinutes) {
+        return (difficulty == null || difficulty == routeDifficulty)
+                && (maxDistanceMeters == null || distanceMeters <= maxDistanceMeters)
+                && (maxDurationMinutes == null || durationMinutes <= maxDurationMinutes);
+    }
+}
@@ -0,0 +1,84 @@
+package com.decathlonminds.emotional.geo;
+
+/**
+ * Simplification de tracés par l'algorithme de Douglas–Peucker. Les points sont projetés en mètres
+ * (projection équirectangulaire locale, suffisante à l'échelle d'un parcours) dans des tableaux de double ;
+ * le parcours de l'arbre de découpage utilise une pile explicite pour supporter de très longs tracés.
+ */
+public final class RouteSimplifier {
+
+    private static final double METERS_PER_DEGREE = Math.PI * 6_371_008.8 / 180.0;
+
+    private RouteSimplifier() {
+    }
+
+    /**
+     * Tracé simplifié dont aucun point supprimé n'est à plus de toleranceMeters du tracé conservé.
+     * Le premier et le dernier point sont toujours conservés.
+     */
+    public static RouteGeometry simplify(RouteGeometry geometry, double toleranceMeters) {
+        int size = geometry.size();
+        if (size <= 2 || toleranceMeters <= 0) {
+            return geometry;
+        }
+
+        double[] x = new double[size];
+        double[] y = new double[size];
+        double cosLatitude = Math.cos(Math.toRadians(geometry.latitude(0)));
+        for (int i = 0; i < size; i++) {
+            x[i] = geometry.longitude(i) * METERS_PER_DEGREE * cosLatitude;
+            y[i] = geometry.latitude(i) * METERS_PER_DEGREE;
+        }
+
+        boolean[] keep = new boolean[size];
+        keep[0] = true;
+        keep[size - 1] = true;
+        int kept = 2;
+        double toleranceSquared = toleranceMeters * toleranceMeters;
+        int[] stack = new int[2 * size];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = size - 1;
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+            int farthest = -1;
+            double maxDistanceSquared = toleranceSquared;
+            for (int i = first + 1; i < last; i++) {
+                double distanceSquared = segmentDistanceSquared(x[i], y[i], x[first], y[first], x[last], y[last]);
+                if (distanceSquared > maxDistanceSquared) {
+                    maxDistanceSquared = distanceSquared;
+                    farthest = i;
+                }
+            }
+            if (farthest >= 0) {
+                keep[farthest] = true;
+                kept++;
+                stack[top++] = first;
+                stack[top++] = farthest;
+                stack[top++] = farthest;
+                stack[top++] = last;
+            }
+        }
+
+        int[] indexes = new int[kept];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (keep[i]) {
+                indexes[count++] = i;
+            }
+        }
+        return geometry.select(indexes, count);
+    }
+
+    private static double segmentDistanceSquared(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared > 0 ? ((px - ax) * dx + (py - ay) * dy) / lengthSquared : 0;
+        t = Math.max(0, Math.min(1, t));
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return ex * ex + ey * ey;
+    }
+}
@@ -0,0 +1,180 @@
+package com.decathlonminds.emotional.geo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * R-tree statique de points construit par Sort-Tile-Recursive : les points sont découpés en tranches
+ * de longitude puis regroupés par latitude dans des feuilles pleines, et les niveaux supérieurs
+ * regroupent les nœuds consécutifs. Toutes les boîtes englobantes sont stockées dans des tableaux
+ * de double, sans objet par nœud.
+ * Les recherches parcourent l'arbre du plus proche au plus éloigné (best-first) et renvoient les points
+ * par distance croissante.
+ */
+public final class StrPointTree {
+
+    private static final int NODE_CAPACITY = 16;
+    private static final int ENTRY_LEVEL = -1;
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] entries;
+    // Boîtes englobantes par niveau : [niveau][4 * nœud + (minLat, maxLat, minLon, maxLon)]
+    private final double[][] boxes;
+    private final int[] nodeCounts;
+
+    private StrPointTree(double[] latitudes, double[] longitudes, int[] entries, double[][] boxes, int[] nodeCounts) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.entries = entries;
+        this.boxes = boxes;
+        this.nodeCounts = nodeCounts;
+    }
+
+    /**
+     * Construit l'arbre ; les index de point renvoyés par les recherches sont ceux des tableaux fournis
+     */
+    public static StrPointTree build(double[] latitudes, double[] longitudes) {
+        int size = latitudes.length;
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> longitudes[i]));
+        int leafCount = (size + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceSize = (int) Math.ceil(Math.sqrt(Math.max(leafCount, 1))) * NODE_CAPACITY;
+        for (int start = 0; start < size; start += sliceSize) {
+            Arrays.sort(order, start, Math.min(size, start + sliceSize), Comparator.comparingDouble(i -> latitudes[i]));
+        }
+        int[] entries = new int[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = order[i];
+        }
+
+        int levels = 1;
+        for (int count = leafCount; count > 1; count = (count + NODE_CAPACITY - 1) / NODE_CAPACITY) {
+            levels++;
+        }
+        double[][] boxes = new double[levels][];
+        int[] nodeCounts = new int[levels];
+        nodeCounts[0] = leafCount;
+        boxes[0] = new double[4 * leafCount];
+        for (int node = 0; node < leafCount; node++) {
+            int from = node * NODE_CAPACITY;
+            int to = Math.min(size, from + NODE_CAPACITY);
+            initBox(boxes[0], node);
+            for (int i = from; i < to; i++) {
+                expand(boxes[0], node, latitudes[entries[i]], latitudes[entries[i]],
+                        longitudes[entries[i]], longitudes[entries[i]]);
+            }
+        }
+        for (int level = 1; level < levels; level++) {
+            int childCount = nodeCounts[level - 1];
+            int count = (childCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            double[] children = boxes[level - 1];
+            double[] parents = new double[4 * count];
+            for (int node = 0; node < count; node++) {
+                initBox(parents, node);
+                int to = Math.min(childCount, (node + 1) * NODE_CAPACITY);
+                for (int child = node * NODE_CAPACITY; child < to; child++) {
+                    expand(parents, node, children[4 * child], children[4 * child + 1],
+                            children[4 * child + 2], children[4 * child + 3]);
+                }
+            }
+            boxes[level] = parents;
+            nodeCounts[level] = count;
+        }
+        return new StrPointTree(latitudes, longitudes, entries, boxes, nodeCounts);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Visite au plus limit points acceptés par le filtre, à moins de maxDistanceMeters,
+     * du plus proche au plus éloigné
+     */
+    public void search(double latitude, double longitude, double maxDistanceMeters, int limit,
+                       IntPredicate filter, Visitor visitor) {
+        if (entries.length == 0 || limit <= 0) {
+            return;
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distanceMeters));
+        int root = boxes.length - 1;
+        for (int node = 0; node < nodeCounts[root]; node++) {
+            offerNode(queue, root, node, latitude, longitude, maxDistanceMeters);
+        }
+        int visited = 0;
+        while (!queue.isEmpty() && visited < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.level() == ENTRY_LEVEL) {
+                visitor.accept(candidate.index(), candidate.distanceMeters());
+                visited++;
+            } else if (candidate.level() == 0) {
+                int to = Math.min(entries.length, (candidate.index() + 1) * NODE_CAPACITY);
+                for (int i = candidate.index() * NODE_CAPACITY; i < to; i++) {
+                    int entry = entries[i];
+                    if (!filter.test(entry)) {
+                        continue;
+                    }
+                    double distance = GeoCell.distanceMeters(latitude, longitude, latitudes[entry], longitudes[entry]);
+                    if (distance <= maxDistanceMeters) {
+                        queue.add(new Candidate(distance, ENTRY_LEVEL, entry));
+                    }
+                }
+            } else {
+                int childLevel = candidate.level() - 1;
+                int to = Math.min(nodeCounts[childLevel], (candidate.index() + 1) * NODE_CAPACITY);
+                for (int child = candidate.index() * NODE_CAPACITY; child < to; child++) {
+                    offerNode(queue, childLevel, child, latitude, longitude, maxDistanceMeters);
+                }
+            }
+        }
+    }
+
+    private void offerNode(PriorityQueue<Candidate> queue, int level, int node,
+                           double latitude, double longitude, double maxDistanceMeters) {
+        double distance = boxDistanceMeters(boxes[level], node, latitude, longitude);
+        if (distance <= maxDistanceMeters) {
+            queue.add(new Candidate(distance, level, node));
+        }
+    }
+
+    /**
+     * Distance entre le point et le point le plus proche de la boîte (0 si le point est dedans)
+     */
+    private static double boxDistanceMeters(double[] box, int node, double latitude, double longitude) {
+        double nearestLatitude = Math.max(box[4 * node], Math.min(box[4 * node + 1], latitude));
+        double nearestLongitude = Math.max(box[4 * node + 2], Math.min(box[4 * node + 3], longitude));
+        if (nearestLatitude == latitude && nearestLongitude == longitude) {
+            return 0;
+        }
+        return GeoCell.distanceMeters(latitude, longitude, nearestLatitude, nearestLongitude);
+    }
+
+    private static void initBox(double[] box, int node) {
+        box[4 * node] = Double.POSITIVE_INFINITY;
+        box[4 * node + 1] = Double.NEGATIVE_INFINITY;
+        box[4 * node + 2] = Double.POSITIVE_INFINITY;
+        box[4 * node + 3] = Double.NEGATIVE_INFINITY;
+    }
+
+    private static void expand(double[] box, int node, double minLatitude, double maxLatitude,
+                               double minLongitude, double maxLongitude) {
+        box[4 * node] = Math.min(box[4 * node], minLatitude);
+        box[4 * node + 1] = Math.max(box[4 * node + 1], maxLatitude);
+        box[4 * node + 2] = Math.min(box[4 * node + 2], minLongitude);
+        box[4 * node + 3] = Math.max(box[4 * node + 3], maxLongitude);
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(int index, double distanceMeters);
+    }
+
+    private record Candidate(double distanceMeters, int level, int index) {
+    }
+}
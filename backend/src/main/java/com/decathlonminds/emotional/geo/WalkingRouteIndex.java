@@ -0,0 +1,184 @@
+package com.decathlonminds.emotional.geo;
+
+import com.decathlonminds.emotional.dto.WalkingRouteDto;
+import com.decathlonminds.emotional.event.WalkingRouteChangedEvent;
+import com.decathlonminds.emotional.model.IntensityLevel;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Index spatial en mémoire des points de départ des parcours.
+ * Un arbre STR immuable contient l'essentiel des parcours ; les créations et modifications récentes
+ * sont gardées dans une petite zone de débordement parcourue linéairement, les suppressions sont
+ * masquées par des marqueurs. Au-delà d'un seuil, l'arbre est reconstruit avec les changements.
+ * Les lectures se font sans verrou sur un état immuable, remplacé atomiquement à chaque écriture.
+ */
+@Component
+public class WalkingRouteIndex {
+
+    private static final int MIN_REBUILD_THRESHOLD = 64;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.build(List.of()));
+
+    /**
+     * Remplace tout le contenu de l'index
+     */
+    public synchronized void rebuild(Collection<IndexedRoute> routes) {
+        state.set(State.build(routes));
+    }
+
+    public synchronized void upsert(IndexedRoute route) {
+        State current = state.get();
+        Map<UUID, IndexedRoute> overlay = new HashMap<>(current.overlay);
+        overlay.put(route.id(), route);
+        Set<UUID> removed = current.tombstone(route.id());
+        apply(current, overlay, removed);
+    }
+
+    public synchronized void remove(UUID routeId) {
+        State current = state.get();
+        Map<UUID, IndexedRoute> overlay = new HashMap<>(current.overlay);
+        overlay.remove(routeId);
+        Set<UUID> removed = current.tombstone(routeId);
+        apply(current, overlay, removed);
+    }
+
+    public int size() {
+        State current = state.get();
+        return current.routes.length - current.removed.size() + current.overlay.size();
+    }
+
+    /**
+     * Parcours dont le point de départ est à moins de maxDistanceMeters et qui respectent les critères,
+     * du plus proche au plus éloigné, dans la limite de limit résultats
+     */
+    public List<Hit> search(double latitude, double longitude, double maxDistanceMeters, int limit,
+                            RouteSearchCriteria criteria) {
+        State current = state.get();
+        List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+        current.tree.search(latitude, longitude, maxDistanceMeters, limit,
+                index -> {
+                    IndexedRoute route = current.routes[index];
+                    return !current.removed.contains(route.id()) && route.matches(criteria);
+                },
+                (index, distance) -> hits.add(new Hit(current.routes[index].id(), distance)));
+
+        if (!current.overlay.isEmpty()) {
+            for (IndexedRoute route : current.overlay.values()) {
+                if (!route.matches(criteria)) {
+                    continue;
+                }
+                double distance = GeoCell.distanceMeters(latitude, longitude, route.latitude(), route.longitude());
+                if (distance <= maxDistanceMeters) {
+                    hits.add(new Hit(route.id(), distance));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(Hit::distanceMeters));
+            if (hits.size() > limit) {
+                return new ArrayList<>(hits.subList(0, limit));
+            }
+        }
+        return hits;
+    }
+
+    @TransactionalEventListener
+    public void onWalkingRouteChanged(WalkingRouteChangedEvent event) {
+        if (event.current() == null) {
+            remove(event.routeId());
+        } else {
+            upsert(IndexedRoute.of(event.current()));
+        }
+    }
+
+    private void apply(State current, Map<UUID, IndexedRoute> overlay, Set<UUID> removed) {
+        int pending = overlay.size() + removed.size();
+        if (pending > Math.max(MIN_REBUILD_THRESHOLD, current.routes.length / 8)) {
+            List<IndexedRoute> live = new ArrayList<>(current.routes.length + overlay.size());
+            for (IndexedRoute route : current.routes) {
+                if (!removed.contains(route.id())) {
+                    live.add(route);
+                }
+            }
+            live.addAll(overlay.values());
+            state.set(State.build(live));
+        } else {
+            state.set(new State(current.tree, current.routes, current.positions, Set.copyOf(removed), Map.copyOf(overlay)));
+        }
+    }
+
+    /**
+     * Attributs d'un parcours nécessaires à la recherche
+     */
+    public record IndexedRoute(UUID id, double latitude, double longitude, IntensityLevel difficulty,
+                               int distanceMeters, int durationMinutes) {
+
+        public static IndexedRoute of(WalkingRouteDto route) {
+            return new IndexedRoute(route.getId(),
+                    route.getStartPointLatitude().doubleValue(),
+                    route.getStartPointLongitude().doubleValue(),
+                    route.getDifficultyLevel(),
+                    route.getDistanceMeters(),
+                    route.getEstimatedDurationMinutes());
+        }
+
+        private boolean matches(RouteSearchCriteria criteria) {
+            return criteria == null || criteria.matches(difficulty, distanceMeters, durationMinutes);
+        }
+    }
+
+    public record Hit(UUID routeId, double distanceMeters) {
+    }
+
+    private static final class State {
+
+        private final StrPointTree tree;
+        private final IndexedRoute[] routes;
+        private final Map<UUID, Integer> positions;
+        private final Set<UUID> removed;
+        private final Map<UUID, IndexedRoute> overlay;
+
+        private State(StrPointTree tree, IndexedRoute[] routes, Map<UUID, Integer> positions,
+                      Set<UUID> removed, Map<UUID, IndexedRoute> overlay) {
+            this.tree = tree;
+            this.routes = routes;
+            this.positions = positions;
+            this.removed = removed;
+            this.overlay = overlay;
+        }
+
+        private static State build(Collection<IndexedRoute> routes) {
+            IndexedRoute[] array = routes.toArray(new IndexedRoute[0]);
+            double[] latitudes = new double[array.length];
+            double[] longitudes = new double[array.length];
+            Map<UUID, Integer> positions = new HashMap<>(array.length * 2);
+            for (int i = 0; i < array.length; i++) {
+                latitudes[i] = array[i].latitude();
+                longitudes[i] = array[i].longitude();
+                positions.put(array[i].id(), i);
+            }
+            return new State(StrPointTree.build(latitudes, longitudes), array, positions, Set.of(), Map.of());
+        }
+
+        /**
+         * Marqueurs de suppression après masquage de la version indexée du parcours, s'il y en a une
+         */
+        private Set<UUID> tombstone(UUID routeId) {
+            Set<UUID> tombstones = new HashSet<>(removed);
+            if (positions.containsKey(routeId)) {
+                tombstones.add(routeId);
+            }
+            return tombstones;
+        }
+    }
+}
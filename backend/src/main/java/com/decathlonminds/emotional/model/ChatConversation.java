@@ -10,7 +10,10 @@ import java.time.ZonedDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "chat_conversations")
+@Table(name = "chat_conversations", indexes = {
+    @Index(name = "idx_chat_conversations_user_id_timestamp_id", columnList = "user_id, timestamp, id"),
+    @Index(name = "idx_chat_conversations_timestamp", columnList = "timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
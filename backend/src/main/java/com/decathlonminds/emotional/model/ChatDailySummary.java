@@ -0,0 +1,62 @@
+package com.decathlonminds.emotional.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Résumé d'une journée de conversations d'un utilisateur avec le chatbot.
+ * Remplace les conversations compactées par le job de rétention ; le texte intégral
+ * est conservé dans les archives compressées listées dans archiveFiles.
+ */
+@Entity
+@Table(name = "chat_daily_summaries", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_chat_daily_summaries_user_day", columnNames = {"user_id", "day"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatDailySummary {
+    
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+    
+    @Column(name = "conversation_count", nullable = false)
+    private int conversationCount;
+    
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "emotion_counts", nullable = false, columnDefinition = "jsonb")
+    private Map<String, Integer> emotionCounts = new HashMap<>();
+    
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "reason_counts", nullable = false, columnDefinition = "jsonb")
+    private Map<String, Integer> reasonCounts = new HashMap<>();
+    
+    @Column(name = "transcript", columnDefinition = "TEXT")
+    private String transcript;
+    
+    @Column(name = "archive_files", columnDefinition = "text[]")
+    private String[] archiveFiles;
+    
+    @Column(name = "compacted_at", nullable = false)
+    private ZonedDateTime compactedAt;
+}
@@ -0,0 +1,44 @@
+package com.decathlonminds.emotional.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Émotions proposées par le chatbot, qui servent de clé aux citations rassurantes
+ */
+public enum ChatEmotion {
+    HAPPY,
+    SAD,
+    ANGRY,
+    ANXIOUS,
+    TIRED,
+    CONFUSED,
+    RELAXED,
+    EXCITED;
+
+    private static final ChatEmotion[] VALUES = values();
+
+    private static final Map<String, ChatEmotion> BY_NAME = Arrays.stream(VALUES)
+            .collect(Collectors.toUnmodifiableMap(Enum::name, Function.identity()));
+
+    /**
+     * Valeur correspondant au nom transmis, sans tenir compte de la casse ni allouer ; null si inconnue.
+     * Le nom exact, le cas courant, est trouvé sans parcourir les valeurs
+     */
+    public static ChatEmotion fromName(String name) {
+        if (name != null) {
+            ChatEmotion exact = BY_NAME.get(name);
+            if (exact != null) {
+                return exact;
+            }
+            for (ChatEmotion emotion : VALUES) {
+                if (emotion.name().equalsIgnoreCase(name)) {
+                    return emotion;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.decathlonminds.emotional.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.util.UUID;
+
+/**
+ * Point de reprise d'un compteur émotion × raison des conversations du chatbot.
+ * Écrit périodiquement depuis les compteurs en mémoire (ChatAnalyticsService) ;
+ * les compteurs globaux sont rangés sous l'identifiant nul.
+ */
+@Entity
+@Table(name = "chat_emotion_counters", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_chat_emotion_counters_user_emotion_reason", columnNames = {"user_id", "emotion", "reason"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatEmotionCounter {
+    
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "emotion", nullable = false, length = 20)
+    private String emotion;
+    
+    @Column(name = "reason", nullable = false, length = 20)
+    private String reason;
+    
+    @Column(name = "conversation_count", nullable = false)
+    private long conversationCount;
+}
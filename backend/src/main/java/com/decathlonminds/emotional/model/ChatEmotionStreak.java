@@ -0,0 +1,43 @@
+package com.decathlonminds.emotional.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Point de reprise de la dernière émotion et des séries d'un utilisateur
+ * (conversations consécutives exprimant la même émotion)
+ */
+@Entity
+@Table(name = "chat_emotion_streaks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatEmotionStreak {
+    
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+    
+    @Column(name = "last_emotion", length = 20)
+    private String lastEmotion;
+    
+    @Column(name = "last_seen_at")
+    private ZonedDateTime lastSeenAt;
+    
+    @Column(name = "streak_emotion", length = 20)
+    private String streakEmotion;
+    
+    @Column(name = "streak_length", nullable = false)
+    private int streakLength;
+    
+    @Column(name = "longest_streak_emotion", length = 20)
+    private String longestStreakEmotion;
+    
+    @Column(name = "longest_streak_length", nullable = false)
+    private int longestStreakLength;
+}
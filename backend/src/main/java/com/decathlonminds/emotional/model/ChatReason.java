@@ -0,0 +1,44 @@
+package com.decathlonminds.emotional.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Raisons d'une émotion proposées par le chatbot, qui servent de clé aux citations rassurantes
+ */
+public enum ChatReason {
+    WORK,
+    LOVE,
+    SELF,
+    FAMILY,
+    FRIENDS,
+    MONEY,
+    HEALTH,
+    WORLD;
+
+    private static final ChatReason[] VALUES = values();
+
+    private static final Map<String, ChatReason> BY_NAME = Arrays.stream(VALUES)
+            .collect(Collectors.toUnmodifiableMap(Enum::name, Function.identity()));
+
+    /**
+     * Valeur correspondant au nom transmis, sans tenir compte de la casse ni allouer ; null si inconnue.
+     * Le nom exact, le cas courant, est trouvé sans parcourir les valeurs
+     */
+    public static ChatReason fromName(String name) {
+        if (name != null) {
+            ChatReason exact = BY_NAME.get(name);
+            if (exact != null) {
+                return exact;
+            }
+            for (ChatReason reason : VALUES) {
+                if (reason.name().equalsIgnoreCase(name)) {
+                    return reason;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.decathlonminds.emotional.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Agrégat quotidien des états émotionnels d'un utilisateur pour une émotion donnée.
+ * Maintenu de façon incrémentale à chaque écriture dans emotional_entries.
+ */
+@Entity
+@Table(name = "emotion_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_emotion_daily_rollups_user_day_emotion", columnNames = {"user_id", "day", "emotion"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmotionDailyRollup {
+    
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "emotion", nullable = false, length = 20)
+    private EmotionType emotion;
+    
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+    
+    @Column(name = "low_count", nullable = false)
+    private int lowCount;
+    
+    @Column(name = "medium_count", nullable = false)
+    private int mediumCount;
+    
+    @Column(name = "high_count", nullable = false)
+    private int highCount;
+}
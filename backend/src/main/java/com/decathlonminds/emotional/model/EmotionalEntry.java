@@ -1,17 +1,22 @@
 package com.decathlonminds.emotional.model;
 
+import com.decathlonminds.emotional.geo.GeoCell;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "emotional_entries")
+@Table(name = "emotional_entries", indexes = {
+    @Index(name = "idx_emotional_entries_geo_cell", columnList = "geo_cell")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,11 +32,14 @@ public class EmotionalEntry {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
+    // Colonnes de type enum PostgreSQL (emotion_type, intensity_level) : liaison en Types.OTHER
     @Enumerated(EnumType.STRING)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
     @Column(nullable = false)
     private EmotionType emotion;
     
     @Enumerated(EnumType.STRING)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
     @Column(nullable = false)
     private IntensityLevel intensity;
     
@@ -53,10 +61,28 @@ public class EmotionalEntry {
     @Column(name = "weather_condition")
     private String weatherCondition;
     
+    // Cellule géographique (courbe de Morton, voir GeoCell) dérivée de la position, pour les recherches de proximité
+    @Column(name = "geo_cell")
+    private Long geoCell;
+    
     @PrePersist
     protected void onCreate() {
         if (recordedAt == null) {
             recordedAt = ZonedDateTime.now();
         }
+        refreshGeoCell();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        refreshGeoCell();
+    }
+    
+    public void refreshGeoCell() {
+        if (locationLatitude != null && locationLongitude != null) {
+            geoCell = GeoCell.encode(locationLatitude.doubleValue(), locationLongitude.doubleValue());
+        } else {
+            geoCell = null;
+        }
     }
 }
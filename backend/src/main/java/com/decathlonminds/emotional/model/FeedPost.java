@@ -12,7 +12,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "feed_posts")
+@Table(name = "feed_posts", indexes = {
+    @Index(name = "idx_feed_posts_created_at_id", columnList = "createdAt DESC, id DESC"),
+    @Index(name = "idx_feed_posts_type_created_at_id", columnList = "type, createdAt DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +41,9 @@ public class FeedPost {
     
     private String source;
     
+    @Enumerated(EnumType.STRING)
+    private SourceStatus sourceStatus;
+    
     private String location;
     
     private Double distance;
@@ -54,7 +60,8 @@ public class FeedPost {
     private ZonedDateTime date;
     
     @ElementCollection
-    @CollectionTable(name = "feed_post_tags", joinColumns = @JoinColumn(name = "post_id"))
+    @CollectionTable(name = "feed_post_tags", joinColumns = @JoinColumn(name = "post_id"),
+            indexes = @Index(name = "idx_feed_post_tags_tag_post_id", columnList = "tag, post_id"))
     @Column(name = "tag")
     private List<String> tags = new ArrayList<>();
     
@@ -69,6 +76,10 @@ public class FeedPost {
     @JoinColumn(name = "walking_route_id")
     private WalkingRoute walkingRoute;
     
+    // Clé étrangère brute, en lecture seule, pour les listes qui n'ont pas besoin du parcours
+    @Column(name = "walking_route_id", insertable = false, updatable = false)
+    private UUID walkingRouteId;
+    
     @PrePersist
     protected void onCreate() {
         this.createdAt = ZonedDateTime.now();
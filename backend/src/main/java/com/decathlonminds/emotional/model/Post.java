@@ -7,7 +7,12 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_created_at_id", columnList = "created_at DESC, id DESC"),
+    @Index(name = "idx_posts_emotion_cause_created_at_id", columnList = "emotion, cause, created_at DESC, id DESC"),
+    @Index(name = "idx_posts_emotion_cause_type_created_at_id", columnList = "emotion, cause, type, created_at DESC, id DESC"),
+    @Index(name = "idx_posts_type_created_at_id", columnList = "type, created_at DESC, id DESC")
+})
 public class Post {
 
     @Id
@@ -60,7 +65,8 @@ public class Post {
     private String cause;
 
     @ElementCollection
-    @CollectionTable(name = "post_tags", joinColumns = @JoinColumn(name = "post_id"))
+    @CollectionTable(name = "post_tags", joinColumns = @JoinColumn(name = "post_id"),
+            indexes = @Index(name = "idx_post_tags_tag_post_id", columnList = "tag, post_id"))
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
 
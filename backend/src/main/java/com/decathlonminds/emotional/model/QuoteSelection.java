@@ -0,0 +1,11 @@
+package com.decathlonminds.emotional.model;
+
+/**
+ * Choix d'une citation parmi celles d'une même case (émotion, raison)
+ */
+public enum QuoteSelection {
+    /** Tirage aléatoire proportionnel au poids de chaque citation */
+    WEIGHTED,
+    /** Citations servies à tour de rôle, poids ignorés */
+    ROUND_ROBIN
+}
@@ -0,0 +1,21 @@
+package com.decathlonminds.emotional.model;
+
+/**
+ * Niveaux de détail des tracés, avec la tolérance de simplification (Douglas–Peucker) associée
+ */
+public enum RouteDetailLevel {
+    FULL(0),
+    HIGH(2),
+    MEDIUM(10),
+    LOW(40);
+
+    private final double toleranceMeters;
+
+    RouteDetailLevel(double toleranceMeters) {
+        this.toleranceMeters = toleranceMeters;
+    }
+
+    public double getToleranceMeters() {
+        return toleranceMeters;
+    }
+}
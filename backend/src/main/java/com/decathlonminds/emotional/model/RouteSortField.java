@@ -0,0 +1,22 @@
+package com.decathlonminds.emotional.model;
+
+/**
+ * Champs de tri autorisés pour la recherche de parcours
+ */
+public enum RouteSortField {
+    NAME("name"),
+    DISTANCE("distanceMeters"),
+    DURATION("estimatedDurationMinutes"),
+    ELEVATION_GAIN("elevationGainMeters"),
+    CREATED_AT("createdAt");
+
+    private final String property;
+
+    RouteSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,9 @@
+package com.decathlonminds.emotional.model;
+
+/**
+ * Origine d'un résultat de recherche plein texte
+ */
+public enum SearchSource {
+    POST,
+    FEED_POST
+}
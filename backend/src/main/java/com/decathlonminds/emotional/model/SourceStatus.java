@@ -0,0 +1,7 @@
+package com.decathlonminds.emotional.model;
+
+public enum SourceStatus {
+    VERIFIED,
+    PENDING,
+    UNREACHABLE
+}
@@ -0,0 +1,7 @@
+package com.decathlonminds.emotional.model;
+
+public enum TrendGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
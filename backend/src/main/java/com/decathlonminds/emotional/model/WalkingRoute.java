@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
@@ -13,7 +15,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "walking_routes")
+@Table(name = "walking_routes", indexes = {
+    @Index(name = "idx_walking_routes_difficulty_duration", columnList = "difficulty_level, estimated_duration_minutes"),
+    @Index(name = "idx_walking_routes_type_difficulty_duration", columnList = "route_type, difficulty_level, estimated_duration_minutes"),
+    @Index(name = "idx_walking_routes_difficulty_distance", columnList = "difficulty_level, distance_meters")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +38,7 @@ public class WalkingRoute {
     private String description;
     
     @Enumerated(EnumType.STRING)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
     @Column(name = "difficulty_level", nullable = false)
     private IntensityLevel difficultyLevel;
     
@@ -62,6 +69,7 @@ public class WalkingRoute {
     @Column(name = "created_at")
     private ZonedDateTime createdAt;
     
+    // Ancien stockage point par point ; le tracé de référence est WalkingRouteGeometry (format compact)
     @OneToMany(mappedBy = "route", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<RoutePoint> routePoints = new ArrayList<>();
     
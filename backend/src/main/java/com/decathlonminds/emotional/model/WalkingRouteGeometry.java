@@ -0,0 +1,40 @@
+package com.decathlonminds.emotional.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Tracé d'un parcours, encodé par RouteGeometryCodec dans une seule colonne binaire.
+ * Stocké à part de walking_routes pour ne pas charger le tracé avec chaque parcours.
+ */
+@Entity
+@Table(name = "walking_route_geometries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkingRouteGeometry {
+    
+    @Id
+    @Column(name = "route_id", updatable = false, nullable = false)
+    private UUID routeId;
+    
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+    
+    @Column(name = "geometry", nullable = false)
+    private byte[] geometry;
+    
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = ZonedDateTime.now();
+    }
+}
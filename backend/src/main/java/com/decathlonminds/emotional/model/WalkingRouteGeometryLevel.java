@@ -0,0 +1,42 @@
+package com.decathlonminds.emotional.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.util.UUID;
+
+/**
+ * Version simplifiée du tracé d'un parcours pour un niveau de détail donné,
+ * recalculée à chaque enregistrement du tracé complet (WalkingRouteGeometry)
+ */
+@Entity
+@Table(name = "walking_route_geometry_levels", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_walking_route_geometry_levels_route_level", columnNames = {"route_id", "detail_level"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkingRouteGeometryLevel {
+    
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+    
+    @Column(name = "route_id", nullable = false)
+    private UUID routeId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "detail_level", nullable = false, length = 10)
+    private RouteDetailLevel detailLevel;
+    
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+    
+    @Column(name = "geometry", nullable = false)
+    private byte[] geometry;
+}
@@ -0,0 +1,38 @@
+package com.decathlonminds.emotional.model;
+
+import java.util.Locale;
+
+/**
+ * Conditions météo connues des recommandations. Chaque valeur occupe un bit
+ * dans les masques utilisés par le moteur de recommandations.
+ */
+public enum WeatherCondition {
+    SUNNY,
+    CLOUDY,
+    LIGHT_RAIN,
+    RAIN,
+    WINDY,
+    SNOW,
+    FOG;
+
+    /** Masque couvrant toutes les conditions (recommandation sans contrainte météo) */
+    public static final int ANY_MASK = (1 << values().length) - 1;
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Convertit un libellé stocké en base (colonne varchar) ; renvoie null pour une valeur inconnue
+     */
+    public static WeatherCondition fromLabel(String label) {
+        if (label == null || label.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(label.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.decathlonminds.emotional.repository;
 
 import com.decathlonminds.emotional.model.ChatConversation;
 import com.decathlonminds.emotional.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
@@ -17,10 +20,21 @@ public interface ChatConversationRepository extends JpaRepository<ChatConversati
      */
     List<ChatConversation> findByUser(User user);
     
-    /**
-     * Recherche des conversations par utilisateur et triées par date
-     */
-    List<ChatConversation> findByUserOrderByTimestampDesc(User user);
+    // Historique d'un utilisateur, pagination par clé (timestamp, id) : la taille de page est portée par le Pageable.
+    // La comparaison de lignes borne le parcours de l'index (user_id, timestamp, id), contrairement à un OR
+    
+    @Query("SELECT c FROM ChatConversation c WHERE c.user.id = :userId ORDER BY c.timestamp DESC, c.id DESC")
+    List<ChatConversation> findFirstPageByUser(@Param("userId") UUID userId, Pageable pageable);
+    
+    @Query("SELECT c FROM ChatConversation c " +
+           "WHERE c.user.id = :userId " +
+           "AND (c.timestamp, c.id) < (:timestamp, :id) " +
+           "ORDER BY c.timestamp DESC, c.id DESC")
+    List<ChatConversation> findPageByUserAfter(
+            @Param("userId") UUID userId,
+            @Param("timestamp") ZonedDateTime timestamp,
+            @Param("id") UUID id,
+            Pageable pageable);
     
     /**
      * Recherche des conversations par période
@@ -28,12 +42,14 @@ public interface ChatConversationRepository extends JpaRepository<ChatConversati
     List<ChatConversation> findByUserAndTimestampBetween(User user, ZonedDateTime start, ZonedDateTime end);
     
     /**
-     * Recherche des conversations par émotion
+     * Recherche des conversations par émotion, parmi les conversations récentes.
+     * Les journées compactées sont lues dans chat_daily_summaries (ChatService.getDailySummaries).
      */
     List<ChatConversation> findByUserAndEmotion(User user, String emotion);
     
     /**
-     * Compter le nombre de conversations par utilisateur
+     * Compter le nombre de conversations récentes par utilisateur.
+     * Le total archives comprises est donné par ChatService.getConversationStats.
      */
     long countByUser(User user);
 }
@@ -0,0 +1,26 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.model.ChatDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ChatDailySummaryRepository extends JpaRepository<ChatDailySummary, UUID> {
+    
+    Optional<ChatDailySummary> findByUserIdAndDay(UUID userId, LocalDate day);
+    
+    List<ChatDailySummary> findByUserIdAndDayBetweenOrderByDayAsc(UUID userId, LocalDate startDay, LocalDate endDay);
+    
+    /**
+     * Nombre de conversations compactées d'un utilisateur
+     */
+    @Query("SELECT COALESCE(SUM(s.conversationCount), 0) FROM ChatDailySummary s WHERE s.userId = :userId")
+    long sumConversationCountByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,14 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.model.EmotionDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmotionDailyRollupRepository extends JpaRepository<EmotionDailyRollup, UUID> {
+    List<EmotionDailyRollup> findByUserIdAndDayBetweenOrderByDayAsc(UUID userId, LocalDate startDay, LocalDate endDay);
+}
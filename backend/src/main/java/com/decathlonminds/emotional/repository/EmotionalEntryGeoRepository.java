@@ -0,0 +1,15 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.geo.GeoCandidate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface EmotionalEntryGeoRepository {
+
+    /**
+     * Parcourt en flux les positions des entrées dont la cellule géographique appartient
+     * à l'un des intervalles [min, max] ; à consommer dans une transaction puis à fermer
+     */
+    Stream<GeoCandidate> streamLocationsInCellRanges(List<long[]> cellRanges);
+}
@@ -0,0 +1,51 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.geo.GeoCandidate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class EmotionalEntryGeoRepositoryImpl implements EmotionalEntryGeoRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<GeoCandidate> streamLocationsInCellRanges(List<long[]> cellRanges) {
+        if (cellRanges.isEmpty()) {
+            return Stream.empty();
+        }
+
+        // Un BETWEEN par intervalle : PostgreSQL combine les parcours de l'index geo_cell (BitmapOr)
+        StringBuilder jpql = new StringBuilder(
+                "SELECT e.id, e.locationLatitude, e.locationLongitude FROM EmotionalEntry e WHERE ");
+        for (int i = 0; i < cellRanges.size(); i++) {
+            if (i > 0) {
+                jpql.append(" OR ");
+            }
+            jpql.append("(e.geoCell BETWEEN :min").append(i).append(" AND :max").append(i).append(')');
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        for (int i = 0; i < cellRanges.size(); i++) {
+            query.setParameter("min" + i, cellRanges.get(i)[0]);
+            query.setParameter("max" + i, cellRanges.get(i)[1]);
+        }
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        return query.getResultStream()
+                .map(row -> new GeoCandidate(
+                        (UUID) row[0],
+                        ((BigDecimal) row[1]).doubleValue(),
+                        ((BigDecimal) row[2]).doubleValue()));
+    }
+}
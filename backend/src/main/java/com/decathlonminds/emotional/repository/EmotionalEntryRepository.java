@@ -11,8 +11,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface EmotionalEntryRepository extends JpaRepository<EmotionalEntry, UUID> {
+public interface EmotionalEntryRepository extends JpaRepository<EmotionalEntry, UUID>, EmotionalEntryGeoRepository {
     List<EmotionalEntry> findByUser(User user);
     List<EmotionalEntry> findByUserAndRecordedAtBetween(User user, ZonedDateTime startDate, ZonedDateTime endDate);
     List<EmotionalEntry> findByUserAndEmotion(User user, EmotionType emotion);
+    
+    // Reprise des entrées géolocalisées enregistrées avant l'ajout de la colonne geo_cell
+    List<EmotionalEntry> findTop500ByGeoCellIsNullAndLocationLatitudeIsNotNullAndLocationLongitudeIsNotNull();
 }
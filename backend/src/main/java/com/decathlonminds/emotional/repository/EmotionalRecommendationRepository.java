@@ -4,6 +4,7 @@ import com.decathlonminds.emotional.model.EmotionalRecommendation;
 import com.decathlonminds.emotional.model.EmotionType;
 import com.decathlonminds.emotional.model.IntensityLevel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,8 +14,9 @@ import java.util.UUID;
 public interface EmotionalRecommendationRepository extends JpaRepository<EmotionalRecommendation, UUID> {
     List<EmotionalRecommendation> findByEmotion(EmotionType emotion);
     List<EmotionalRecommendation> findByEmotionAndIntensity(EmotionType emotion, IntensityLevel intensity);
-    
-    // Note: Cette méthode sera implémentée manuellement dans un service
-    // car la recherche dans un tableau nécessite une logique spécifique en JPA
-    // qui dépend de la base de données sous-jacente
+
+    // Le filtrage par météo (colonne tableau) est fait en mémoire par RecommendationEngine,
+    // qui charge l'ensemble des recommandations avec leur parcours
+    @Query("SELECT r FROM EmotionalRecommendation r JOIN FETCH r.route")
+    List<EmotionalRecommendation> findAllWithRoute();
 }
@@ -2,20 +2,82 @@ package com.decathlonminds.emotional.repository;
 
 import com.decathlonminds.emotional.model.FeedPost;
 import com.decathlonminds.emotional.model.PostType;
+import com.decathlonminds.emotional.model.SourceStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface FeedPostRepository extends JpaRepository<FeedPost, UUID> {
     
-    List<FeedPost> findAllByOrderByCreatedAtDesc();
+    // Pagination par clé (createdAt, id) : la taille de page est portée par le Pageable.
+    // La comparaison de lignes borne le parcours des index (created_at DESC, id DESC), contrairement à un OR
     
-    List<FeedPost> findByTypeOrderByCreatedAtDesc(PostType type);
+    @Query("SELECT p FROM FeedPost p ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedPost> findFirstPage(Pageable pageable);
+    
+    @Query("SELECT p FROM FeedPost p " +
+           "WHERE (p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedPost> findPageAfter(
+            @Param("createdAt") ZonedDateTime createdAt,
+            @Param("id") UUID id,
+            Pageable pageable);
+    
+    @Query("SELECT p FROM FeedPost p WHERE p.type = :type ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedPost> findFirstPageByType(@Param("type") PostType type, Pageable pageable);
+    
+    @Query("SELECT p FROM FeedPost p " +
+           "WHERE p.type = :type " +
+           "AND (p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedPost> findPageByTypeAfter(
+            @Param("type") PostType type,
+            @Param("createdAt") ZonedDateTime createdAt,
+            @Param("id") UUID id,
+            Pageable pageable);
+    
+    @Query("SELECT p FROM FeedPost p JOIN p.tags t WHERE t = :tag ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedPost> findFirstPageByTag(@Param("tag") String tag, Pageable pageable);
+    
+    @Query("SELECT p FROM FeedPost p JOIN p.tags t " +
+           "WHERE t = :tag " +
+           "AND (p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedPost> findPageByTagAfter(
+            @Param("tag") String tag,
+            @Param("createdAt") ZonedDateTime createdAt,
+            @Param("id") UUID id,
+            Pageable pageable);
+    
+    /**
+     * Charge en une seule requête les tags d'un ensemble de publications.
+     * Chaque ligne contient l'identifiant de la publication puis le tag.
+     */
+    @Query("SELECT p.id, t FROM FeedPost p JOIN p.tags t WHERE p.id IN :ids")
+    List<Object[]> findTagsByPostIds(@Param("ids") Collection<UUID> ids);
     
     List<FeedPost> findByWalkingRouteIdOrderByCreatedAtDesc(UUID walkingRouteId);
     
-    List<FeedPost> findByTagsContainingOrderByCreatedAtDesc(String tag);
+    /**
+     * Sources distinctes des publications en attente de vérification depuis avant la date donnée
+     */
+    @Query("SELECT DISTINCT p.source FROM FeedPost p " +
+           "WHERE p.sourceStatus = com.decathlonminds.emotional.model.SourceStatus.PENDING AND p.updatedAt < :before")
+    List<String> findPendingSources(@Param("before") ZonedDateTime before, Pageable limit);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE FeedPost p SET p.sourceStatus = :status " +
+           "WHERE p.source = :source AND p.sourceStatus = com.decathlonminds.emotional.model.SourceStatus.PENDING")
+    int resolvePendingSourceStatus(@Param("source") String source, @Param("status") SourceStatus status);
 }
@@ -0,0 +1,15 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.dto.PostSummaryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface PostFilterRepository {
+
+    /**
+     * Posts filtrés par émotion, cause et/ou type, du plus récent au plus ancien, sans leur contenu.
+     * Seuls les critères fournis apparaissent dans la requête, pour que PostgreSQL choisisse
+     * l'index adapté à chaque combinaison au lieu d'un plan générique.
+     */
+    Page<PostSummaryDTO> findByFilters(String emotion, String cause, String type, Pageable pageable);
+}
@@ -0,0 +1,63 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.dto.PostSummaryDTO;
+import com.decathlonminds.emotional.model.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostFilterRepositoryImpl implements PostFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<PostSummaryDTO> findByFilters(String emotion, String cause, String type, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<PostSummaryDTO> query = cb.createQuery(PostSummaryDTO.class);
+        Root<Post> post = query.from(Post.class);
+        query.select(cb.construct(PostSummaryDTO.class,
+                        post.get("id"), post.get("type"), post.get("title"), post.get("imageUrl"),
+                        post.get("author"), post.get("date"), post.get("source"), post.get("location"),
+                        post.get("distance"), post.get("duration"), post.get("difficulty"),
+                        post.get("backgroundColor"), post.get("registrationLink"), post.get("emotion"),
+                        post.get("cause"), post.get("createdAt")))
+                .where(predicates(cb, post, emotion, cause, type))
+                .orderBy(cb.desc(post.get("createdAt")), cb.desc(post.get("id")));
+        List<PostSummaryDTO> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Post> countRoot = countQuery.from(Post.class);
+        countQuery.select(cb.count(countRoot)).where(predicates(cb, countRoot, emotion, cause, type));
+        long total = entityManager.createQuery(countQuery).getSingleResult();
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Post> post, String emotion, String cause, String type) {
+        List<Predicate> predicates = new ArrayList<>(3);
+        if (emotion != null) {
+            predicates.add(cb.equal(post.get("emotion"), emotion));
+        }
+        if (cause != null) {
+            predicates.add(cb.equal(post.get("cause"), cause));
+        }
+        if (type != null) {
+            predicates.add(cb.equal(post.get("type"), type));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
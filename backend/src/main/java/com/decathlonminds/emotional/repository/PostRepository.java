@@ -1,40 +1,58 @@
 package com.decathlonminds.emotional.repository;
 
+import com.decathlonminds.emotional.dto.PostSummaryDTO;
 import com.decathlonminds.emotional.model.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, UUID> {
+public interface PostRepository extends JpaRepository<Post, UUID>, PostFilterRepository {
+
+    // Projection des listes : toutes les colonnes sauf content, sans entité gérée
+    String SUMMARY_SELECT = "SELECT new com.decathlonminds.emotional.dto.PostSummaryDTO(" +
+            "p.id, p.type, p.title, p.imageUrl, p.author, p.date, p.source, p.location, p.distance, p.duration, " +
+            "p.difficulty, p.backgroundColor, p.registrationLink, p.emotion, p.cause, p.createdAt) FROM Post p";
+    String RECENT_FIRST = " ORDER BY p.createdAt DESC, p.id DESC";
+    
+    // Tous les posts, page par page
+    @Query(value = SUMMARY_SELECT + RECENT_FIRST,
+           countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostSummaryDTO> findSummaries(Pageable pageable);
     
     // Trouver les posts par type
-    List<Post> findByType(String type);
+    @Query(value = SUMMARY_SELECT + " WHERE p.type = :type" + RECENT_FIRST,
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.type = :type")
+    Page<PostSummaryDTO> findSummariesByType(@Param("type") String type, Pageable pageable);
     
     // Trouver les posts par émotion
-    List<Post> findByEmotion(String emotion);
+    @Query(value = SUMMARY_SELECT + " WHERE p.emotion = :emotion" + RECENT_FIRST,
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.emotion = :emotion")
+    Page<PostSummaryDTO> findSummariesByEmotion(@Param("emotion") String emotion, Pageable pageable);
     
     // Trouver les posts par cause
-    List<Post> findByCause(String cause);
+    @Query(value = SUMMARY_SELECT + " WHERE p.cause = :cause" + RECENT_FIRST,
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.cause = :cause")
+    Page<PostSummaryDTO> findSummariesByCause(@Param("cause") String cause, Pageable pageable);
     
     // Trouver les posts par émotion et cause
     List<Post> findByEmotionAndCause(String emotion, String cause);
     
     // Trouver les posts par tag
-    @Query("SELECT p FROM Post p JOIN p.tags t WHERE t = :tag")
-    List<Post> findByTag(@Param("tag") String tag);
-    
-    // Requête pour trouver des posts filtrés par émotion, cause et/ou type
-    @Query("SELECT p FROM Post p WHERE " +
-           "(:emotion IS NULL OR p.emotion = :emotion) AND " +
-           "(:cause IS NULL OR p.cause = :cause) AND " +
-           "(:type IS NULL OR p.type = :type)")
-    List<Post> findByFilters(
-            @Param("emotion") String emotion,
-            @Param("cause") String cause,
-            @Param("type") String type);
+    @Query(value = SUMMARY_SELECT + " JOIN p.tags t WHERE t = :tag" + RECENT_FIRST,
+           countQuery = "SELECT COUNT(p) FROM Post p JOIN p.tags t WHERE t = :tag")
+    Page<PostSummaryDTO> findSummariesByTag(@Param("tag") String tag, Pageable pageable);
+    
+    // Tags d'une page de posts, en une requête : chaque ligne contient l'identifiant du post puis le tag
+    @Query("SELECT p.id, t FROM Post p JOIN p.tags t WHERE p.id IN :ids")
+    List<Object[]> findTagsByPostIds(@Param("ids") Collection<UUID> ids);
+    
+    // Le filtrage combiné par émotion, cause et type est dans PostFilterRepository
 }
@@ -0,0 +1,127 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.dto.SearchResultDto;
+import com.decathlonminds.emotional.model.SearchSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Recherche plein texte sur posts et feed_posts, via les colonnes tsvector search_vector
+ * (configuration french, titre pondéré A, contenu B) et leurs index GIN (migration 008).
+ * Seules les CANDIDATES_PER_SOURCE correspondances les plus récentes de chaque table sont classées
+ * par ts_rank : pour un terme fréquent, PostgreSQL parcourt l'index (created_at DESC, id DESC) et
+ * s'arrête une fois ce nombre atteint, au lieu de lire et classer toutes les lignes trouvées ;
+ * pour un terme rare, il passe par l'index GIN. Ce choix dépend du texte recherché : chaque requête
+ * est donc planifiée avec ses paramètres (plan_cache_mode), jamais avec le plan générique qu'adopte
+ * PostgreSQL pour une requête préparée souvent exécutée. Le total renvoyé est borné de la même façon.
+ * Titre et contenu ne sont relus, et surlignés par ts_headline, que pour la page renvoyée.
+ */
+@Repository
+public class TextSearchRepository {
+
+    /**
+     * Correspondances classées par table : au-delà, les pages sont vides
+     */
+    public static final int CANDIDATES_PER_SOURCE = 200;
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=30, MinWords=10, FragmentDelimiter=\" … \"";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TextSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Page de résultats et nombre de candidats, calculés par la même requête.
+     * Le total vaut 0 si la page est au-delà des résultats (voir count)
+     */
+    @Transactional(readOnly = true)
+    public SearchHits search(String text, Set<SearchSource> sources, int offset, int limit) {
+        planWithParameters();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("text", text)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        long[] total = {0};
+        List<SearchResultDto> items = jdbcTemplate.query(searchSql(sources), params, (rs, rowNum) -> {
+            total[0] = rs.getLong("total");
+            return new SearchResultDto(
+                    SearchSource.valueOf(rs.getString("source")),
+                    rs.getObject("id", UUID.class),
+                    rs.getString("title"),
+                    rs.getString("snippet"),
+                    rs.getDouble("rank"));
+        });
+        return new SearchHits(items, total[0]);
+    }
+
+    /**
+     * Nombre de candidats, pour une page au-delà des résultats
+     */
+    @Transactional(readOnly = true)
+    public long count(String text, Set<SearchSource> sources) {
+        planWithParameters();
+        String sql = "SELECT COUNT(*) FROM (" + candidates(sources) + ") candidates";
+        Long total = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("text", text), Long.class);
+        return total != null ? total : 0;
+    }
+
+    private void planWithParameters() {
+        jdbcTemplate.getJdbcTemplate().execute("SET LOCAL plan_cache_mode = force_custom_plan");
+    }
+
+    /**
+     * Requête de search, paramètres :text, :limit et :offset
+     */
+    static String searchSql(Set<SearchSource> sources) {
+        return "WITH q AS (SELECT websearch_to_tsquery('french', :text) AS query), " +
+                "hits AS (SELECT candidates.*, COUNT(*) OVER () AS total FROM (" + candidates(sources) + ") candidates " +
+                "ORDER BY rank DESC, created_at DESC, id LIMIT :limit OFFSET :offset) " +
+                "SELECT hits.source, hits.id, hits.rank, hits.total, " +
+                "ts_headline('french', coalesce(p.title, f.title, ''), q.query, 'HighlightAll=true, StartSel=<mark>, StopSel=</mark>') AS title, " +
+                "ts_headline('french', coalesce(p.content, f.content, ''), q.query, '" + HEADLINE_OPTIONS + "') AS snippet " +
+                "FROM hits CROSS JOIN q " +
+                "LEFT JOIN posts p ON hits.source = 'POST' AND p.id = hits.id " +
+                "LEFT JOIN feed_posts f ON hits.source = 'FEED_POST' AND f.id = hits.id " +
+                "ORDER BY hits.rank DESC, hits.created_at DESC, hits.id";
+    }
+
+    /**
+     * Union des correspondances les plus récentes des seules tables demandées, avec leur score.
+     * La requête tsquery est écrite dans chaque branche (plutôt que lue dans q) pour que le planificateur
+     * estime la fréquence des termes et choisisse entre l'index GIN et l'index (created_at DESC, id DESC) ;
+     * le tri ne porte que sur l'identifiant, la date et le score, sans le tsvector
+     */
+    private static String candidates(Set<SearchSource> sources) {
+        List<String> branches = new ArrayList<>(2);
+        if (sources.contains(SearchSource.POST)) {
+            branches.add("SELECT 'POST' AS source, id, rank, created_at::timestamptz AS created_at FROM (" +
+                    rankedMatches("posts") + ") p");
+        }
+        if (sources.contains(SearchSource.FEED_POST)) {
+            branches.add("SELECT 'FEED_POST' AS source, id, rank, created_at FROM (" +
+                    rankedMatches("feed_posts") + ") f");
+        }
+        return String.join(" UNION ALL ", branches);
+    }
+
+    private static String rankedMatches(String table) {
+        return "SELECT id, ts_rank(search_vector, websearch_to_tsquery('french', :text)) AS rank, created_at " +
+                "FROM " + table + " WHERE search_vector @@ websearch_to_tsquery('french', :text) " +
+                "ORDER BY created_at DESC, id DESC LIMIT " + CANDIDATES_PER_SOURCE;
+    }
+
+    public record SearchHits(List<SearchResultDto> items, long total) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.model.IntensityLevel;
+
+/**
+ * Critères de recherche de parcours, combinés en ET ; un critère null est ignoré
+ */
+public record WalkingRouteFilter(IntensityLevel difficulty, String routeType,
+                                 Integer maxDistanceMeters, Integer maxDurationMinutes) {
+}
@@ -0,0 +1,21 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.model.RouteDetailLevel;
+import com.decathlonminds.emotional.model.WalkingRouteGeometryLevel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WalkingRouteGeometryLevelRepository extends JpaRepository<WalkingRouteGeometryLevel, UUID> {
+
+    @Query("SELECT l.geometry FROM WalkingRouteGeometryLevel l WHERE l.routeId = :routeId AND l.detailLevel = :detailLevel")
+    Optional<byte[]> findEncodedGeometry(@Param("routeId") UUID routeId, @Param("detailLevel") RouteDetailLevel detailLevel);
+
+    List<WalkingRouteGeometryLevel> findByRouteId(UUID routeId);
+}
@@ -0,0 +1,18 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.model.WalkingRouteGeometry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WalkingRouteGeometryRepository extends JpaRepository<WalkingRouteGeometry, UUID> {
+
+    // Lit uniquement la colonne binaire, sans gérer d'entité dans le contexte de persistance
+    @Query("SELECT g.geometry FROM WalkingRouteGeometry g WHERE g.routeId = :routeId")
+    Optional<byte[]> findEncodedGeometry(@Param("routeId") UUID routeId);
+}
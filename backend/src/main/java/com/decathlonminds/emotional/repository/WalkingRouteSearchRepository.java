@@ -0,0 +1,14 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.dto.WalkingRouteDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface WalkingRouteSearchRepository {
+
+    /**
+     * Parcours correspondant à tous les critères, projetés directement en DTO (sans charger les entités
+     * ni leurs points), triés selon le Pageable puis par identifiant
+     */
+    Page<WalkingRouteDto> search(WalkingRouteFilter filter, Pageable pageable);
+}
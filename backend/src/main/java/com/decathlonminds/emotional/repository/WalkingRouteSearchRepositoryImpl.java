@@ -0,0 +1,84 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.dto.WalkingRouteDto;
+import com.decathlonminds.emotional.model.WalkingRoute;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class WalkingRouteSearchRepositoryImpl implements WalkingRouteSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<WalkingRouteDto> search(WalkingRouteFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<WalkingRouteDto> query = cb.createQuery(WalkingRouteDto.class);
+        Root<WalkingRoute> route = query.from(WalkingRoute.class);
+        query.select(cb.construct(WalkingRouteDto.class,
+                route.get("id"),
+                route.get("name"),
+                route.get("description"),
+                route.get("difficultyLevel"),
+                route.get("distanceMeters"),
+                route.get("estimatedDurationMinutes"),
+                route.get("startPointLatitude"),
+                route.get("startPointLongitude"),
+                route.get("endPointLatitude"),
+                route.get("endPointLongitude"),
+                route.get("elevationGainMeters"),
+                route.get("routeType")));
+        query.where(predicates(cb, route, filter));
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            orders.add(order.isAscending() ? cb.asc(route.get(order.getProperty())) : cb.desc(route.get(order.getProperty())));
+        }
+        orders.add(cb.asc(route.get("id")));
+        query.orderBy(orders);
+
+        List<WalkingRouteDto> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<WalkingRoute> countRoot = countQuery.from(WalkingRoute.class);
+        countQuery.select(cb.count(countRoot)).where(predicates(cb, countRoot, filter));
+        long total = entityManager.createQuery(countQuery).getSingleResult();
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, Root<WalkingRoute> route, WalkingRouteFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.difficulty() != null) {
+            predicates.add(cb.equal(route.get("difficultyLevel"), filter.difficulty()));
+        }
+        if (filter.routeType() != null) {
+            predicates.add(cb.equal(route.get("routeType"), filter.routeType()));
+        }
+        if (filter.maxDistanceMeters() != null) {
+            predicates.add(cb.lessThanOrEqualTo(route.get("distanceMeters"), filter.maxDistanceMeters()));
+        }
+        if (filter.maxDurationMinutes() != null) {
+            predicates.add(cb.lessThanOrEqualTo(route.get("estimatedDurationMinutes"), filter.maxDurationMinutes()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
@@ -0,0 +1,409 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.cache.UserReferenceCache;
+import com.decathlonminds.emotional.dto.ChatConversationDto;
+import com.decathlonminds.emotional.dto.ChatEmotionAnalyticsDto;
+import com.decathlonminds.emotional.event.ChangeType;
+import com.decathlonminds.emotional.event.UserChangedEvent;
+import com.decathlonminds.emotional.model.ChatEmotion;
+import com.decathlonminds.emotional.model.ChatReason;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Statistiques des conversations du chatbot tenues en mémoire : fréquences émotion × raison
+ * par utilisateur et globales, dernière émotion exprimée et séries (conversations consécutives
+ * de même émotion). Les compteurs sont mis à jour à chaque conversation enregistrée ;
+ * une lecture ne dépend donc pas de la longueur de l'historique.
+ *
+ * Les compteurs modifiés sont écrits périodiquement dans chat_emotion_counters et
+ * chat_emotion_streaks, puis relus au démarrage : un arrêt brutal perd au plus les
+ * conversations d'un intervalle de point de reprise. Les valeurs écrites sont absolues,
+ * ce qui suppose une seule instance du backend.
+ */
+@Service
+public class ChatAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatAnalyticsService.class);
+
+    // Clé des compteurs globaux dans les tables de point de reprise
+    public static final UUID GLOBAL_ID = new UUID(0L, 0L);
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final ChatEmotion[] EMOTIONS = ChatEmotion.values();
+    private static final ChatReason[] REASONS = ChatReason.values();
+    // Indice 0 : émotion ou raison absente ou inconnue
+    private static final int EMOTION_SLOTS = EMOTIONS.length + 1;
+    private static final int REASON_SLOTS = REASONS.length + 1;
+    private static final int CELLS = EMOTION_SLOTS * REASON_SLOTS;
+
+    private static final String UPSERT_COUNTER_SQL =
+            "INSERT INTO chat_emotion_counters (id, user_id, emotion, reason, conversation_count) " +
+            "VALUES (gen_random_uuid(), ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, emotion, reason) DO UPDATE SET conversation_count = EXCLUDED.conversation_count";
+    private static final String UPSERT_STREAK_SQL =
+            "INSERT INTO chat_emotion_streaks (user_id, last_emotion, last_seen_at, streak_emotion, streak_length, " +
+            "longest_streak_emotion, longest_streak_length) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id) DO UPDATE SET last_emotion = EXCLUDED.last_emotion, " +
+            "last_seen_at = EXCLUDED.last_seen_at, streak_emotion = EXCLUDED.streak_emotion, " +
+            "streak_length = EXCLUDED.streak_length, longest_streak_emotion = EXCLUDED.longest_streak_emotion, " +
+            "longest_streak_length = EXCLUDED.longest_streak_length";
+
+    private final UserReferenceCache userReferences;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<UUID, UserCounters> users = new ConcurrentHashMap<>();
+    private final AtomicLongArray global = new AtomicLongArray(CELLS);
+    private final Set<UUID> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean globalDirty = new AtomicBoolean();
+    // Aucun point de reprise avant le chargement : il écraserait les compteurs persistés
+    private volatile boolean loaded;
+
+    @Autowired
+    public ChatAnalyticsService(UserReferenceCache userReferences,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate) {
+        this.userReferences = userReferences;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Compte une conversation enregistrée. Un utilisateur inconnu est compté, comme en base,
+     * sous l'utilisateur par défaut.
+     */
+    public void record(ChatConversationDto conversation) {
+        UUID userId = conversation.getUserId() != null && userReferences.exists(conversation.getUserId())
+                ? conversation.getUserId()
+                : ChatConversationWriter.DEFAULT_USER_ID;
+        ChatEmotion emotion = ChatEmotion.fromName(conversation.getEmotion());
+        ChatReason reason = ChatReason.fromName(conversation.getReason());
+        int cell = cell(emotion, reason);
+        ZonedDateTime seenAt = conversation.getTimestamp() != null ? conversation.getTimestamp() : ZonedDateTime.now();
+
+        users.computeIfAbsent(userId, id -> new UserCounters()).record(cell, emotion, seenAt);
+        global.incrementAndGet(cell);
+        dirtyUsers.add(userId);
+        globalDirty.set(true);
+    }
+
+    /**
+     * Statistiques d'un utilisateur
+     * @return les statistiques, ou vide si l'utilisateur n'existe pas
+     */
+    public Optional<ChatEmotionAnalyticsDto> getUserAnalytics(UUID userId) {
+        UserCounters counters = users.get(userId);
+        if (counters == null) {
+            if (!userReferences.exists(userId)) {
+                return Optional.empty();
+            }
+            counters = new UserCounters();
+        }
+        UserSnapshot snapshot = counters.snapshot();
+        ChatEmotionAnalyticsDto dto = toDto(snapshot.counts());
+        dto.setUserId(userId);
+        dto.setLastEmotion(name(snapshot.lastEmotion()));
+        dto.setLastSeenAt(snapshot.lastSeenAt());
+        dto.setCurrentStreakEmotion(name(snapshot.streakEmotion()));
+        dto.setCurrentStreakLength(snapshot.streakLength());
+        dto.setLongestStreakEmotion(name(snapshot.longestStreakEmotion()));
+        dto.setLongestStreakLength(snapshot.longestStreakLength());
+        return Optional.of(dto);
+    }
+
+    /**
+     * Statistiques de l'ensemble des conversations
+     */
+    public ChatEmotionAnalyticsDto getGlobalAnalytics() {
+        return toDto(getGlobalCounts());
+    }
+
+    /**
+     * Relit les compteurs persistés et les ajoute à ceux comptés depuis le démarrage.
+     * Les deux tables sont lues entièrement avant d'être fusionnées : une lecture interrompue ne laisse
+     * rien de partiel et est retentée au point de reprise suivant.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadCounters() {
+        if (loaded) {
+            return;
+        }
+        Map<UUID, long[]> persistedCounts = new HashMap<>();
+        long[] persistedGlobal = new long[CELLS];
+        List<PersistedStreak> persistedStreaks = new ArrayList<>();
+        try {
+            jdbcTemplate.query("SELECT user_id, emotion, reason, conversation_count FROM chat_emotion_counters",
+                    (RowCallbackHandler) rs -> {
+                        UUID userId = rs.getObject(1, UUID.class);
+                        int cell = cell(ChatEmotion.fromName(rs.getString(2)), ChatReason.fromName(rs.getString(3)));
+                        long[] counts = GLOBAL_ID.equals(userId)
+                                ? persistedGlobal
+                                : persistedCounts.computeIfAbsent(userId, id -> new long[CELLS]);
+                        counts[cell] += rs.getLong(4);
+                    });
+            jdbcTemplate.query("SELECT user_id, last_emotion, last_seen_at, streak_emotion, streak_length, " +
+                               "longest_streak_emotion, longest_streak_length FROM chat_emotion_streaks",
+                    (RowCallbackHandler) rs -> {
+                        OffsetDateTime lastSeenAt = rs.getObject(3, OffsetDateTime.class);
+                        persistedStreaks.add(new PersistedStreak(rs.getObject(1, UUID.class),
+                                ChatEmotion.fromName(rs.getString(2)),
+                                lastSeenAt != null ? lastSeenAt.toZonedDateTime() : null,
+                                ChatEmotion.fromName(rs.getString(4)), rs.getInt(5),
+                                ChatEmotion.fromName(rs.getString(6)), rs.getInt(7)));
+                    });
+        } catch (DataAccessException e) {
+            log.warn("Chargement des statistiques des conversations impossible, nouvel essai au prochain point de reprise : {}",
+                    e.getMessage());
+            return;
+        }
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (persistedGlobal[cell] > 0) {
+                global.addAndGet(cell, persistedGlobal[cell]);
+            }
+        }
+        persistedCounts.forEach((userId, counts) -> users.computeIfAbsent(userId, id -> new UserCounters()).add(counts));
+        persistedStreaks.forEach(streak -> users.computeIfAbsent(streak.userId(), id -> new UserCounters()).restore(streak));
+        loaded = true;
+        log.debug("Statistiques des conversations chargées pour {} utilisateurs", users.size());
+    }
+
+    /**
+     * Écrit les compteurs modifiés depuis le point de reprise précédent, en une transaction.
+     * En cas d'échec, ils restent marqués et seront réécrits au passage suivant.
+     * Tant que les compteurs persistés n'ont pas pu être relus, le chargement est retenté à la place :
+     * écrire avant écraserait les valeurs en base.
+     */
+    @Scheduled(initialDelayString = "${chat.analytics.checkpoint-interval-ms:60000}",
+               fixedDelayString = "${chat.analytics.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        if (!loaded) {
+            loadCounters();
+            if (!loaded) {
+                return;
+            }
+        }
+        List<UUID> userIds = new ArrayList<>(dirtyUsers);
+        boolean includeGlobal = globalDirty.getAndSet(false);
+        if (userIds.isEmpty() && !includeGlobal) {
+            return;
+        }
+        userIds.forEach(dirtyUsers::remove);
+
+        List<Object[]> counterRows = new ArrayList<>();
+        List<Object[]> streakRows = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            UserCounters counters = users.get(userId);
+            if (counters == null) {
+                continue;
+            }
+            UserSnapshot snapshot = counters.snapshot();
+            addCounterRows(counterRows, userId, snapshot.counts());
+            streakRows.add(new Object[] {
+                    userId,
+                    name(snapshot.lastEmotion()),
+                    snapshot.lastSeenAt() != null ? snapshot.lastSeenAt().toOffsetDateTime() : null,
+                    name(snapshot.streakEmotion()),
+                    snapshot.streakLength(),
+                    name(snapshot.longestStreakEmotion()),
+                    snapshot.longestStreakLength()
+            });
+        }
+        if (includeGlobal) {
+            addCounterRows(counterRows, GLOBAL_ID, getGlobalCounts());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!counterRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_COUNTER_SQL, counterRows);
+                }
+                if (!streakRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_STREAK_SQL, streakRows);
+                }
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Point de reprise des statistiques des conversations impossible : {}", e.getMessage());
+            dirtyUsers.addAll(userIds);
+            if (includeGlobal) {
+                globalDirty.set(true);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.changeType() != ChangeType.DELETED) {
+            return;
+        }
+        // Les compteurs globaux gardent les conversations de l'utilisateur supprimé
+        users.remove(event.userId());
+        dirtyUsers.remove(event.userId());
+        try {
+            jdbcTemplate.update("DELETE FROM chat_emotion_counters WHERE user_id = ?", event.userId());
+            jdbcTemplate.update("DELETE FROM chat_emotion_streaks WHERE user_id = ?", event.userId());
+        } catch (DataAccessException e) {
+            log.warn("Suppression des statistiques de l'utilisateur {} impossible : {}", event.userId(), e.getMessage());
+        }
+    }
+
+    private long[] getGlobalCounts() {
+        long[] counts = new long[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            counts[i] = global.get(i);
+        }
+        return counts;
+    }
+
+    private static void addCounterRows(List<Object[]> rows, UUID userId, long[] counts) {
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (counts[cell] > 0) {
+                rows.add(new Object[] {userId, emotionName(cell / REASON_SLOTS), reasonName(cell % REASON_SLOTS), counts[cell]});
+            }
+        }
+    }
+
+    private static ChatEmotionAnalyticsDto toDto(long[] counts) {
+        ChatEmotionAnalyticsDto dto = new ChatEmotionAnalyticsDto();
+        long total = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            long count = counts[cell];
+            if (count == 0) {
+                continue;
+            }
+            String emotion = emotionName(cell / REASON_SLOTS);
+            String reason = reasonName(cell % REASON_SLOTS);
+            total += count;
+            dto.getEmotionCounts().merge(emotion, count, Long::sum);
+            dto.getReasonCounts().merge(reason, count, Long::sum);
+            dto.getEmotionReasonCounts().computeIfAbsent(emotion, key -> new LinkedHashMap<>()).put(reason, count);
+        }
+        dto.setTotalConversations(total);
+        return dto;
+    }
+
+    private static int cell(ChatEmotion emotion, ChatReason reason) {
+        return (emotion == null ? 0 : emotion.ordinal() + 1) * REASON_SLOTS + (reason == null ? 0 : reason.ordinal() + 1);
+    }
+
+    private static String emotionName(int slot) {
+        return slot == 0 ? UNKNOWN : EMOTIONS[slot - 1].name();
+    }
+
+    private static String reasonName(int slot) {
+        return slot == 0 ? UNKNOWN : REASONS[slot - 1].name();
+    }
+
+    private static String name(ChatEmotion emotion) {
+        return emotion == null ? null : emotion.name();
+    }
+
+    private record PersistedStreak(UUID userId, ChatEmotion lastEmotion, ZonedDateTime lastSeenAt,
+                                   ChatEmotion streakEmotion, int streakLength,
+                                   ChatEmotion longestStreakEmotion, int longestStreakLength) {
+    }
+
+    private record UserSnapshot(long[] counts, ChatEmotion lastEmotion, ZonedDateTime lastSeenAt,
+                                ChatEmotion streakEmotion, int streakLength,
+                                ChatEmotion longestStreakEmotion, int longestStreakLength) {
+    }
+
+    /**
+     * Compteurs d'un utilisateur, protégés par leur propre verrou
+     */
+    private static final class UserCounters {
+
+        private final long[] counts = new long[CELLS];
+        private ChatEmotion lastEmotion;
+        private ZonedDateTime lastSeenAt;
+        private ChatEmotion streakEmotion;
+        private int streakLength;
+        private ChatEmotion longestStreakEmotion;
+        private int longestStreakLength;
+
+        private synchronized void record(int cell, ChatEmotion emotion, ZonedDateTime seenAt) {
+            counts[cell]++;
+            lastSeenAt = seenAt;
+            // Une conversation sans émotion connue interrompt la série en cours
+            if (emotion == null) {
+                streakEmotion = null;
+                streakLength = 0;
+                return;
+            }
+            lastEmotion = emotion;
+            if (emotion == streakEmotion) {
+                streakLength++;
+            } else {
+                streakEmotion = emotion;
+                streakLength = 1;
+            }
+            if (streakLength > longestStreakLength) {
+                longestStreakEmotion = emotion;
+                longestStreakLength = streakLength;
+            }
+        }
+
+        private synchronized void add(long[] persisted) {
+            for (int cell = 0; cell < CELLS; cell++) {
+                counts[cell] += persisted[cell];
+            }
+        }
+
+        /**
+         * Reprend l'état persisté, sauf si des conversations ont déjà été comptées depuis le démarrage
+         */
+        private synchronized void restore(PersistedStreak persisted) {
+            if (lastSeenAt != null) {
+                if (persisted.longestStreakLength() > longestStreakLength) {
+                    longestStreakEmotion = persisted.longestStreakEmotion();
+                    longestStreakLength = persisted.longestStreakLength();
+                }
+                return;
+            }
+            lastEmotion = persisted.lastEmotion();
+            lastSeenAt = persisted.lastSeenAt();
+            streakEmotion = persisted.streakEmotion();
+            streakLength = persisted.streakLength();
+            longestStreakEmotion = persisted.longestStreakEmotion();
+            longestStreakLength = persisted.longestStreakLength();
+        }
+
+        private synchronized UserSnapshot snapshot() {
+            return new UserSnapshot(counts.clone(), lastEmotion, lastSeenAt, streakEmotion, streakLength,
+                    longestStreakEmotion, longestStreakLength);
+        }
+    }
+}
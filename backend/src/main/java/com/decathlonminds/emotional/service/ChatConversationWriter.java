@@ -0,0 +1,438 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.ChatConversationDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Écriture différée des conversations du chatbot (optionnelle, chat.write-behind.enabled).
+ * Une conversation acceptée est ajoutée au journal local puis à une file bornée en mémoire ;
+ * un thread d'écriture la vide par lots JDBC dès que batch-size conversations attendent
+ * ou toutes les flush-interval-ms. L'utilisateur est résolu au moment de l'insertion, en SQL.
+ *
+ * Le journal est découpé en segments : chaque vidage ferme le segment courant, qui contient
+ * exactement les conversations du lot, et le supprime une fois le lot validé en base.
+ * Un segment dont l'insertion échoue (base indisponible) est rejoué aux cycles suivants,
+ * et les segments laissés par un arrêt brutal sont rejoués au démarrage. L'insertion ignore
+ * les identifiants déjà présents, un rejeu partiel est donc sans effet.
+ * Le journal est vidé vers le système à chaque ajout : il survit à un arrêt du processus,
+ * pas à une coupure de la machine dans l'intervalle de vidage.
+ * Les statistiques des conversations ne comptent une conversation qu'une fois son lot inséré.
+ */
+@Component
+public class ChatConversationWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatConversationWriter.class);
+
+    public static final UUID DEFAULT_USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private static final String SEGMENT_PREFIX = "conversations-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_conversations (id, user_id, user_message, bot_response, emotion, reason, \"timestamp\") " +
+            "SELECT ?, COALESCE((SELECT u.id FROM users u WHERE u.id = ?), ?), ?, ?, ?, ?, ? " +
+            "ON CONFLICT (id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatAnalyticsService analytics;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int queueCapacity;
+    private final Path spillDirectory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    // Protégés par lock
+    private final ArrayDeque<PendingConversation> pending = new ArrayDeque<>();
+    private BufferedWriter segmentWriter;
+    private Path segmentPath;
+    private long nextSegmentNumber;
+    private boolean running;
+
+    // Segments fermés dont l'insertion a échoué, rejoués par le thread d'écriture
+    private final List<Path> failedSegments = new ArrayList<>();
+    // Conversations de ces segments déjà comptées dans les statistiques (thread d'écriture)
+    private final Set<UUID> countedBeforeFailure = new HashSet<>();
+    // Segments en échec dont la lecture a échoué, signalés une seule fois (thread d'écriture)
+    private final Set<Path> unreadableSegments = new HashSet<>();
+    private volatile Thread writerThread;
+
+    @Autowired
+    public ChatConversationWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                  ChatAnalyticsService analytics,
+                                  @Value("${chat.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${chat.write-behind.batch-size:200}") int batchSize,
+                                  @Value("${chat.write-behind.flush-interval-ms:500}") long flushIntervalMillis,
+                                  @Value("${chat.write-behind.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${chat.write-behind.spill-dir:data/chat-spill}") String spillDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.analytics = analytics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.queueCapacity = queueCapacity;
+        this.spillDirectory = Paths.get(spillDirectory);
+    }
+
+    /**
+     * Rejoue les segments laissés par le précédent arrêt puis démarre le thread d'écriture
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        List<Path> leftovers;
+        try {
+            Files.createDirectories(spillDirectory);
+            leftovers = listSegments();
+        } catch (IOException e) {
+            log.warn("Journal des conversations inaccessible, écriture différée désactivée : {}", e.getMessage());
+            return;
+        }
+        nextSegmentNumber = leftovers.isEmpty() ? 1 : segmentNumber(leftovers.get(leftovers.size() - 1)) + 1;
+        failedSegments.addAll(leftovers);
+        if (!leftovers.isEmpty()) {
+            log.info("{} segments de conversations à rejouer", leftovers.size());
+        }
+
+        lock.lock();
+        try {
+            openSegment();
+            running = true;
+        } catch (IOException e) {
+            log.warn("Journal des conversations inaccessible, écriture différée désactivée : {}", e.getMessage());
+            return;
+        } finally {
+            lock.unlock();
+        }
+        writerThread = new Thread(this::runWriter, "chat-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Met la conversation en file d'écriture et renvoie sa représentation.
+     * Vide si l'écriture différée est inactive, la file pleine ou le journal en erreur :
+     * l'appelant enregistre alors la conversation lui-même.
+     */
+    public Optional<ChatConversationDto> enqueue(ChatConversationDto conversationDto) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        UUID userId = conversationDto.getUserId() != null ? conversationDto.getUserId() : DEFAULT_USER_ID;
+        PendingConversation conversation = new PendingConversation(UUID.randomUUID(), userId,
+                conversationDto.getUserMessage(), conversationDto.getBotResponse(),
+                conversationDto.getEmotion(), conversationDto.getReason(), ZonedDateTime.now());
+        String line;
+        try {
+            line = objectMapper.writeValueAsString(conversation);
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+
+        lock.lock();
+        try {
+            if (!running || pending.size() >= queueCapacity) {
+                return Optional.empty();
+            }
+            segmentWriter.write(line);
+            segmentWriter.newLine();
+            segmentWriter.flush();
+            pending.add(conversation);
+            if (pending.size() >= batchSize) {
+                batchReady.signal();
+            }
+        } catch (IOException e) {
+            log.warn("Écriture dans le journal des conversations impossible : {}", e.getMessage());
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(conversation.toDto());
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Arrêt propre : le thread d'écriture vide la file avant de s'arrêter
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            retryFailedSegments();
+
+            List<PendingConversation> batch;
+            Path closedSegment;
+            boolean stopping;
+            lock.lock();
+            try {
+                if (running && pending.size() < batchSize) {
+                    batchReady.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+                stopping = !running;
+                if (pending.isEmpty() && !stopping) {
+                    continue;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+                closedSegment = closeSegment();
+                if (!stopping) {
+                    try {
+                        openSegment();
+                    } catch (IOException e) {
+                        // Les conversations suivantes seront enregistrées de façon synchrone
+                        log.warn("Rotation du journal des conversations impossible, écriture différée arrêtée : {}",
+                                e.getMessage());
+                        running = false;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (closedSegment != null) {
+                if (insert(batch)) {
+                    deleteSegment(closedSegment);
+                } else {
+                    failedSegments.add(closedSegment);
+                }
+            }
+            if (stopping) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Rejoue les segments en échec dans l'ordre ; un segment illisible est conservé pour la tentative suivante,
+     * sans bloquer les autres
+     */
+    private void retryFailedSegments() {
+        Iterator<Path> segments = failedSegments.iterator();
+        while (segments.hasNext()) {
+            Path segment = segments.next();
+            Optional<List<PendingConversation>> conversations = readSegment(segment);
+            if (conversations.isEmpty()) {
+                continue;
+            }
+            if (!insert(conversations.get())) {
+                return;
+            }
+            deleteSegment(segment);
+            segments.remove();
+        }
+    }
+
+    /**
+     * Insère par lots ; si un lot est rejeté pour une contrainte (utilisateur par défaut absent...),
+     * les lignes sont reprises une à une et les fautives abandonnées.
+     * Renvoie false si la base est indisponible, le segment est alors conservé.
+     * Chaque lot inséré est compté aussitôt dans les statistiques ; les conversations déjà comptées
+     * lors d'une tentative interrompue ne le sont pas une seconde fois quand le segment est rejoué.
+     */
+    private boolean insert(List<PendingConversation> conversations) {
+        List<UUID> counted = new ArrayList<>();
+        try {
+            for (int start = 0; start < conversations.size(); start += batchSize) {
+                List<PendingConversation> chunk = conversations.subList(start, Math.min(start + batchSize, conversations.size()));
+                List<PendingConversation> inserted = new ArrayList<>(chunk.size());
+                try {
+                    int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, conversation) -> bind(ps, conversation));
+                    int index = 0;
+                    for (int[] batchCounts : counts) {
+                        for (int count : batchCounts) {
+                            // 0 : déjà présente (ON CONFLICT) ; SUCCESS_NO_INFO quand le driver réécrit le lot
+                            if (count != 0) {
+                                inserted.add(chunk.get(index));
+                            }
+                            index++;
+                        }
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    for (PendingConversation conversation : chunk) {
+                        try {
+                            if (jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, conversation)) > 0) {
+                                inserted.add(conversation);
+                            }
+                        } catch (DataIntegrityViolationException rowError) {
+                            log.warn("Conversation {} abandonnée : {}", conversation.id(), rowError.getMessage());
+                        }
+                    }
+                }
+                for (PendingConversation conversation : inserted) {
+                    if (!countedBeforeFailure.contains(conversation.id())) {
+                        analytics.record(conversation.toDto());
+                        counted.add(conversation.id());
+                    }
+                }
+            }
+            conversations.forEach(conversation -> countedBeforeFailure.remove(conversation.id()));
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Écriture de {} conversations reportée : {}", conversations.size(), e.getMessage());
+            countedBeforeFailure.addAll(counted);
+            return false;
+        }
+    }
+
+    private void bind(PreparedStatement ps, PendingConversation conversation) throws SQLException {
+        ps.setObject(1, conversation.id());
+        ps.setObject(2, conversation.userId());
+        ps.setObject(3, DEFAULT_USER_ID);
+        ps.setString(4, conversation.userMessage());
+        ps.setString(5, conversation.botResponse());
+        ps.setString(6, conversation.emotion());
+        ps.setString(7, conversation.reason());
+        ps.setObject(8, conversation.timestamp().toOffsetDateTime());
+    }
+
+    /**
+     * Ferme le segment courant et renvoie son chemin, ou null s'il n'y en a pas
+     */
+    private Path closeSegment() {
+        Path closed = segmentPath;
+        if (segmentWriter != null) {
+            try {
+                segmentWriter.close();
+            } catch (IOException e) {
+                log.warn("Fermeture du segment {} impossible : {}", closed.getFileName(), e.getMessage());
+            }
+        }
+        segmentWriter = null;
+        segmentPath = null;
+        return closed;
+    }
+
+    private void openSegment() throws IOException {
+        segmentPath = spillDirectory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+        segmentWriter = Files.newBufferedWriter(segmentPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Lit un segment ; une dernière ligne tronquée par un arrêt brutal est ignorée.
+     * Vide si le fichier ne peut pas être lu : le segment ne doit alors pas être supprimé.
+     */
+    private Optional<List<PendingConversation>> readSegment(Path segment) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(segment, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            if (unreadableSegments.add(segment)) {
+                log.warn("Lecture du segment {} impossible, conservé pour une prochaine tentative : {}",
+                        segment.getFileName(), e.getMessage());
+            } else {
+                log.debug("Lecture du segment {} toujours impossible : {}", segment.getFileName(), e.getMessage());
+            }
+            return Optional.empty();
+        }
+        unreadableSegments.remove(segment);
+        List<PendingConversation> conversations = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                conversations.add(objectMapper.readValue(line, PendingConversation.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Ligne illisible ignorée dans {}", segment.getFileName());
+            }
+        }
+        return Optional.of(conversations);
+    }
+
+    private void deleteSegment(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            log.warn("Suppression du segment {} impossible : {}", segment.getFileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Conversation en attente d'écriture, telle que journalisée
+     */
+    record PendingConversation(UUID id, UUID userId, String userMessage, String botResponse,
+                               String emotion, String reason, ZonedDateTime timestamp) {
+
+        private ChatConversationDto toDto() {
+            return new ChatConversationDto(id, userId, userMessage, botResponse, emotion, reason, timestamp);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.ChatConversationDto;
+import com.decathlonminds.emotional.model.ChatDailySummary;
+import com.decathlonminds.emotional.repository.ChatDailySummaryRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rétention des conversations du chatbot (optionnelle, chat.retention.enabled).
+ * Les journées plus anciennes que max-age-days sont compactées une par une, par utilisateur :
+ * les conversations sont écrites dans une archive NDJSON compressée, résumées dans
+ * chat_daily_summaries (nombre de conversations, émotions, raisons, transcription tronquée)
+ * puis supprimées de chat_conversations, qui ne garde ainsi que l'historique récent.
+ * L'archive est synchronisée sur disque avant la suppression, dans la transaction qui écrit le résumé ;
+ * si la transaction échoue, l'archive est effacée et la journée sera reprise au passage suivant.
+ * Le job suppose une seule instance du backend : deux compactages simultanés de la même journée
+ * ne sont pas coordonnés entre processus.
+ */
+@Service
+public class ChatRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatRetentionService.class);
+
+    private static final int GROUP_BATCH_SIZE = 100;
+    private static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
+    private static final String ELLIPSIS = "…";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    // Journées (utilisateur, jour dans app.time-zone) ayant des conversations antérieures à la limite
+    private static final String GROUPS_SQL =
+            "SELECT user_id, CAST(\"timestamp\" AT TIME ZONE ? AS date) AS day " +
+            "FROM chat_conversations WHERE \"timestamp\" < ? " +
+            "GROUP BY 1, 2 ORDER BY 2, 1 LIMIT ?";
+    private static final String DAY_SQL =
+            "SELECT id, user_message, bot_response, emotion, reason, \"timestamp\" " +
+            "FROM chat_conversations WHERE user_id = ? AND \"timestamp\" >= ? AND \"timestamp\" < ? " +
+            "ORDER BY \"timestamp\", id";
+    private static final String DELETE_SQL = "DELETE FROM chat_conversations WHERE id = ?";
+
+    private final ChatDailySummaryRepository summaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ZoneId zoneId;
+    private final boolean enabled;
+    private final int maxAgeDays;
+    private final Path archiveDirectory;
+    private final int daysPerRun;
+    private final int transcriptMaxChars;
+    private final int messageMaxChars;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public ChatRetentionService(ChatDailySummaryRepository summaryRepository,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${app.time-zone:Europe/Paris}") ZoneId zoneId,
+                                @Value("${chat.retention.enabled:false}") boolean enabled,
+                                @Value("${chat.retention.max-age-days:90}") int maxAgeDays,
+                                @Value("${chat.retention.archive-dir:data/chat-archive}") String archiveDirectory,
+                                @Value("${chat.retention.days-per-run:10000}") int daysPerRun,
+                                @Value("${chat.retention.transcript-max-chars:4000}") int transcriptMaxChars,
+                                @Value("${chat.retention.message-max-chars:200}") int messageMaxChars) {
+        this.summaryRepository = summaryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.zoneId = zoneId;
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.archiveDirectory = Paths.get(archiveDirectory).toAbsolutePath();
+        this.daysPerRun = daysPerRun;
+        this.transcriptMaxChars = transcriptMaxChars;
+        this.messageMaxChars = messageMaxChars;
+    }
+
+    @Scheduled(cron = "${chat.retention.cron:0 30 3 * * *}", zone = "${app.time-zone:Europe/Paris}")
+    public void compactScheduled() {
+        if (enabled) {
+            compact();
+        }
+    }
+
+    /**
+     * Compacte les journées antérieures à aujourd'hui - max-age-days, dans la limite de days-per-run.
+     * Le passage s'arrête à la première journée en échec ; elle sera reprise au passage suivant.
+     * @return le nombre de journées compactées
+     */
+    public int compact() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Compactage des conversations déjà en cours");
+            return 0;
+        }
+        try {
+            OffsetDateTime cutoff = LocalDate.now(zoneId).minusDays(maxAgeDays).atStartOfDay(zoneId).toOffsetDateTime();
+            int days = 0;
+            int conversations = 0;
+            while (days < daysPerRun) {
+                List<DayKey> keys = jdbcTemplate.query(GROUPS_SQL,
+                        (rs, rowNum) -> new DayKey(rs.getObject(1, UUID.class), rs.getObject(2, LocalDate.class)),
+                        zoneId.getId(), cutoff, Math.min(GROUP_BATCH_SIZE, daysPerRun - days));
+                if (keys.isEmpty()) {
+                    break;
+                }
+                for (DayKey key : keys) {
+                    try {
+                        conversations += compactDay(key);
+                        days++;
+                    } catch (IOException | DataAccessException | TransactionException e) {
+                        log.warn("Compactage des conversations du {} de l'utilisateur {} impossible : {}",
+                                key.day(), key.userId(), e.getMessage());
+                        return days;
+                    }
+                }
+            }
+            if (days > 0) {
+                log.info("{} conversations compactées en {} résumés quotidiens", conversations, days);
+            }
+            return days;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Archive, résume et supprime les conversations d'une journée d'un utilisateur
+     * @return le nombre de conversations compactées
+     */
+    private int compactDay(DayKey key) throws IOException {
+        Path archive = archiveDirectory.resolve(key.userId().toString())
+                .resolve(key.day() + "-" + System.currentTimeMillis() + ".ndjson.gz");
+        Files.createDirectories(archive.getParent());
+        Integer compacted;
+        try {
+            compacted = transactionTemplate.execute(status -> compactDay(key, archive));
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(archive);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(archive);
+            throw e;
+        }
+        if (compacted == null || compacted == 0) {
+            Files.deleteIfExists(archive);
+            return 0;
+        }
+        return compacted;
+    }
+
+    private int compactDay(DayKey key, Path archive) {
+        DaySummary day = new DaySummary();
+        ObjectWriter writer = objectMapper.writerFor(ChatConversationDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (FileOutputStream file = new FileOutputStream(archive.toFile());
+             GZIPOutputStream gzip = new GZIPOutputStream(file, ARCHIVE_BUFFER_SIZE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            jdbcTemplate.query(DAY_SQL, (RowCallbackHandler) rs -> {
+                OffsetDateTime timestamp = rs.getObject(6, OffsetDateTime.class);
+                ChatConversationDto dto = new ChatConversationDto(rs.getObject(1, UUID.class), key.userId(),
+                        rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                        timestamp != null ? timestamp.toZonedDateTime() : null);
+                try {
+                    writer.writeValue(generator, dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                day.add(dto);
+            }, key.userId(), key.day().atStartOfDay(zoneId).toOffsetDateTime(),
+                    key.day().plusDays(1).atStartOfDay(zoneId).toOffsetDateTime());
+            if (day.ids.isEmpty()) {
+                return 0;
+            }
+            generator.writeRaw('\n');
+            generator.flush();
+            gzip.finish();
+            file.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ChatDailySummary summary = summaryRepository.findByUserIdAndDay(key.userId(), key.day())
+                .orElseGet(() -> {
+                    ChatDailySummary created = new ChatDailySummary();
+                    created.setUserId(key.userId());
+                    created.setDay(key.day());
+                    return created;
+                });
+        summary.setConversationCount(summary.getConversationCount() + day.ids.size());
+        summary.setEmotionCounts(merge(summary.getEmotionCounts(), day.emotionCounts));
+        summary.setReasonCounts(merge(summary.getReasonCounts(), day.reasonCounts));
+        String transcript = summary.getTranscript() == null || summary.getTranscript().isEmpty()
+                ? day.transcript.toString()
+                : summary.getTranscript() + "\n" + day.transcript;
+        summary.setTranscript(truncate(transcript, transcriptMaxChars));
+        String[] archives = summary.getArchiveFiles() == null ? new String[0] : summary.getArchiveFiles();
+        archives = Arrays.copyOf(archives, archives.length + 1);
+        archives[archives.length - 1] = archiveDirectory.relativize(archive).toString();
+        summary.setArchiveFiles(archives);
+        summary.setCompactedAt(ZonedDateTime.now(zoneId));
+        summaryRepository.save(summary);
+
+        // Suppression par identifiant : une conversation arrivée depuis la lecture n'est pas perdue
+        List<Object[]> ids = new ArrayList<>(day.ids.size());
+        day.ids.forEach(id -> ids.add(new Object[] {id}));
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids);
+        return day.ids.size();
+    }
+
+    private static Map<String, Integer> merge(Map<String, Integer> existing, Map<String, Integer> added) {
+        // Nouvelle instance : Hibernate détecte la modification de la colonne JSON
+        Map<String, Integer> merged = existing == null ? new HashMap<>() : new HashMap<>(existing);
+        added.forEach((name, count) -> merged.merge(name, count, Integer::sum));
+        return merged;
+    }
+
+    private static String truncate(String text, int maxChars) {
+        if (text == null || text.length() <= maxChars) {
+            return text;
+        }
+        return text.substring(0, Math.max(0, maxChars - ELLIPSIS.length())) + ELLIPSIS;
+    }
+
+    private record DayKey(UUID userId, LocalDate day) {
+    }
+
+    /**
+     * Résumé d'une journée en cours de lecture
+     */
+    private final class DaySummary {
+
+        private final List<UUID> ids = new ArrayList<>();
+        private final Map<String, Integer> emotionCounts = new HashMap<>();
+        private final Map<String, Integer> reasonCounts = new HashMap<>();
+        private final StringBuilder transcript = new StringBuilder();
+
+        private void add(ChatConversationDto conversation) {
+            ids.add(conversation.getId());
+            if (conversation.getEmotion() != null) {
+                emotionCounts.merge(conversation.getEmotion(), 1, Integer::sum);
+            }
+            if (conversation.getReason() != null) {
+                reasonCounts.merge(conversation.getReason(), 1, Integer::sum);
+            }
+            // Au-delà de la taille maximale, la transcription sera tronquée : inutile de la prolonger
+            if (transcript.length() > transcriptMaxChars) {
+                return;
+            }
+            if (transcript.length() > 0) {
+                transcript.append('\n');
+            }
+            if (conversation.getTimestamp() != null) {
+                transcript.append(conversation.getTimestamp().withZoneSameInstant(zoneId).format(TIME_FORMAT)).append(' ');
+            }
+            if (conversation.getEmotion() != null) {
+                transcript.append('[').append(conversation.getEmotion());
+                if (conversation.getReason() != null) {
+                    transcript.append('/').append(conversation.getReason());
+                }
+                transcript.append("] ");
+            }
+            transcript.append("Utilisateur : ").append(truncate(conversation.getUserMessage(), messageMaxChars))
+                    .append(" | Chatbot : ").append(truncate(conversation.getBotResponse(), messageMaxChars));
+        }
+    }
+}
@@ -1,14 +1,40 @@
 package com.decathlonminds.emotional.service;
 
+import com.decathlonminds.emotional.cache.UserReferenceCache;
 import com.decathlonminds.emotional.dto.ChatConversationDto;
+import com.decathlonminds.emotional.dto.ChatConversationStatsDto;
+import com.decathlonminds.emotional.dto.ChatDailySummaryDto;
+import com.decathlonminds.emotional.dto.ChatEmotionAnalyticsDto;
+import com.decathlonminds.emotional.dto.CursorPage;
+import com.decathlonminds.emotional.dto.PageCursor;
 import com.decathlonminds.emotional.model.ChatConversation;
+import com.decathlonminds.emotional.model.ChatDailySummary;
 import com.decathlonminds.emotional.model.User;
 import com.decathlonminds.emotional.repository.ChatConversationRepository;
-import com.decathlonminds.emotional.repository.UserRepository;
+import com.decathlonminds.emotional.repository.ChatDailySummaryRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -18,26 +44,75 @@ import java.util.stream.Collectors;
 @Service
 public class ChatService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String EXPORT_SQL =
+            "SELECT id, user_id, user_message, bot_response, emotion, reason, \"timestamp\" " +
+            "FROM chat_conversations WHERE user_id = ? ORDER BY \"timestamp\", id";
+    private static final String RECENT_EMOTION_COUNTS_SQL =
+            "SELECT emotion, COUNT(*) FROM chat_conversations WHERE user_id = ? AND emotion IS NOT NULL GROUP BY emotion";
+    private static final String ARCHIVED_EMOTION_COUNTS_SQL =
+            "SELECT e.key, SUM(CAST(e.value AS bigint)) FROM chat_daily_summaries s " +
+            "CROSS JOIN LATERAL jsonb_each_text(s.emotion_counts) e WHERE s.user_id = ? GROUP BY e.key";
+
     private final ChatConversationRepository chatConversationRepository;
-    private final UserRepository userRepository;
+    private final ChatDailySummaryRepository summaryRepository;
+    private final UserReferenceCache userReferences;
+    private final ChatConversationWriter conversationWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReassuranceQuoteEngine quoteEngine;
+    private final ChatAnalyticsService analytics;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ZoneId zoneId;
 
     @Autowired
-    public ChatService(ChatConversationRepository chatConversationRepository, UserRepository userRepository) {
+    public ChatService(ChatConversationRepository chatConversationRepository, ChatDailySummaryRepository summaryRepository,
+                       UserReferenceCache userReferences, ChatConversationWriter conversationWriter,
+                       TransactionTemplate transactionTemplate, ReassuranceQuoteEngine quoteEngine,
+                       ChatAnalyticsService analytics,
+                       JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                       @Value("${app.time-zone:Europe/Paris}") ZoneId zoneId) {
         this.chatConversationRepository = chatConversationRepository;
-        this.userRepository = userRepository;
+        this.summaryRepository = summaryRepository;
+        this.userReferences = userReferences;
+        this.conversationWriter = conversationWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.quoteEngine = quoteEngine;
+        this.analytics = analytics;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.zoneId = zoneId;
     }
 
     /**
-     * Sauvegarde une nouvelle conversation du chatbot
+     * Sauvegarde une nouvelle conversation du chatbot.
+     * En écriture différée, la conversation est renvoyée dès sa mise en file ; elle n'apparaît
+     * dans l'historique qu'après le vidage suivant. Sinon, ou si la file est pleine, elle est
+     * enregistrée immédiatement. Les statistiques sont mises à jour une fois la conversation
+     * écrite en base : ici après la transaction, par le thread d'écriture sinon.
      */
-    @Transactional
     public ChatConversationDto saveConversation(ChatConversationDto conversationDto) {
-        // Dans une implémentation réelle, on vérifierait si l'utilisateur existe
-        // et on le créerait si nécessaire
+        Optional<ChatConversationDto> queued = conversationWriter.enqueue(conversationDto);
+        if (queued.isPresent()) {
+            return queued.get();
+        }
+        ChatConversationDto savedConversation = transactionTemplate.execute(status -> insertConversation(conversationDto));
+        analytics.record(savedConversation);
+        return savedConversation;
+    }
+
+    private ChatConversationDto insertConversation(ChatConversationDto conversationDto) {
+        // L'utilisateur n'est pas chargé : son existence est lue dans le cache, seule sa clé est écrite
         User user;
         if (conversationDto.getUserId() != null) {
-            Optional<User> userOpt = userRepository.findById(conversationDto.getUserId());
-            user = userOpt.orElseGet(() -> getOrCreateDefaultUser());
+            user = userReferences.findReference(conversationDto.getUserId())
+                    .orElseGet(() -> getOrCreateDefaultUser());
         } else {
             user = getOrCreateDefaultUser();
         }
@@ -54,31 +129,148 @@ public class ChatService {
         return convertToDto(savedConversation);
     }
 
+    public boolean userExists(UUID userId) {
+        return userReferences.exists(userId);
+    }
+
     /**
-     * Récupère les conversations d'un utilisateur
+     * Historique d'un utilisateur, du plus récent au plus ancien, une page à la fois.
+     * Une ligne supplémentaire est demandée pour savoir s'il existe une page suivante.
      */
-    public List<ChatConversationDto> getConversationsByUser(UUID userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("Utilisateur non trouvé avec l'ID: " + userId);
+    @Transactional(readOnly = true)
+    public Optional<CursorPage<ChatConversationDto>> getConversationsByUser(UUID userId, String cursor, Integer size) {
+        if (!userReferences.exists(userId)) {
+            return Optional.empty();
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<ChatConversation> conversations;
+        if (cursor == null || cursor.isBlank()) {
+            conversations = chatConversationRepository.findFirstPageByUser(userId, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            conversations = chatConversationRepository.findPageByUserAfter(userId, after.timestampAtUtc(), after.id(), limit);
         }
 
-        List<ChatConversation> conversations = chatConversationRepository.findByUserOrderByTimestampDesc(userOpt.get());
-        return conversations.stream()
+        boolean hasMore = conversations.size() > pageSize;
+        List<ChatConversation> page = hasMore ? conversations.subList(0, pageSize) : conversations;
+        String nextCursor = null;
+        if (hasMore) {
+            ChatConversation last = page.get(page.size() - 1);
+            nextCursor = PageCursor.of(last.getTimestamp(), last.getId()).encode();
+        }
+        List<ChatConversationDto> items = page.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return Optional.of(new CursorPage<>(items, nextCursor, hasMore));
+    }
+
+    /**
+     * Exporte tout l'historique d'un utilisateur en NDJSON (une conversation par ligne, ordre chronologique).
+     * Les journées compactées par le job de rétention n'y figurent plus : elles sont dans les archives.
+     * Les lignes sont lues par un curseur JDBC en avant seulement, EXPORT_FETCH_SIZE à la fois,
+     * et écrites au fil de l'eau : la mémoire utilisée ne dépend pas de la longueur de l'historique.
+     */
+    public void exportConversations(UUID userId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ChatConversationDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        int[] written = new int[1];
+        try {
+            // Le pilote PostgreSQL n'utilise un curseur qu'en dehors du mode auto-commit
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(EXPORT_FETCH_SIZE);
+                ps.setObject(1, userId);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                OffsetDateTime timestamp = rs.getObject(7, OffsetDateTime.class);
+                ChatConversationDto dto = new ChatConversationDto(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class),
+                        rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6),
+                        timestamp != null ? timestamp.toZonedDateTime() : null);
+                try {
+                    writer.writeValue(generator, dto);
+                    if (++written[0] % EXPORT_FETCH_SIZE == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (written[0] > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    /**
+     * Volume de l'historique d'un utilisateur : les conversations récentes sont comptées dans
+     * chat_conversations, les plus anciennes dans les résumés quotidiens du job de rétention
+     */
+    @Transactional(readOnly = true)
+    public Optional<ChatConversationStatsDto> getConversationStats(UUID userId) {
+        Optional<User> user = userReferences.findReference(userId);
+        if (user.isEmpty()) {
+            return Optional.empty();
+        }
+        ChatConversationStatsDto stats = new ChatConversationStatsDto();
+        stats.setUserId(userId);
+        stats.setRecentConversations(chatConversationRepository.countByUser(user.get()));
+        stats.setArchivedConversations(summaryRepository.sumConversationCountByUserId(userId));
+        stats.setTotalConversations(stats.getRecentConversations() + stats.getArchivedConversations());
+        RowCallbackHandler addEmotionCount = rs -> stats.getEmotionCounts().merge(rs.getString(1), rs.getLong(2), Long::sum);
+        jdbcTemplate.query(RECENT_EMOTION_COUNTS_SQL, addEmotionCount, userId);
+        jdbcTemplate.query(ARCHIVED_EMOTION_COUNTS_SQL, addEmotionCount, userId);
+        return Optional.of(stats);
+    }
+
+    /**
+     * Résumés quotidiens des conversations archivées d'un utilisateur entre deux dates incluses,
+     * éventuellement limités aux journées où l'émotion a été exprimée
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<ChatDailySummaryDto>> getDailySummaries(UUID userId, LocalDate startDate, LocalDate endDate,
+                                                                 String emotion) {
+        if (!userReferences.exists(userId)) {
+            return Optional.empty();
+        }
+        LocalDate start = startDate != null ? startDate : LocalDate.EPOCH;
+        LocalDate end = endDate != null ? endDate : LocalDate.now(zoneId);
+        List<ChatDailySummaryDto> summaries = summaryRepository.findByUserIdAndDayBetweenOrderByDayAsc(userId, start, end)
+                .stream()
+                .filter(summary -> emotion == null || summary.getEmotionCounts().containsKey(emotion))
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        return Optional.of(summaries);
+    }
+
+    /**
+     * Répartition des émotions d'un utilisateur, lue dans les compteurs en mémoire
+     */
+    public Optional<ChatEmotionAnalyticsDto> getEmotionAnalytics(UUID userId) {
+        return analytics.getUserAnalytics(userId);
+    }
+
+    /**
+     * Répartition des émotions de l'ensemble des utilisateurs
+     */
+    public ChatEmotionAnalyticsDto getGlobalEmotionAnalytics() {
+        return analytics.getGlobalAnalytics();
     }
 
     /**
      * Récupère les conversations d'un utilisateur par période
      */
     public List<ChatConversationDto> getConversationsByUserAndPeriod(UUID userId, ZonedDateTime start, ZonedDateTime end) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("Utilisateur non trouvé avec l'ID: " + userId);
-        }
+        User user = userReferences.findReference(userId)
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé avec l'ID: " + userId));
 
-        List<ChatConversation> conversations = chatConversationRepository.findByUserAndTimestampBetween(userOpt.get(), start, end);
+        List<ChatConversation> conversations = chatConversationRepository.findByUserAndTimestampBetween(user, start, end);
         return conversations.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
@@ -88,35 +280,15 @@ public class ChatService {
      * Génère une citation rassurante basée sur l'émotion et la raison
      */
     public String generateReassuranceQuote(String emotion, String reason) {
-        // Logique simplifiée pour générer une citation
-        // Dans une implémentation complète, cette logique pourrait être plus sophistiquée
-        // ou utiliser une API externe comme OpenAI
-        
-        if ("HAPPY".equalsIgnoreCase(emotion)) {
-            if ("WORK".equalsIgnoreCase(reason)) {
-                return "Votre satisfaction au travail est une grande source de bonheur. Continuez à cultiver cet accomplissement !";
-            } else if ("LOVE".equalsIgnoreCase(reason)) {
-                return "L'amour est une force puissante qui illumine votre journée. Chérissez ces moments précieux.";
-            } else {
-                return "Le bonheur que vous ressentez est une force positive. Savourez pleinement ces instants !";
-            }
-        } else if ("SAD".equalsIgnoreCase(emotion)) {
-            if ("WORK".equalsIgnoreCase(reason)) {
-                return "Les défis professionnels font partie du chemin. Chaque obstacle surmonté est une victoire personnelle.";
-            } else if ("LOVE".equalsIgnoreCase(reason)) {
-                return "Les moments difficiles en amour nous enseignent beaucoup sur nous-mêmes. Prenez soin de votre cœur.";
-            } else {
-                return "La tristesse aussi est passagère. Prenez le temps de l'accueillir, puis laissez-la s'en aller doucement.";
-            }
-        } else if ("ANGRY".equalsIgnoreCase(emotion)) {
-            return "Respirez profondément. La colère est comme un nuage passager dans votre ciel intérieur.";
-        } else if ("ANXIOUS".equalsIgnoreCase(emotion)) {
-            return "Une étape à la fois. Vous faites de votre mieux et c'est déjà beaucoup.";
-        } else if ("TIRED".equalsIgnoreCase(emotion)) {
-            return "Accordez-vous le repos que vous méritez. Demain est un autre jour.";
-        } else {
-            return "Chaque émotion a sa valeur et son message. Écoutez ce que celle-ci veut vous dire.";
-        }
+        return quoteEngine.quote(emotion, reason);
+    }
+
+    /**
+     * Relit le fichier des citations
+     * @return le nombre de citations chargées
+     */
+    public int reloadQuotes() throws IOException {
+        return quoteEngine.reload();
     }
 
     /**
@@ -134,13 +306,18 @@ public class ChatService {
         return dto;
     }
 
+    private ChatDailySummaryDto convertToDto(ChatDailySummary summary) {
+        return new ChatDailySummaryDto(summary.getDay(), summary.getConversationCount(),
+                summary.getEmotionCounts(), summary.getReasonCounts(), summary.getTranscript());
+    }
+
     /**
      * Récupère ou crée un utilisateur par défaut pour les conversations anonymes
      */
     private User getOrCreateDefaultUser() {
         // Dans une implémentation réelle, on pourrait créer un utilisateur anonyme
         // ou utiliser un utilisateur système pour les conversations non authentifiées
-        return userRepository.findById(UUID.fromString("00000000-0000-0000-0000-000000000001"))
+        return userReferences.findReference(ChatConversationWriter.DEFAULT_USER_ID)
                 .orElseThrow(() -> new RuntimeException("Utilisateur par défaut non trouvé"));
     }
 }
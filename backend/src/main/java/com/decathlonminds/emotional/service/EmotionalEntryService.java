@@ -0,0 +1,282 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.EmotionalEntryDto;
+import com.decathlonminds.emotional.geo.GeoCandidate;
+import com.decathlonminds.emotional.geo.GeoCell;
+import com.decathlonminds.emotional.model.EmotionType;
+import com.decathlonminds.emotional.model.EmotionalEntry;
+import com.decathlonminds.emotional.model.User;
+import com.decathlonminds.emotional.repository.EmotionalEntryRepository;
+import com.decathlonminds.emotional.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class EmotionalEntryService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmotionalEntryService.class);
+
+    private final EmotionalEntryRepository emotionalEntryRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MoodTrendService moodTrendService;
+    private final ZoneId zoneId;
+    private final int batchSize;
+
+    @Autowired
+    public EmotionalEntryService(EmotionalEntryRepository emotionalEntryRepository,
+                                 UserRepository userRepository,
+                                 EntityManager entityManager,
+                                 TransactionTemplate transactionTemplate,
+                                 MoodTrendService moodTrendService,
+                                 @Value("${app.time-zone:Europe/Paris}") ZoneId zoneId,
+                                 @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.emotionalEntryRepository = emotionalEntryRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.moodTrendService = moodTrendService;
+        this.zoneId = zoneId;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Enregistre un état émotionnel
+     * @return l'entrée créée, ou vide si l'utilisateur n'existe pas
+     */
+    @Transactional
+    public Optional<EmotionalEntryDto> createEntry(EmotionalEntryDto entryDto) {
+        if (!userRepository.existsById(entryDto.getUserId())) {
+            return Optional.empty();
+        }
+
+        EmotionalEntry entry = new EmotionalEntry();
+        entry.setUser(userRepository.getReferenceById(entryDto.getUserId()));
+        applyDto(entry, entryDto);
+        entry.setRecordedAt(entryDto.getRecordedAt());
+        EmotionalEntry saved = emotionalEntryRepository.save(entry);
+
+        MoodTrendService.RollupDelta delta = moodTrendService.newDelta();
+        delta.add(saved);
+        moodTrendService.apply(delta);
+        return Optional.of(convertToDto(saved));
+    }
+
+    /**
+     * Enregistre en masse des états émotionnels (file d'attente hors ligne de l'application mobile).
+     * Les identifiants sont générés côté application, ce qui permet à Hibernate de regrouper les INSERT
+     * en lots JDBC ; le contexte de persistance est vidé à chaque lot pour garder une mémoire constante.
+     * @return les identifiants créés, ou vide si l'un des utilisateurs n'existe pas
+     */
+    @Transactional
+    public Optional<List<UUID>> createEntries(List<EmotionalEntryDto> entryDtos) {
+        Set<UUID> userIds = entryDtos.stream()
+                .map(EmotionalEntryDto::getUserId)
+                .collect(Collectors.toSet());
+        if (userRepository.countByIdIn(userIds) != userIds.size()) {
+            return Optional.empty();
+        }
+
+        List<UUID> createdIds = new ArrayList<>(entryDtos.size());
+        Map<UUID, User> userReferences = new HashMap<>();
+        MoodTrendService.RollupDelta delta = moodTrendService.newDelta();
+        for (int i = 0; i < entryDtos.size(); i++) {
+            EmotionalEntryDto entryDto = entryDtos.get(i);
+            EmotionalEntry entry = new EmotionalEntry();
+            entry.setUser(userReferences.computeIfAbsent(entryDto.getUserId(), userRepository::getReferenceById));
+            applyDto(entry, entryDto);
+            entry.setRecordedAt(entryDto.getRecordedAt());
+            entityManager.persist(entry);
+            createdIds.add(entry.getId());
+            delta.add(entry);
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                userReferences.clear();
+            }
+        }
+        moodTrendService.apply(delta);
+        return Optional.of(createdIds);
+    }
+
+    public Optional<EmotionalEntryDto> getEntryById(UUID id) {
+        return emotionalEntryRepository.findById(id)
+                .map(this::convertToDto);
+    }
+
+    /**
+     * Récupère les états émotionnels d'un utilisateur, avec filtres optionnels sur la période et l'émotion
+     * @return les entrées, ou vide si l'utilisateur n'existe pas
+     */
+    public Optional<List<EmotionalEntryDto>> getEntriesByUser(UUID userId, LocalDate startDate, LocalDate endDate,
+                                                              EmotionType emotion) {
+        if (!userRepository.existsById(userId)) {
+            return Optional.empty();
+        }
+
+        User user = userRepository.getReferenceById(userId);
+        List<EmotionalEntry> entries;
+        if (startDate != null || endDate != null) {
+            ZonedDateTime start = startDate != null ? startDate.atStartOfDay(zoneId) : LocalDate.EPOCH.atStartOfDay(zoneId);
+            ZonedDateTime end = endDate != null ? endDate.plusDays(1).atStartOfDay(zoneId) : ZonedDateTime.now(zoneId);
+            entries = emotionalEntryRepository.findByUserAndRecordedAtBetween(user, start, end);
+            if (emotion != null) {
+                entries = entries.stream()
+                        .filter(entry -> entry.getEmotion() == emotion)
+                        .collect(Collectors.toList());
+            }
+        } else if (emotion != null) {
+            entries = emotionalEntryRepository.findByUserAndEmotion(user, emotion);
+        } else {
+            entries = emotionalEntryRepository.findByUser(user);
+        }
+
+        return Optional.of(entries.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Recherche les entrées enregistrées dans un rayon donné, triées de la plus proche à la plus éloignée.
+     * Les candidats sont lus en flux via l'index geo_cell ; seuls les limit plus proches sont conservés
+     * puis chargés.
+     */
+    @Transactional(readOnly = true)
+    public List<EmotionalEntryDto> findNearby(double latitude, double longitude, int radiusMeters, int limit) {
+        PriorityQueue<Neighbor> nearest = new PriorityQueue<>(limit,
+                Comparator.comparingDouble(Neighbor::distanceMeters).reversed());
+        try (Stream<GeoCandidate> candidates = emotionalEntryRepository.streamLocationsInCellRanges(
+                GeoCell.coveringRanges(latitude, longitude, radiusMeters))) {
+            candidates.forEach(candidate -> {
+                double distance = GeoCell.distanceMeters(latitude, longitude,
+                        candidate.latitude(), candidate.longitude());
+                if (distance > radiusMeters) {
+                    return;
+                }
+                if (nearest.size() < limit) {
+                    nearest.add(new Neighbor(candidate.id(), distance));
+                } else if (distance < nearest.peek().distanceMeters()) {
+                    nearest.poll();
+                    nearest.add(new Neighbor(candidate.id(), distance));
+                }
+            });
+        }
+
+        List<Neighbor> ordered = new ArrayList<>(nearest);
+        ordered.sort(Comparator.comparingDouble(Neighbor::distanceMeters));
+        Map<UUID, EmotionalEntry> entriesById = emotionalEntryRepository.findAllById(
+                        ordered.stream().map(Neighbor::id).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(EmotionalEntry::getId, Function.identity()));
+        return ordered.stream()
+                .map(neighbor -> entriesById.get(neighbor.id()))
+                .filter(Objects::nonNull)
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Renseigne la cellule géographique des entrées enregistrées avant l'ajout de la colonne geo_cell
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillGeoCells() {
+        try {
+            int updated;
+            do {
+                updated = transactionTemplate.execute(status -> {
+                    List<EmotionalEntry> entries = emotionalEntryRepository
+                            .findTop500ByGeoCellIsNullAndLocationLatitudeIsNotNullAndLocationLongitudeIsNotNull();
+                    entries.forEach(EmotionalEntry::refreshGeoCell);
+                    return entries.size();
+                });
+            } while (updated > 0);
+        } catch (DataAccessException e) {
+            log.warn("Reprise des cellules géographiques interrompue : {}", e.getMessage());
+        }
+    }
+
+    @Transactional
+    public Optional<EmotionalEntryDto> updateEntry(UUID id, EmotionalEntryDto entryDto) {
+        return emotionalEntryRepository.findById(id)
+                .map(entry -> {
+                    MoodTrendService.RollupDelta delta = moodTrendService.newDelta();
+                    delta.remove(entry);
+                    applyDto(entry, entryDto);
+                    delta.add(entry);
+                    moodTrendService.apply(delta);
+                    return convertToDto(emotionalEntryRepository.save(entry));
+                });
+    }
+
+    @Transactional
+    public boolean deleteEntry(UUID id) {
+        Optional<EmotionalEntry> entry = emotionalEntryRepository.findById(id);
+        if (entry.isEmpty()) {
+            return false;
+        }
+        MoodTrendService.RollupDelta delta = moodTrendService.newDelta();
+        delta.remove(entry.get());
+        moodTrendService.apply(delta);
+        emotionalEntryRepository.delete(entry.get());
+        return true;
+    }
+
+    /**
+     * Copie les champs modifiables du DTO ; l'utilisateur et la date d'enregistrement ne changent pas après création
+     */
+    private void applyDto(EmotionalEntry entry, EmotionalEntryDto dto) {
+        entry.setEmotion(dto.getEmotion());
+        entry.setIntensity(dto.getIntensity());
+        entry.setDescription(dto.getDescription());
+        entry.setTriggers(dto.getTriggers());
+        entry.setLocationLatitude(dto.getLocationLatitude());
+        entry.setLocationLongitude(dto.getLocationLongitude());
+        entry.setWeatherCondition(dto.getWeatherCondition());
+    }
+
+    private record Neighbor(UUID id, double distanceMeters) {
+    }
+
+    private EmotionalEntryDto convertToDto(EmotionalEntry entry) {
+        EmotionalEntryDto dto = new EmotionalEntryDto();
+        dto.setId(entry.getId());
+        dto.setUserId(entry.getUser().getId());
+        dto.setEmotion(entry.getEmotion());
+        dto.setIntensity(entry.getIntensity());
+        dto.setDescription(entry.getDescription());
+        dto.setTriggers(entry.getTriggers());
+        dto.setRecordedAt(entry.getRecordedAt());
+        dto.setLocationLatitude(entry.getLocationLatitude());
+        dto.setLocationLongitude(entry.getLocationLongitude());
+        dto.setWeatherCondition(entry.getWeatherCondition());
+        return dto;
+    }
+}
@@ -1,48 +1,122 @@
 package com.decathlonminds.emotional.service;
 
+import com.decathlonminds.emotional.cache.CacheStats;
+import com.decathlonminds.emotional.cache.CollectionVersions;
+import com.decathlonminds.emotional.cache.FeedPageCache;
+import com.decathlonminds.emotional.cache.VersionedCollection;
+import com.decathlonminds.emotional.dto.CursorPage;
 import com.decathlonminds.emotional.dto.FeedPostDto;
+import com.decathlonminds.emotional.dto.PageCursor;
+import com.decathlonminds.emotional.event.ChangeType;
+import com.decathlonminds.emotional.event.FeedPostChangedEvent;
 import com.decathlonminds.emotional.model.FeedPost;
 import com.decathlonminds.emotional.model.PostType;
+import com.decathlonminds.emotional.model.SourceStatus;
 import com.decathlonminds.emotional.repository.FeedPostRepository;
 import com.decathlonminds.emotional.repository.WalkingRouteRepository;
+import com.decathlonminds.emotional.tag.TagNormalizer;
+import com.decathlonminds.emotional.validator.FeedPostValidator;
+import com.decathlonminds.emotional.validator.SourceReachabilityChecker;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class FeedService {
 
+    private static final Logger log = LoggerFactory.getLogger(FeedService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final FeedPostRepository feedPostRepository;
     private final WalkingRouteRepository walkingRouteRepository;
+    private final FeedPageCache feedPageCache;
+    private final CollectionVersions collectionVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FeedPostValidator feedPostValidator;
+    private final SourceReachabilityChecker sourceReachabilityChecker;
+    private final Duration pendingSweepAge;
+    private final int pendingSweepBatchSize;
+    // Verdicts des vérifications de sources reportés en base hors des threads du client HTTP
+    private final ExecutorService sourceVerdicts = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "feed-source-verdicts");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Autowired
-    public FeedService(FeedPostRepository feedPostRepository, WalkingRouteRepository walkingRouteRepository) {
+    public FeedService(FeedPostRepository feedPostRepository, WalkingRouteRepository walkingRouteRepository,
+                       FeedPageCache feedPageCache, CollectionVersions collectionVersions,
+                       ApplicationEventPublisher eventPublisher, FeedPostValidator feedPostValidator,
+                       SourceReachabilityChecker sourceReachabilityChecker,
+                       @Value("${feed.source-check.sweep-min-age-seconds:120}") long pendingSweepAgeSeconds,
+                       @Value("${feed.source-check.sweep-batch-size:100}") int pendingSweepBatchSize) {
         this.feedPostRepository = feedPostRepository;
         this.walkingRouteRepository = walkingRouteRepository;
+        this.feedPageCache = feedPageCache;
+        this.collectionVersions = collectionVersions;
+        this.eventPublisher = eventPublisher;
+        this.feedPostValidator = feedPostValidator;
+        this.sourceReachabilityChecker = sourceReachabilityChecker;
+        this.pendingSweepAge = Duration.ofSeconds(pendingSweepAgeSeconds);
+        this.pendingSweepBatchSize = pendingSweepBatchSize;
     }
 
-    public List<FeedPostDto> getAllPosts() {
-        return feedPostRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<FeedPostDto> getAllPosts(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        String pageCursor = normalizeCursor(cursor);
+        return feedPageCache.get(FeedPageCache.allScope(), pageCursor, pageSize, () -> fetchPage(pageCursor, pageSize,
+                feedPostRepository::findFirstPage,
+                (after, limit) -> feedPostRepository.findPageAfter(after.timestampAtUtc(), after.id(), limit)));
     }
 
-    public List<FeedPostDto> getPostsByType(PostType type) {
-        return feedPostRepository.findByTypeOrderByCreatedAtDesc(type).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<FeedPostDto> getPostsByType(PostType type, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        String pageCursor = normalizeCursor(cursor);
+        return feedPageCache.get(FeedPageCache.typeScope(type), pageCursor, pageSize, () -> fetchPage(pageCursor, pageSize,
+                limit -> feedPostRepository.findFirstPageByType(type, limit),
+                (after, limit) -> feedPostRepository.findPageByTypeAfter(type, after.timestampAtUtc(), after.id(), limit)));
     }
 
-    public List<FeedPostDto> getPostsByTag(String tag) {
-        return feedPostRepository.findByTagsContainingOrderByCreatedAtDesc(tag).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<FeedPostDto> getPostsByTag(String rawTag, String cursor, Integer size) {
+        String tag = TagNormalizer.normalize(rawTag);
+        if (tag == null) {
+            return new CursorPage<>(new ArrayList<>(), null, false);
+        }
+        int pageSize = resolvePageSize(size);
+        String pageCursor = normalizeCursor(cursor);
+        return feedPageCache.get(FeedPageCache.tagScope(tag), pageCursor, pageSize, () -> fetchPage(pageCursor, pageSize,
+                limit -> feedPostRepository.findFirstPageByTag(tag, limit),
+                (after, limit) -> feedPostRepository.findPageByTagAfter(tag, after.timestampAtUtc(), after.id(), limit)));
+    }
+
+    public CacheStats getCacheStats() {
+        return feedPageCache.stats();
     }
 
     public Optional<FeedPostDto> getPostById(UUID id) {
@@ -50,36 +124,184 @@ public class FeedService {
                 .map(this::convertToDto);
     }
 
+    /**
+     * Crée une publication après validation des règles métier (IllegalArgumentException sinon).
+     * Une source sans verdict en cache est enregistrée en attente et vérifiée après la validation de la transaction.
+     */
     @Transactional
     public FeedPostDto createPost(FeedPostDto postDto) {
+        validate(postDto);
         FeedPost post = convertToEntity(postDto);
         FeedPost savedPost = feedPostRepository.save(post);
-        return convertToDto(savedPost);
+        FeedPostDto created = convertToDto(savedPost);
+        eventPublisher.publishEvent(new FeedPostChangedEvent(ChangeType.CREATED, created.getId(), null, created));
+        return created;
     }
 
     @Transactional
     public Optional<FeedPostDto> updatePost(UUID id, FeedPostDto postDto) {
-        if (!feedPostRepository.existsById(id)) {
+        validate(postDto);
+        Optional<FeedPost> existing = feedPostRepository.findById(id);
+        if (existing.isEmpty()) {
             return Optional.empty();
         }
+        FeedPostDto previous = convertToDto(existing.get());
         
         FeedPost post = convertToEntity(postDto);
         post.setId(id);
+        post.setCreatedAt(existing.get().getCreatedAt());
         FeedPost updatedPost = feedPostRepository.save(post);
-        return Optional.of(convertToDto(updatedPost));
+        FeedPostDto updated = convertToDto(updatedPost);
+        eventPublisher.publishEvent(new FeedPostChangedEvent(ChangeType.UPDATED, id, previous, updated));
+        return Optional.of(updated);
     }
 
     @Transactional
     public boolean deletePost(UUID id) {
-        if (!feedPostRepository.existsById(id)) {
+        Optional<FeedPost> existing = feedPostRepository.findById(id);
+        if (existing.isEmpty()) {
             return false;
         }
+        FeedPostDto previous = convertToDto(existing.get());
         
-        feedPostRepository.deleteById(id);
+        feedPostRepository.delete(existing.get());
+        eventPublisher.publishEvent(new FeedPostChangedEvent(ChangeType.DELETED, id, previous, null));
         return true;
     }
 
+    /**
+     * Lance la vérification de la source d'une publication enregistrée en attente.
+     * Après la validation de la transaction : le verdict trouve toujours la ligne à mettre à jour.
+     */
+    @TransactionalEventListener
+    public void onFeedPostChanged(FeedPostChangedEvent event) {
+        FeedPostDto current = event.current();
+        if (current != null && current.getSourceStatus() == SourceStatus.PENDING) {
+            checkSource(current.getSource());
+        }
+    }
+
+    /**
+     * Relance la vérification des sources restées en attente (vérification perdue par un redémarrage,
+     * verdict non reporté après une erreur de base...)
+     */
+    @Scheduled(initialDelayString = "${feed.source-check.sweep-interval-ms:300000}",
+               fixedDelayString = "${feed.source-check.sweep-interval-ms:300000}")
+    public void sweepPendingSources() {
+        List<String> sources;
+        try {
+            sources = feedPostRepository.findPendingSources(ZonedDateTime.now().minus(pendingSweepAge),
+                    PageRequest.of(0, pendingSweepBatchSize));
+        } catch (DataAccessException e) {
+            log.warn("Lecture des sources en attente de vérification impossible : {}", e.getMessage());
+            return;
+        }
+        sources.forEach(this::checkSource);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sourceVerdicts.shutdownNow();
+    }
+
+    private void validate(FeedPostDto postDto) {
+        List<String> errors = feedPostValidator.validatePost(postDto);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join(" ; ", errors));
+        }
+    }
+
+    private void checkSource(String url) {
+        sourceReachabilityChecker.verify(url)
+                .thenAcceptAsync(status -> {
+                    // PENDING : vérification abandonnée (file de l'hôte pleine), reprise au prochain balayage
+                    if (status != SourceStatus.PENDING) {
+                        applySourceStatus(url, status);
+                    }
+                }, sourceVerdicts);
+    }
+
+    /**
+     * Reporte le verdict d'une vérification de source sur les publications encore en attente
+     */
+    private void applySourceStatus(String url, SourceStatus status) {
+        try {
+            int updated = feedPostRepository.resolvePendingSourceStatus(url, status);
+            if (updated > 0) {
+                feedPageCache.invalidateAll();
+                collectionVersions.bump(VersionedCollection.FEED);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Statut de la source {} non enregistré, repris au prochain balayage : {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Lit une page triée par (createdAt, id) décroissants.
+     * Une ligne supplémentaire est demandée pour savoir s'il existe une page suivante.
+     */
+    private CursorPage<FeedPostDto> fetchPage(String cursor, int pageSize,
+                                              Function<Pageable, List<FeedPost>> firstPage,
+                                              BiFunction<PageCursor, Pageable, List<FeedPost>> nextPage) {
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<FeedPost> posts = cursor == null
+                ? firstPage.apply(limit)
+                : nextPage.apply(PageCursor.decode(cursor), limit);
+
+        boolean hasMore = posts.size() > pageSize;
+        List<FeedPost> pagePosts = hasMore ? posts.subList(0, pageSize) : posts;
+        String nextCursor = null;
+        if (hasMore) {
+            FeedPost last = pagePosts.get(pagePosts.size() - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(convertPageToDtos(pagePosts), nextCursor, hasMore);
+    }
+
+    private String normalizeCursor(String cursor) {
+        return (cursor == null || cursor.isBlank()) ? null : cursor;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Conversion d'une page en nombre constant de requêtes : les tags de toutes les publications
+     * sont chargés en une fois, et l'identifiant du parcours est lu depuis la clé étrangère
+     * sans passer par le proxy lazy de WalkingRoute.
+     */
+    private List<FeedPostDto> convertPageToDtos(List<FeedPost> posts) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<UUID> ids = posts.stream()
+                .map(FeedPost::getId)
+                .collect(Collectors.toList());
+        Map<UUID, List<String>> tagsByPostId = new HashMap<>();
+        for (Object[] row : feedPostRepository.findTagsByPostIds(ids)) {
+            tagsByPostId.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        return posts.stream()
+                .map(post -> convertToDto(post,
+                        tagsByPostId.getOrDefault(post.getId(), new ArrayList<>()),
+                        post.getWalkingRouteId()))
+                .collect(Collectors.toList());
+    }
+
     private FeedPostDto convertToDto(FeedPost post) {
+        UUID walkingRouteId = post.getWalkingRoute() != null ? post.getWalkingRoute().getId() : null;
+        List<String> tags = post.getTags() != null ? new ArrayList<>(post.getTags()) : new ArrayList<>();
+        return convertToDto(post, tags, walkingRouteId);
+    }
+
+    private FeedPostDto convertToDto(FeedPost post, List<String> tags, UUID walkingRouteId) {
         FeedPostDto dto = new FeedPostDto();
         
         dto.setId(post.getId());
@@ -89,6 +311,7 @@ public class FeedService {
         dto.setImageUrl(post.getImageUrl());
         dto.setAuthor(post.getAuthor());
         dto.setSource(post.getSource());
+        dto.setSourceStatus(post.getSourceStatus());
         dto.setLocation(post.getLocation());
         dto.setDistance(post.getDistance());
         dto.setDuration(post.getDuration());
@@ -96,11 +319,8 @@ public class FeedService {
         dto.setBackgroundColor(post.getBackgroundColor());
         dto.setRegistrationLink(post.getRegistrationLink());
         dto.setDate(post.getDate());
-        dto.setTags(post.getTags());
-        
-        if (post.getWalkingRoute() != null) {
-            dto.setWalkingRouteId(post.getWalkingRoute().getId());
-        }
+        dto.setTags(tags);
+        dto.setWalkingRouteId(walkingRouteId);
         
         return dto;
     }
@@ -114,6 +334,7 @@ public class FeedService {
         post.setImageUrl(dto.getImageUrl());
         post.setAuthor(dto.getAuthor());
         post.setSource(dto.getSource());
+        post.setSourceStatus(dto.getSourceStatus());
         post.setLocation(dto.getLocation());
         post.setDistance(dto.getDistance());
         post.setDuration(dto.getDuration());
@@ -121,7 +342,7 @@ public class FeedService {
         post.setBackgroundColor(dto.getBackgroundColor());
         post.setRegistrationLink(dto.getRegistrationLink());
         post.setDate(dto.getDate() != null ? dto.getDate() : ZonedDateTime.now());
-        post.setTags(dto.getTags());
+        post.setTags(TagNormalizer.normalizeAll(dto.getTags()));
         
         if (dto.getWalkingRouteId() != null) {
             walkingRouteRepository.findById(dto.getWalkingRouteId())
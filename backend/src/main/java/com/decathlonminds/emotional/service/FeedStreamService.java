@@ -0,0 +1,316 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.FeedStreamEventDto;
+import com.decathlonminds.emotional.event.FeedPostChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion en temps réel (Server-Sent Events) des changements du fil d'actualité.
+ * Les connexions sont des requêtes asynchrones : aucun thread n'est réservé à un client inactif.
+ * Chaque abonné a une file bornée vidée par un pool d'envoi de taille fixe (dispatch-threads), avec au plus
+ * un envoi en cours par abonné : le nombre de threads ne dépend pas du nombre de connexions. Les abonnés
+ * prêts à recevoir attendent un thread dans une file bornée (dispatch-queue-capacity). Un abonné dont un envoi
+ * dure plus de write-timeout-ms, dont la file déborde, ou qui ne trouve plus de place dans le pool, est
+ * déconnecté et rattrape son retard en se reconnectant avec Last-Event-ID.
+ * Les derniers événements sont gardés dans un tampon circulaire pour ces reprises ; au-delà,
+ * ou après un redémarrage du serveur, le client reçoit un événement reset et recharge GET /feed.
+ */
+@Service
+public class FeedStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedStreamService.class);
+
+    public static final String READY_EVENT = "ready";
+    public static final String RESET_EVENT = "reset";
+
+    // Préfixe des identifiants d'événements : distingue les séquences de deux démarrages du serveur
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final ExecutorService dispatcher;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Tampon circulaire des derniers événements, indexé par numéro de séquence ; protégé par son propre verrou
+    private final StreamEvent[] history;
+    private long sequence;
+
+    @Autowired
+    public FeedStreamService(ObjectMapper objectMapper,
+                             @Value("${feed.stream.history-size:1000}") int historySize,
+                             @Value("${feed.stream.queue-capacity:256}") int queueCapacity,
+                             @Value("${feed.stream.timeout-minutes:30}") long timeoutMinutes,
+                             @Value("${feed.stream.write-timeout-ms:5000}") long writeTimeoutMillis,
+                             @Value("${feed.stream.dispatch-threads:16}") int dispatchThreads,
+                             @Value("${feed.stream.dispatch-queue-capacity:4096}") int dispatchQueueCapacity) {
+        this.objectMapper = objectMapper;
+        this.history = new StreamEvent[historySize];
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = Duration.ofMinutes(timeoutMinutes).toMillis();
+        this.writeTimeoutNanos = Duration.ofMillis(writeTimeoutMillis).toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        // Pool et file bornés : un envoi refusé déconnecte l'abonné (ThreadPoolExecutor.AbortPolicy)
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads,
+                1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(dispatchQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "feed-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.dispatcher = executor;
+    }
+
+    /**
+     * Ouvre un flux pour un client.
+     * Avec lastEventId, les événements manqués depuis cet identifiant sont d'abord rejoués.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Sous le verrou du tampon : aucun événement ne peut être publié entre le rejeu et l'inscription
+        synchronized (history) {
+            List<StreamEvent> missed = missedSince(lastEventId);
+            subscribers.add(subscriber);
+            if (missed == null) {
+                subscriber.offer(new StreamEvent(currentId(), RESET_EVENT, currentId()));
+            } else {
+                subscriber.offer(new StreamEvent(currentId(), READY_EVENT, currentId()));
+                missed.forEach(subscriber::offer);
+            }
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onFeedPostChanged(FeedPostChangedEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(
+                    new FeedStreamEventDto(event.changeType(), event.postId(), event.current()));
+        } catch (JsonProcessingException e) {
+            log.warn("Sérialisation de l'événement du fil impossible : {}", e.getMessage());
+            return;
+        }
+        String name = event.changeType().name().toLowerCase(Locale.ROOT);
+        synchronized (history) {
+            sequence++;
+            StreamEvent streamEvent = new StreamEvent(currentId(), name, json);
+            history[(int) (sequence % history.length)] = streamEvent;
+            subscribers.forEach(subscriber -> subscriber.offer(streamEvent));
+        }
+    }
+
+    /**
+     * Commentaire périodique : maintient les connexions ouvertes à travers les proxys
+     * et détecte les clients partis
+     */
+    @Scheduled(fixedDelayString = "${feed.stream.heartbeat-ms:20000}")
+    public void sendHeartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(StreamEvent.HEARTBEAT));
+    }
+
+    /**
+     * Déconnecte les abonnés dont l'envoi en cours dépasse write-timeout-ms. Leur thread reste bloqué
+     * jusqu'à l'échec de l'écriture côté serveur, mais ils ne reçoivent plus aucun événement ;
+     * si tous les threads du pool sont ainsi bloqués, les abonnés suivants sont déconnectés faute de place.
+     */
+    @Scheduled(fixedDelayString = "${feed.stream.write-timeout-ms:5000}")
+    public void disconnectStalledSubscribers() {
+        long now = System.nanoTime();
+        subscribers.forEach(subscriber -> {
+            if (subscriber.isStalled(now)) {
+                log.debug("Abonné au fil bloqué sur un envoi depuis plus de {} ms, déconnecté",
+                        Duration.ofNanos(writeTimeoutNanos).toMillis());
+                subscriber.close();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        dispatcher.shutdownNow();
+    }
+
+    private String currentId() {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Événements postérieurs à lastEventId ; null si la reprise est impossible
+     * (autre démarrage du serveur, identifiant invalide ou sorti du tampon)
+     */
+    private List<StreamEvent> missedSince(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        long lastSeen;
+        try {
+            lastSeen = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (lastSeen > sequence || lastSeen < sequence - history.length) {
+            return null;
+        }
+        List<StreamEvent> missed = new ArrayList<>((int) (sequence - lastSeen));
+        for (long seq = lastSeen + 1; seq <= sequence; seq++) {
+            missed.add(history[(int) (seq % history.length)]);
+        }
+        return missed;
+    }
+
+    /**
+     * Événement prêt à l'envoi ; data est déjà sérialisé, une seule fois pour tous les abonnés
+     */
+    private record StreamEvent(String id, String name, String data) {
+
+        private static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+        private SseEmitter.SseEventBuilder toSse() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("ping");
+            }
+            return SseEmitter.event().id(id).name(name).data(data);
+        }
+    }
+
+    /**
+     * Abonné et sa file d'envoi. L'émetteur n'est terminé que par le thread d'envoi :
+     * ses méthodes se synchronisent sur l'envoi en cours, qui peut être bloqué par un client lent.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<StreamEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+        // Début de l'envoi en cours (System.nanoTime), 0 si aucun
+        private volatile long writeStartedAt;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(StreamEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.debug("Abonné au fil trop lent, déconnecté après {} événements en attente", queueCapacity);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        private boolean isStalled(long now) {
+            long startedAt = writeStartedAt;
+            return startedAt != 0 && now - startedAt > writeTimeoutNanos;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Pool saturé ou arrêté : aucun envoi en cours pour cet abonné, il est terminé ici
+                    scheduled.set(false);
+                    if (!closed) {
+                        log.debug("Pool d'envoi du fil saturé, abonné déconnecté");
+                    }
+                    closed = true;
+                    subscribers.remove(this);
+                    queue.clear();
+                    complete();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                StreamEvent event;
+                while (!closed && (event = queue.poll()) != null) {
+                    long startedAt = System.nanoTime();
+                    writeStartedAt = startedAt;
+                    emitter.send(event.toSse());
+                    writeStartedAt = 0;
+                    // La latence d'écriture signale un client lent, avant même que sa file ne déborde
+                    if (System.nanoTime() - startedAt > writeTimeoutNanos) {
+                        log.debug("Envoi au fil trop lent, abonné déconnecté");
+                        close();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client parti ou flux déjà terminé
+                close();
+            } finally {
+                writeStartedAt = 0;
+                scheduled.set(false);
+            }
+            if (closed) {
+                complete();
+            } else if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        /**
+         * Retire l'abonné ; l'émetteur est terminé par le thread d'envoi, dès que l'envoi en cours s'achève
+         */
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            schedule();
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.MoodTrendBucketDto;
+import com.decathlonminds.emotional.dto.MoodTrendDto;
+import com.decathlonminds.emotional.model.EmotionDailyRollup;
+import com.decathlonminds.emotional.model.EmotionType;
+import com.decathlonminds.emotional.model.EmotionalEntry;
+import com.decathlonminds.emotional.model.IntensityLevel;
+import com.decathlonminds.emotional.model.TrendGranularity;
+import com.decathlonminds.emotional.repository.EmotionDailyRollupRepository;
+import com.decathlonminds.emotional.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Tendances d'humeur lues depuis les agrégats quotidiens (emotion_daily_rollups),
+ * tenus à jour dans la même transaction que les écritures d'états émotionnels.
+ */
+@Service
+public class MoodTrendService {
+
+    private static final String UPSERT_ROLLUP_SQL =
+            "INSERT INTO emotion_daily_rollups (id, user_id, day, emotion, entry_count, low_count, medium_count, high_count) " +
+            "VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, day, emotion) DO UPDATE SET " +
+            "entry_count = emotion_daily_rollups.entry_count + EXCLUDED.entry_count, " +
+            "low_count = emotion_daily_rollups.low_count + EXCLUDED.low_count, " +
+            "medium_count = emotion_daily_rollups.medium_count + EXCLUDED.medium_count, " +
+            "high_count = emotion_daily_rollups.high_count + EXCLUDED.high_count";
+
+    private final EmotionDailyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId zoneId;
+
+    @Autowired
+    public MoodTrendService(EmotionDailyRollupRepository rollupRepository,
+                            UserRepository userRepository,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${app.time-zone:Europe/Paris}") ZoneId zoneId) {
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.zoneId = zoneId;
+    }
+
+    public RollupDelta newDelta() {
+        return new RollupDelta();
+    }
+
+    /**
+     * Applique les variations aux agrégats quotidiens, en un seul lot JDBC.
+     * Doit être appelé dans la transaction qui écrit les états émotionnels.
+     */
+    public void apply(RollupDelta delta) {
+        List<Object[]> rows = new ArrayList<>(delta.counts.size());
+        delta.counts.forEach((key, intensities) -> {
+            if (intensities[0] == 0 && intensities[1] == 0 && intensities[2] == 0) {
+                return;
+            }
+            rows.add(new Object[] {
+                    key.userId(),
+                    Date.valueOf(key.day()),
+                    key.emotion().name(),
+                    intensities[0] + intensities[1] + intensities[2],
+                    intensities[IntensityLevel.LOW.ordinal()],
+                    intensities[IntensityLevel.MEDIUM.ordinal()],
+                    intensities[IntensityLevel.HIGH.ordinal()]
+            });
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, rows);
+        }
+    }
+
+    /**
+     * Évolution de l'humeur d'un utilisateur entre deux dates incluses
+     * @return les tendances, ou vide si l'utilisateur n'existe pas
+     */
+    public Optional<MoodTrendDto> getTrends(UUID userId, TrendGranularity granularity,
+                                            LocalDate startDate, LocalDate endDate) {
+        if (!userRepository.existsById(userId)) {
+            return Optional.empty();
+        }
+
+        LocalDate end = endDate != null ? endDate : LocalDate.now(zoneId);
+        LocalDate start = startDate != null ? startDate : end.minusYears(1);
+        Map<LocalDate, MoodTrendBucketDto> buckets = new TreeMap<>();
+        for (EmotionDailyRollup rollup : rollupRepository.findByUserIdAndDayBetweenOrderByDayAsc(userId, start, end)) {
+            if (rollup.getEntryCount() <= 0) {
+                continue;
+            }
+            LocalDate periodStart = periodStart(rollup.getDay(), granularity);
+            MoodTrendBucketDto bucket = buckets.computeIfAbsent(periodStart, day -> {
+                MoodTrendBucketDto created = new MoodTrendBucketDto();
+                created.setPeriodStart(day);
+                return created;
+            });
+            bucket.setTotalEntries(bucket.getTotalEntries() + rollup.getEntryCount());
+            bucket.getEmotionCounts().merge(rollup.getEmotion(), rollup.getEntryCount(), Integer::sum);
+            bucket.getIntensityHistogram().merge(IntensityLevel.LOW, rollup.getLowCount(), Integer::sum);
+            bucket.getIntensityHistogram().merge(IntensityLevel.MEDIUM, rollup.getMediumCount(), Integer::sum);
+            bucket.getIntensityHistogram().merge(IntensityLevel.HIGH, rollup.getHighCount(), Integer::sum);
+        }
+
+        return Optional.of(new MoodTrendDto(userId, granularity, start, end, new ArrayList<>(buckets.values())));
+    }
+
+    private LocalDate periodStart(LocalDate day, TrendGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Variations à appliquer aux agrégats, regroupées par (utilisateur, jour, émotion)
+     */
+    public class RollupDelta {
+
+        private final Map<RollupKey, int[]> counts = new HashMap<>();
+
+        public void add(EmotionalEntry entry) {
+            accumulate(entry, 1);
+        }
+
+        public void remove(EmotionalEntry entry) {
+            accumulate(entry, -1);
+        }
+
+        private void accumulate(EmotionalEntry entry, int sign) {
+            LocalDate day = entry.getRecordedAt().withZoneSameInstant(zoneId).toLocalDate();
+            int[] intensities = counts.computeIfAbsent(new RollupKey(entry.getUser().getId(), day, entry.getEmotion()),
+                    key -> new int[IntensityLevel.values().length]);
+            intensities[entry.getIntensity().ordinal()] += sign;
+        }
+    }
+
+    private record RollupKey(UUID userId, LocalDate day, EmotionType emotion) {
+    }
+}
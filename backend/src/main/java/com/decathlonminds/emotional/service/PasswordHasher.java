@@ -0,0 +1,65 @@
+package com.decathlonminds.emotional.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Hachage des mots de passe par PBKDF2-HMAC-SHA256, avec un sel aléatoire par mot de passe.
+ * Le résultat porte l'algorithme et le nombre d'itérations : « pbkdf2_sha256$itérations$sel$hash »,
+ * ce qui permet d'augmenter users.password.iterations sans invalider les hachages existants.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String PREFIX = "pbkdf2_sha256";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+
+    public PasswordHasher(@Value("${users.password.iterations:310000}") int iterations) {
+        this.iterations = iterations;
+    }
+
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(password, salt, iterations));
+    }
+
+    public boolean matches(String password, String encoded) {
+        String[] parts = encoded != null ? encoded.split("\\$") : new String[0];
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return false;
+        }
+        try {
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, Integer.parseInt(parts[1])));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Hachage du mot de passe impossible", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
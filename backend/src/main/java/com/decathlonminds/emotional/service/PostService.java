@@ -1,13 +1,26 @@
 package com.decathlonminds.emotional.service;
 
+import com.decathlonminds.emotional.dto.PageResult;
 import com.decathlonminds.emotional.dto.PostDTO;
+import com.decathlonminds.emotional.dto.PostSummaryDTO;
+import com.decathlonminds.emotional.event.ChangeType;
+import com.decathlonminds.emotional.event.PostChangedEvent;
 import com.decathlonminds.emotional.model.Post;
 import com.decathlonminds.emotional.repository.PostRepository;
+import com.decathlonminds.emotional.tag.TagNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -16,17 +29,18 @@ import java.util.stream.Collectors;
 public class PostService {
 
     private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PostService(PostRepository postRepository) {
+    public PostService(PostRepository postRepository, ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    // Récupérer tous les posts
-    public List<PostDTO> getAllPosts() {
-        return postRepository.findAll().stream()
-                .map(PostDTO::new)
-                .collect(Collectors.toList());
+    // Récupérer tous les posts (version allégée, page par page)
+    @Transactional(readOnly = true)
+    public PageResult<PostSummaryDTO> getAllPosts(int page, int size) {
+        return toPageResult(postRepository.findSummaries(pageOf(page, size)));
     }
 
     // Récupérer un post par ID
@@ -39,7 +53,10 @@ public class PostService {
     @Transactional
     public PostDTO createPost(PostDTO postDTO) {
         Post post = postDTO.toEntity();
+        post.setTags(TagNormalizer.normalizeToSet(postDTO.getTags()));
         Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(ChangeType.CREATED, savedPost.getId(),
+                Set.of(), new HashSet<>(savedPost.getTags())));
         return new PostDTO(savedPost);
     }
 
@@ -48,6 +65,7 @@ public class PostService {
     public Optional<PostDTO> updatePost(UUID id, PostDTO postDTO) {
         return postRepository.findById(id)
                 .map(existingPost -> {
+                    Set<String> previousTags = new HashSet<>(existingPost.getTags());
                     // Mise à jour des champs
                     existingPost.setType(postDTO.getType());
                     existingPost.setTitle(postDTO.getTitle());
@@ -64,9 +82,11 @@ public class PostService {
                     existingPost.setRegistrationLink(postDTO.getRegistrationLink());
                     existingPost.setEmotion(postDTO.getEmotion());
                     existingPost.setCause(postDTO.getCause());
-                    existingPost.setTags(postDTO.getTags());
+                    existingPost.setTags(TagNormalizer.normalizeToSet(postDTO.getTags()));
                     
                     Post updatedPost = postRepository.save(existingPost);
+                    eventPublisher.publishEvent(new PostChangedEvent(ChangeType.UPDATED, id,
+                            previousTags, new HashSet<>(updatedPost.getTags())));
                     return new PostDTO(updatedPost);
                 });
     }
@@ -74,45 +94,63 @@ public class PostService {
     // Supprimer un post
     @Transactional
     public boolean deletePost(UUID id) {
-        if (postRepository.existsById(id)) {
-            postRepository.deleteById(id);
-            return true;
+        Optional<Post> existing = postRepository.findById(id);
+        if (existing.isEmpty()) {
+            return false;
         }
-        return false;
+        Set<String> previousTags = new HashSet<>(existing.get().getTags());
+        postRepository.delete(existing.get());
+        eventPublisher.publishEvent(new PostChangedEvent(ChangeType.DELETED, id, previousTags, Set.of()));
+        return true;
     }
 
-    // Filtrer les posts par émotion, cause et type
-    public List<PostDTO> getFilteredPosts(String emotion, String cause, String type) {
-        return postRepository.findByFilters(emotion, cause, type).stream()
-                .map(PostDTO::new)
-                .collect(Collectors.toList());
+    // Filtrer les posts par émotion, cause et type (page par page, du plus récent au plus ancien)
+    @Transactional(readOnly = true)
+    public PageResult<PostSummaryDTO> getFilteredPosts(String emotion, String cause, String type, int page, int size) {
+        return toPageResult(postRepository.findByFilters(emotion, cause, type, pageOf(page, size)));
     }
 
     // Trouver les posts par type
-    public List<PostDTO> getPostsByType(String type) {
-        return postRepository.findByType(type).stream()
-                .map(PostDTO::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResult<PostSummaryDTO> getPostsByType(String type, int page, int size) {
+        return toPageResult(postRepository.findSummariesByType(type, pageOf(page, size)));
     }
 
     // Trouver les posts par émotion
-    public List<PostDTO> getPostsByEmotion(String emotion) {
-        return postRepository.findByEmotion(emotion).stream()
-                .map(PostDTO::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResult<PostSummaryDTO> getPostsByEmotion(String emotion, int page, int size) {
+        return toPageResult(postRepository.findSummariesByEmotion(emotion, pageOf(page, size)));
     }
 
     // Trouver les posts par cause
-    public List<PostDTO> getPostsByCause(String cause) {
-        return postRepository.findByCause(cause).stream()
-                .map(PostDTO::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResult<PostSummaryDTO> getPostsByCause(String cause, int page, int size) {
+        return toPageResult(postRepository.findSummariesByCause(cause, pageOf(page, size)));
     }
 
-    // Trouver les posts par tag
-    public List<PostDTO> getPostsByTag(String tag) {
-        return postRepository.findByTag(tag).stream()
-                .map(PostDTO::new)
-                .collect(Collectors.toList());
+    // Trouver les posts par tag (normalisé comme à l'écriture)
+    @Transactional(readOnly = true)
+    public PageResult<PostSummaryDTO> getPostsByTag(String tag, int page, int size) {
+        return toPageResult(postRepository.findSummariesByTag(TagNormalizer.normalize(tag), pageOf(page, size)));
+    }
+
+    private Pageable pageOf(int page, int size) {
+        return PageRequest.of(page, size);
+    }
+
+    // Complète une page de résumés avec leurs tags, chargés en une seule requête
+    private PageResult<PostSummaryDTO> toPageResult(Page<PostSummaryDTO> posts) {
+        List<PostSummaryDTO> items = posts.getContent();
+        if (!items.isEmpty()) {
+            List<UUID> ids = items.stream()
+                    .map(PostSummaryDTO::getId)
+                    .collect(Collectors.toList());
+            Map<UUID, Set<String>> tagsByPostId = new HashMap<>();
+            for (Object[] row : postRepository.findTagsByPostIds(ids)) {
+                tagsByPostId.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((String) row[1]);
+            }
+            items.forEach(item -> item.setTags(tagsByPostId.getOrDefault(item.getId(), new HashSet<>())));
+        }
+        return new PageResult<>(items, posts.getNumber(), posts.getSize(), posts.getTotalElements(), posts.getTotalPages());
     }
 }
@@ -0,0 +1,245 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.model.ChatEmotion;
+import com.decathlonminds.emotional.model.ChatReason;
+import com.decathlonminds.emotional.model.QuoteSelection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Citations rassurantes du chatbot, chargées depuis un fichier JSON (chat.quotes.location).
+ * Les citations sont rangées dans une table émotion × raison dont chaque case est résolue au
+ * chargement, repli compris : (émotion, raison), puis (émotion, toute raison), (toute émotion,
+ * raison) et enfin la citation par défaut. Une recherche se résume à deux accès indexés.
+ * Le fichier est relu périodiquement s'il a changé, ou à la demande ; la nouvelle table remplace
+ * l'ancienne atomiquement, et un fichier invalide laisse la table courante en place.
+ */
+@Service
+public class ReassuranceQuoteEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ReassuranceQuoteEngine.class);
+
+    private static final String FALLBACK_QUOTE =
+            "Chaque émotion a sa valeur et son message. Écoutez ce que celle-ci veut vous dire.";
+
+    private final ObjectMapper objectMapper;
+    private final Resource location;
+    private final QuoteSelection selection;
+    private final AtomicReference<Table> table = new AtomicReference<>(Table.EMPTY);
+    private volatile long loadedLastModified = -1;
+
+    @Autowired
+    public ReassuranceQuoteEngine(ObjectMapper objectMapper,
+                                  @Value("${chat.quotes.location:classpath:quotes/reassurance-quotes.json}") Resource location,
+                                  @Value("${chat.quotes.selection:WEIGHTED}") QuoteSelection selection) {
+        this.objectMapper = objectMapper;
+        this.location = location;
+        this.selection = selection;
+        try {
+            reload();
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Chargement des citations impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Citation pour une émotion et une raison transmises telles quelles par le client ;
+     * les valeurs inconnues ou absentes se replient sur les cases plus générales
+     */
+    public String quote(String emotion, String reason) {
+        ChatEmotion chatEmotion = ChatEmotion.fromName(emotion);
+        ChatReason chatReason = ChatReason.fromName(reason);
+        Cell cell = table.get().cells[chatEmotion == null ? 0 : chatEmotion.ordinal() + 1]
+                [chatReason == null ? 0 : chatReason.ordinal() + 1];
+        return cell == null ? FALLBACK_QUOTE : cell.pick(selection);
+    }
+
+    public int size() {
+        return table.get().size;
+    }
+
+    /**
+     * Relit le fichier de citations et remplace la table courante
+     * @return le nombre de citations chargées
+     */
+    public synchronized int reload() throws IOException {
+        long lastModified = lastModified();
+        QuoteFile file;
+        try (InputStream in = location.getInputStream()) {
+            file = objectMapper.readValue(in, QuoteFile.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Fichier de citations invalide : " + e.getOriginalMessage());
+        }
+        Table next = Table.build(file.quotes() != null ? file.quotes() : List.of());
+        table.set(next);
+        loadedLastModified = lastModified;
+        log.debug("{} citations chargées depuis {}", next.size, location.getDescription());
+        return next.size;
+    }
+
+    /**
+     * Rechargement à chaud : le fichier n'est relu que si sa date de modification a changé
+     */
+    @Scheduled(initialDelayString = "${chat.quotes.refresh-interval-ms:60000}",
+               fixedDelayString = "${chat.quotes.refresh-interval-ms:60000}")
+    public void reloadIfModified() {
+        long lastModified = lastModified();
+        if (lastModified > 0 && lastModified == loadedLastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Rechargement des citations impossible, les citations actuelles sont conservées : {}",
+                    e.getMessage());
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return location.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    record QuoteFile(List<QuoteEntry> quotes) {
+    }
+
+    /**
+     * Une citation du fichier ; emotion ou reason absente signifie « toutes »
+     */
+    record QuoteEntry(String emotion, String reason, Integer weight, String text) {
+    }
+
+    /**
+     * Citations d'une case, avec les poids cumulés pour le tirage pondéré
+     */
+    private static final class Cell {
+
+        private final String[] quotes;
+        private final int[] cumulativeWeights;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Cell(List<String> quotes, List<Integer> weights) {
+            this.quotes = quotes.toArray(new String[0]);
+            this.cumulativeWeights = new int[weights.size()];
+            int total = 0;
+            for (int i = 0; i < weights.size(); i++) {
+                total += weights.get(i);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        private String pick(QuoteSelection selection) {
+            if (quotes.length == 1) {
+                return quotes[0];
+            }
+            if (selection == QuoteSelection.ROUND_ROBIN) {
+                return quotes[Math.floorMod(cursor.getAndIncrement(), quotes.length)];
+            }
+            int target = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, target + 1);
+            return quotes[index >= 0 ? index : -index - 1];
+        }
+    }
+
+    /**
+     * Table immuable [émotion + 1][raison + 1] ; l'indice 0 représente « toutes »
+     */
+    private static final class Table {
+
+        private static final Table EMPTY = new Table(new Cell[ChatEmotion.values().length + 1][ChatReason.values().length + 1], 0);
+
+        private final Cell[][] cells;
+        private final int size;
+
+        private Table(Cell[][] cells, int size) {
+            this.cells = cells;
+            this.size = size;
+        }
+
+        private static Table build(List<QuoteEntry> entries) {
+            int emotions = ChatEmotion.values().length + 1;
+            int reasons = ChatReason.values().length + 1;
+            List<List<String>> quotes = new ArrayList<>();
+            List<List<Integer>> weights = new ArrayList<>();
+            for (int i = 0; i < emotions * reasons; i++) {
+                quotes.add(new ArrayList<>());
+                weights.add(new ArrayList<>());
+            }
+
+            for (QuoteEntry entry : entries) {
+                if (entry.text() == null || entry.text().isBlank()) {
+                    throw new IllegalArgumentException("Citation sans texte");
+                }
+                int weight = entry.weight() != null ? entry.weight() : 1;
+                if (weight <= 0) {
+                    throw new IllegalArgumentException("Poids invalide pour la citation : " + entry.text());
+                }
+                int emotion = 0;
+                if (entry.emotion() != null) {
+                    ChatEmotion value = ChatEmotion.fromName(entry.emotion());
+                    if (value == null) {
+                        throw new IllegalArgumentException("Émotion inconnue : " + entry.emotion());
+                    }
+                    emotion = value.ordinal() + 1;
+                }
+                int reason = 0;
+                if (entry.reason() != null) {
+                    ChatReason value = ChatReason.fromName(entry.reason());
+                    if (value == null) {
+                        throw new IllegalArgumentException("Raison inconnue : " + entry.reason());
+                    }
+                    reason = value.ordinal() + 1;
+                }
+                quotes.get(emotion * reasons + reason).add(entry.text());
+                weights.get(emotion * reasons + reason).add(weight);
+            }
+
+            Cell[][] own = new Cell[emotions][reasons];
+            for (int e = 0; e < emotions; e++) {
+                for (int r = 0; r < reasons; r++) {
+                    List<String> cellQuotes = quotes.get(e * reasons + r);
+                    if (!cellQuotes.isEmpty()) {
+                        own[e][r] = new Cell(cellQuotes, weights.get(e * reasons + r));
+                    }
+                }
+            }
+
+            Cell[][] resolved = new Cell[emotions][reasons];
+            for (int e = 0; e < emotions; e++) {
+                for (int r = 0; r < reasons; r++) {
+                    Cell cell = own[e][r];
+                    if (cell == null) {
+                        cell = own[e][0];
+                    }
+                    if (cell == null) {
+                        cell = own[0][r];
+                    }
+                    if (cell == null) {
+                        cell = own[0][0];
+                    }
+                    resolved[e][r] = cell;
+                }
+            }
+            return new Table(resolved, entries.size());
+        }
+    }
+}
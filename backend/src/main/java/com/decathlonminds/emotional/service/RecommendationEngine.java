@@ -0,0 +1,187 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.EmotionalRecommendationDto;
+import com.decathlonminds.emotional.model.EmotionType;
+import com.decathlonminds.emotional.model.EmotionalRecommendation;
+import com.decathlonminds.emotional.model.IntensityLevel;
+import com.decathlonminds.emotional.model.WeatherCondition;
+import com.decathlonminds.emotional.repository.EmotionalRecommendationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Moteur de recommandations de parcours. L'ensemble des recommandations est chargé en mémoire
+ * dans un instantané immuable indexé par émotion, intensité et météo ; une recherche se résume
+ * à trois accès indexés, sans requête SQL ni allocation. Un nouvel instantané est construit à
+ * côté puis substitué atomiquement lors d'un rechargement.
+ */
+@Service
+public class RecommendationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationEngine.class);
+
+    private final EmotionalRecommendationRepository recommendationRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    @Autowired
+    public RecommendationEngine(EmotionalRecommendationRepository recommendationRepository) {
+        this.recommendationRepository = recommendationRepository;
+    }
+
+    /**
+     * Recommandations adaptées à un état émotionnel et, si elle est connue, à la météo courante.
+     * Les listes renvoyées sont partagées entre les appels et ne doivent pas être modifiées.
+     */
+    public List<EmotionalRecommendationDto> recommend(EmotionType emotion, IntensityLevel intensity,
+                                                      WeatherCondition weather) {
+        Slot slot = snapshot.get().slot(emotion, intensity);
+        if (slot == null) {
+            return Collections.emptyList();
+        }
+        return weather != null ? slot.byWeather.get(weather.ordinal()) : slot.all;
+    }
+
+    public int size() {
+        return snapshot.get().size;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Chargement des recommandations impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rafraîchissement périodique, pour prendre en compte les modifications faites directement en base
+     */
+    @Scheduled(initialDelayString = "${recommendations.refresh-interval-ms:300000}",
+               fixedDelayString = "${recommendations.refresh-interval-ms:300000}")
+    public void scheduledReload() {
+        loadOnStartup();
+    }
+
+    /**
+     * Recharge toutes les recommandations et remplace l'instantané courant
+     * @return le nombre de recommandations chargées
+     */
+    public int reload() {
+        Snapshot next = Snapshot.build(recommendationRepository.findAllWithRoute());
+        snapshot.set(next);
+        log.debug("{} recommandations chargées", next.size);
+        return next.size;
+    }
+
+    private static int weatherMask(String[] labels) {
+        if (labels == null || labels.length == 0) {
+            return WeatherCondition.ANY_MASK;
+        }
+        int mask = 0;
+        for (String label : labels) {
+            WeatherCondition condition = WeatherCondition.fromLabel(label);
+            if (condition != null) {
+                mask |= condition.mask();
+            }
+        }
+        return mask;
+    }
+
+    private static EmotionalRecommendationDto convertToDto(EmotionalRecommendation recommendation) {
+        EmotionalRecommendationDto dto = new EmotionalRecommendationDto();
+        dto.setId(recommendation.getId());
+        dto.setEmotion(recommendation.getEmotion());
+        dto.setIntensity(recommendation.getIntensity());
+        dto.setRouteId(recommendation.getRoute().getId());
+        dto.setRouteName(recommendation.getRoute().getName());
+        dto.setRecommendationText(recommendation.getRecommendationText());
+        dto.setScientificBenefits(recommendation.getScientificBenefits() != null
+                ? Collections.unmodifiableList(Arrays.asList(recommendation.getScientificBenefits())) : List.of());
+        dto.setWeatherConditions(recommendation.getWeatherConditions() != null
+                ? Collections.unmodifiableList(Arrays.asList(recommendation.getWeatherConditions())) : List.of());
+        return dto;
+    }
+
+    /**
+     * Recommandations d'un couple (émotion, intensité), avec une liste précalculée par condition météo
+     */
+    private static final class Slot {
+
+        private final List<EmotionalRecommendationDto> all;
+        private final List<List<EmotionalRecommendationDto>> byWeather;
+
+        private Slot(List<EmotionalRecommendationDto> recommendations, int[] weatherMasks) {
+            this.all = List.copyOf(recommendations);
+            WeatherCondition[] conditions = WeatherCondition.values();
+            List<List<EmotionalRecommendationDto>> lists = new ArrayList<>(conditions.length);
+            for (WeatherCondition condition : conditions) {
+                List<EmotionalRecommendationDto> matching = new ArrayList<>();
+                for (int i = 0; i < weatherMasks.length; i++) {
+                    if ((weatherMasks[i] & condition.mask()) != 0) {
+                        matching.add(recommendations.get(i));
+                    }
+                }
+                lists.add(List.copyOf(matching));
+            }
+            this.byWeather = List.copyOf(lists);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new EnumMap<>(EmotionType.class), 0);
+
+        private final Map<EmotionType, Map<IntensityLevel, Slot>> slots;
+        private final int size;
+
+        private Snapshot(Map<EmotionType, Map<IntensityLevel, Slot>> slots, int size) {
+            this.slots = slots;
+            this.size = size;
+        }
+
+        private Slot slot(EmotionType emotion, IntensityLevel intensity) {
+            Map<IntensityLevel, Slot> byIntensity = slots.get(emotion);
+            return byIntensity != null ? byIntensity.get(intensity) : null;
+        }
+
+        private static Snapshot build(List<EmotionalRecommendation> recommendations) {
+            Map<EmotionType, Map<IntensityLevel, List<EmotionalRecommendation>>> grouped = new EnumMap<>(EmotionType.class);
+            for (EmotionalRecommendation recommendation : recommendations) {
+                grouped.computeIfAbsent(recommendation.getEmotion(), emotion -> new EnumMap<>(IntensityLevel.class))
+                        .computeIfAbsent(recommendation.getIntensity(), intensity -> new ArrayList<>())
+                        .add(recommendation);
+            }
+
+            Map<EmotionType, Map<IntensityLevel, Slot>> slots = new EnumMap<>(EmotionType.class);
+            grouped.forEach((emotion, byIntensity) -> {
+                Map<IntensityLevel, Slot> intensitySlots = new EnumMap<>(IntensityLevel.class);
+                byIntensity.forEach((intensity, group) -> {
+                    List<EmotionalRecommendationDto> dtos = new ArrayList<>(group.size());
+                    int[] masks = new int[group.size()];
+                    for (int i = 0; i < group.size(); i++) {
+                        dtos.add(convertToDto(group.get(i)));
+                        masks[i] = weatherMask(group.get(i).getWeatherConditions());
+                    }
+                    intensitySlots.put(intensity, new Slot(dtos, masks));
+                });
+                slots.put(emotion, intensitySlots);
+            });
+            return new Snapshot(slots, recommendations.size());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.PageResult;
+import com.decathlonminds.emotional.dto.SearchResultDto;
+import com.decathlonminds.emotional.model.SearchSource;
+import com.decathlonminds.emotional.repository.TextSearchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class SearchService {
+
+    private final TextSearchRepository textSearchRepository;
+
+    @Autowired
+    public SearchService(TextSearchRepository textSearchRepository) {
+        this.textSearchRepository = textSearchRepository;
+    }
+
+    /**
+     * Recherche plein texte (français, avec racinisation) dans les posts et le fil d'actualité,
+     * résultats triés par pertinence puis du plus récent au plus ancien. Seules les correspondances
+     * les plus récentes de chaque origine sont classées (TextSearchRepository.CANDIDATES_PER_SOURCE)
+     * @param source origine à interroger, ou null pour toutes
+     */
+    public PageResult<SearchResultDto> search(String text, SearchSource source, int page, int size) {
+        Set<SearchSource> sources = source != null ? EnumSet.of(source) : EnumSet.allOf(SearchSource.class);
+        String query = text.trim();
+        TextSearchRepository.SearchHits hits = textSearchRepository.search(query, sources, page * size, size);
+        List<SearchResultDto> items = hits.items();
+        long total = (items.isEmpty() && page > 0)
+                ? textSearchRepository.count(query, sources)
+                : hits.total();
+        int totalPages = (int) ((total + size - 1) / size);
+        return new PageResult<>(items, page, size, total, totalPages);
+    }
+}
@@ -0,0 +1,91 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.TagCountDto;
+import com.decathlonminds.emotional.dto.TagDto;
+import com.decathlonminds.emotional.model.SearchSource;
+import com.decathlonminds.emotional.tag.TagIndex;
+import com.decathlonminds.emotional.tag.TagNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class TagService {
+
+    private static final Logger log = LoggerFactory.getLogger(TagService.class);
+
+    private final TagIndex tagIndex;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TagService(TagIndex tagIndex, JdbcTemplate jdbcTemplate) {
+        this.tagIndex = tagIndex;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Charge l'index des tags au démarrage ; il est ensuite tenu à jour par les événements
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTagIndex() {
+        try {
+            List<TagIndex.TagPosting> postings = new ArrayList<>();
+            jdbcTemplate.query("SELECT post_id, tag FROM post_tags", (RowCallbackHandler) rs -> {
+                postings.add(new TagIndex.TagPosting(SearchSource.POST, rs.getObject(1, UUID.class), rs.getString(2)));
+            });
+            jdbcTemplate.query("SELECT post_id, tag FROM feed_post_tags", (RowCallbackHandler) rs -> {
+                postings.add(new TagIndex.TagPosting(SearchSource.FEED_POST, rs.getObject(1, UUID.class), rs.getString(2)));
+            });
+            tagIndex.rebuild(postings);
+            log.debug("{} tags indexés", tagIndex.size());
+        } catch (DataAccessException e) {
+            log.warn("Chargement de l'index des tags impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Tags commençant par le préfixe saisi, les plus utilisés d'abord
+     */
+    public List<TagCountDto> autocomplete(String prefix, int limit) {
+        String normalized = TagNormalizer.normalize(prefix);
+        if (normalized == null) {
+            return new ArrayList<>();
+        }
+        return toDtos(tagIndex.complete(normalized, limit));
+    }
+
+    public List<TagCountDto> getPopularTags(int limit) {
+        return toDtos(tagIndex.mostUsed(limit));
+    }
+
+    public Optional<TagDto> getTag(String tag) {
+        String normalized = TagNormalizer.normalize(tag);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        List<UUID> postIds = tagIndex.postings(normalized, SearchSource.POST);
+        List<UUID> feedPostIds = tagIndex.postings(normalized, SearchSource.FEED_POST);
+        if (postIds.isEmpty() && feedPostIds.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new TagDto(normalized, postIds.size() + feedPostIds.size(), postIds, feedPostIds));
+    }
+
+    private List<TagCountDto> toDtos(List<TagIndex.TagCount> counts) {
+        return counts.stream()
+                .map(count -> new TagCountDto(count.tag(), count.count()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,154 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.cache.LruTtlCache;
+import com.decathlonminds.emotional.dto.PageResult;
+import com.decathlonminds.emotional.dto.UserDto;
+import com.decathlonminds.emotional.event.ChangeType;
+import com.decathlonminds.emotional.event.UserChangedEvent;
+import com.decathlonminds.emotional.model.User;
+import com.decathlonminds.emotional.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Comptes utilisateurs. L'inscription tient en une instruction : l'unicité de l'email est vérifiée
+ * par la contrainte de la table (ON CONFLICT DO NOTHING), sans lecture préalable.
+ * Les utilisateurs lus par identifiant sont gardés dans un cache LRU borné, invalidé
+ * après chaque création, modification ou suppression.
+ */
+@Service
+public class UserService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (id, email, password_hash, first_name, last_name, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (email) DO NOTHING";
+
+    private static final Sort ADMIN_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordHasher passwordHasher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final LruTtlCache<UUID, UserDto> users;
+
+    @Autowired
+    public UserService(UserRepository userRepository,
+                       JdbcTemplate jdbcTemplate,
+                       PasswordHasher passwordHasher,
+                       ApplicationEventPublisher eventPublisher,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${users.cache.max-entries:10000}") int maxEntries,
+                       @Value("${users.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHasher = passwordHasher;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.users = new LruTtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Crée un compte. Le mot de passe est haché avant d'ouvrir la transaction :
+     * la connexion n'est tenue que le temps de l'insertion.
+     * @return l'utilisateur créé, ou vide si l'email est déjà utilisé
+     */
+    public Optional<UserDto> register(UserDto userDto) {
+        UUID id = UUID.randomUUID();
+        String email = userDto.getEmail().trim();
+        String passwordHash = passwordHasher.hash(userDto.getPassword());
+        OffsetDateTime now = OffsetDateTime.now();
+        Boolean inserted = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(INSERT_SQL, id, email, passwordHash,
+                    userDto.getFirstName(), userDto.getLastName(), now, now) == 0) {
+                return false;
+            }
+            eventPublisher.publishEvent(new UserChangedEvent(ChangeType.CREATED, id));
+            return true;
+        });
+        if (!Boolean.TRUE.equals(inserted)) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserDto(id, email, null, userDto.getFirstName(), userDto.getLastName()));
+    }
+
+    public Optional<UserDto> getUserById(UUID id) {
+        UserDto user = users.get(id, () -> userRepository.findById(id).map(this::convertToDto).orElse(null));
+        return Optional.ofNullable(user).map(this::copy);
+    }
+
+    /**
+     * Liste des utilisateurs pour l'administration, les plus récents d'abord
+     */
+    @Transactional(readOnly = true)
+    public PageResult<UserDto> getAllUsers(int page, int size) {
+        Page<User> result = userRepository.findAll(PageRequest.of(page, size, ADMIN_ORDER));
+        List<UserDto> items = result.getContent().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return new PageResult<>(items, page, size, result.getTotalElements(), result.getTotalPages());
+    }
+
+    /**
+     * Met à jour un compte ; un email déjà utilisé par un autre compte lève DataIntegrityViolationException
+     */
+    public Optional<UserDto> updateUser(UUID id, UserDto userDto) {
+        String passwordHash = passwordHasher.hash(userDto.getPassword());
+        return transactionTemplate.execute(status -> userRepository.findById(id)
+                .map(user -> {
+                    user.setEmail(userDto.getEmail().trim());
+                    user.setPasswordHash(passwordHash);
+                    user.setFirstName(userDto.getFirstName());
+                    user.setLastName(userDto.getLastName());
+                    UserDto updated = convertToDto(userRepository.saveAndFlush(user));
+                    eventPublisher.publishEvent(new UserChangedEvent(ChangeType.UPDATED, id));
+                    return updated;
+                }));
+    }
+
+    /**
+     * Supprime un compte ; un compte encore référencé (états émotionnels, conversations)
+     * lève DataIntegrityViolationException
+     */
+    @Transactional
+    public boolean deleteUser(UUID id) {
+        Optional<User> existing = userRepository.findById(id);
+        if (existing.isEmpty()) {
+            return false;
+        }
+        userRepository.delete(existing.get());
+        userRepository.flush();
+        eventPublisher.publishEvent(new UserChangedEvent(ChangeType.DELETED, id));
+        return true;
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        users.invalidate(event.userId());
+    }
+
+    private UserDto convertToDto(User user) {
+        return new UserDto(user.getId(), user.getEmail(), null, user.getFirstName(), user.getLastName());
+    }
+
+    // Les DTO sont modifiables : le cache n'en expose que des copies
+    private UserDto copy(UserDto user) {
+        return new UserDto(user.getId(), user.getEmail(), null, user.getFirstName(), user.getLastName());
+    }
+}
@@ -0,0 +1,331 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.NearbyRouteDto;
+import com.decathlonminds.emotional.dto.PageResult;
+import com.decathlonminds.emotional.dto.RouteGeometryDto;
+import com.decathlonminds.emotional.dto.WalkingRouteDto;
+import com.decathlonminds.emotional.event.ChangeType;
+import com.decathlonminds.emotional.event.WalkingRouteChangedEvent;
+import com.decathlonminds.emotional.geo.RouteGeometry;
+import com.decathlonminds.emotional.geo.RouteGeometryCodec;
+import com.decathlonminds.emotional.geo.RouteSearchCriteria;
+import com.decathlonminds.emotional.geo.RouteSimplifier;
+import com.decathlonminds.emotional.geo.WalkingRouteIndex;
+import com.decathlonminds.emotional.model.RouteDetailLevel;
+import com.decathlonminds.emotional.model.RouteSortField;
+import com.decathlonminds.emotional.model.WalkingRoute;
+import com.decathlonminds.emotional.model.WalkingRouteGeometry;
+import com.decathlonminds.emotional.model.WalkingRouteGeometryLevel;
+import com.decathlonminds.emotional.repository.WalkingRouteFilter;
+import com.decathlonminds.emotional.repository.WalkingRouteGeometryLevelRepository;
+import com.decathlonminds.emotional.repository.WalkingRouteGeometryRepository;
+import com.decathlonminds.emotional.repository.WalkingRouteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class WalkingRouteService {
+
+    private static final Logger log = LoggerFactory.getLogger(WalkingRouteService.class);
+
+    private final WalkingRouteRepository walkingRouteRepository;
+    private final WalkingRouteGeometryRepository geometryRepository;
+    private final WalkingRouteGeometryLevelRepository geometryLevelRepository;
+    private final WalkingRouteIndex routeIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public WalkingRouteService(WalkingRouteRepository walkingRouteRepository,
+                               WalkingRouteGeometryRepository geometryRepository,
+                               WalkingRouteGeometryLevelRepository geometryLevelRepository,
+                               WalkingRouteIndex routeIndex,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher) {
+        this.walkingRouteRepository = walkingRouteRepository;
+        this.geometryRepository = geometryRepository;
+        this.geometryLevelRepository = geometryLevelRepository;
+        this.routeIndex = routeIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Recherche multicritère paginée : tous les filtres sont combinés dans une seule requête
+     */
+    @Transactional(readOnly = true)
+    public PageResult<WalkingRouteDto> searchRoutes(WalkingRouteFilter filter, int page, int size,
+                                                    RouteSortField sortField, Sort.Direction direction) {
+        Page<WalkingRouteDto> result = walkingRouteRepository.search(filter,
+                PageRequest.of(page, size, Sort.by(direction, sortField.getProperty())));
+        return new PageResult<>(result.getContent(), page, size, result.getTotalElements(), result.getTotalPages());
+    }
+
+    public Optional<WalkingRouteDto> getRouteById(UUID id) {
+        return walkingRouteRepository.findById(id)
+                .map(this::convertToDto);
+    }
+
+    @Transactional
+    public WalkingRouteDto createRoute(WalkingRouteDto routeDto) {
+        WalkingRoute route = new WalkingRoute();
+        applyDto(route, routeDto);
+        WalkingRouteDto created = convertToDto(walkingRouteRepository.save(route));
+        eventPublisher.publishEvent(new WalkingRouteChangedEvent(ChangeType.CREATED, created.getId(), created));
+        return created;
+    }
+
+    @Transactional
+    public Optional<WalkingRouteDto> updateRoute(UUID id, WalkingRouteDto routeDto) {
+        return walkingRouteRepository.findById(id)
+                .map(route -> {
+                    applyDto(route, routeDto);
+                    WalkingRouteDto updated = convertToDto(walkingRouteRepository.save(route));
+                    eventPublisher.publishEvent(new WalkingRouteChangedEvent(ChangeType.UPDATED, id, updated));
+                    return updated;
+                });
+    }
+
+    @Transactional
+    public boolean deleteRoute(UUID id) {
+        Optional<WalkingRoute> existing = walkingRouteRepository.findById(id);
+        if (existing.isEmpty()) {
+            return false;
+        }
+        geometryLevelRepository.deleteAll(geometryLevelRepository.findByRouteId(id));
+        geometryRepository.findById(id).ifPresent(geometryRepository::delete);
+        walkingRouteRepository.delete(existing.get());
+        eventPublisher.publishEvent(new WalkingRouteChangedEvent(ChangeType.DELETED, id, null));
+        return true;
+    }
+
+    /**
+     * Les parcours dont le départ est le plus proche de la position, filtrés par les critères
+     */
+    public List<NearbyRouteDto> findNearest(double latitude, double longitude, int limit, RouteSearchCriteria criteria) {
+        return loadHits(routeIndex.search(latitude, longitude, Double.POSITIVE_INFINITY, limit, criteria));
+    }
+
+    /**
+     * Les parcours dont le départ est dans le rayon donné, du plus proche au plus éloigné
+     */
+    public List<NearbyRouteDto> findWithinRadius(double latitude, double longitude, double radiusMeters, int limit,
+                                                 RouteSearchCriteria criteria) {
+        return loadHits(routeIndex.search(latitude, longitude, radiusMeters, limit, criteria));
+    }
+
+    private List<NearbyRouteDto> loadHits(List<WalkingRouteIndex.Hit> hits) {
+        Map<UUID, WalkingRoute> routesById = walkingRouteRepository.findAllById(
+                        hits.stream().map(WalkingRouteIndex.Hit::routeId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(WalkingRoute::getId, Function.identity()));
+        List<NearbyRouteDto> results = new ArrayList<>(hits.size());
+        for (WalkingRouteIndex.Hit hit : hits) {
+            WalkingRoute route = routesById.get(hit.routeId());
+            if (route != null) {
+                results.add(new NearbyRouteDto(convertToDto(route), hit.distanceMeters()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Charge l'index spatial des points de départ au démarrage ; il est ensuite tenu à jour par les événements
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRouteIndex() {
+        try {
+            routeIndex.rebuild(walkingRouteRepository.findAll().stream()
+                    .map(route -> WalkingRouteIndex.IndexedRoute.of(convertToDto(route)))
+                    .collect(Collectors.toList()));
+            log.debug("{} parcours indexés", routeIndex.size());
+        } catch (DataAccessException e) {
+            log.warn("Chargement de l'index des parcours impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Tracé encodé d'un parcours au niveau de détail demandé, tel que stocké en base
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> getEncodedGeometry(UUID routeId, RouteDetailLevel detailLevel) {
+        if (detailLevel == RouteDetailLevel.FULL) {
+            return geometryRepository.findEncodedGeometry(routeId);
+        }
+        return geometryLevelRepository.findEncodedGeometry(routeId, detailLevel);
+    }
+
+    /**
+     * Écrit le tracé encodé en JSON directement dans le flux de réponse, point par point
+     */
+    public void writeGeometryJson(UUID routeId, RouteDetailLevel detailLevel, byte[] encoded, OutputStream out)
+            throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write("{\"routeId\":\"");
+        writer.write(routeId.toString());
+        writer.write("\",\"detailLevel\":\"");
+        writer.write(detailLevel.name());
+        writer.write("\",\"points\":");
+        RouteGeometryCodec.writeJsonPoints(encoded, writer);
+        writer.write('}');
+        writer.flush();
+    }
+
+    /**
+     * Remplace le tracé d'un parcours
+     * @return false si le parcours n'existe pas
+     */
+    @Transactional
+    public boolean saveGeometry(UUID routeId, RouteGeometryDto geometryDto) {
+        if (!walkingRouteRepository.existsById(routeId)) {
+            return false;
+        }
+        saveGeometry(routeId, RouteGeometry.ofDegrees(geometryDto.getPoints()));
+        return true;
+    }
+
+    private void saveGeometry(UUID routeId, RouteGeometry geometry) {
+        WalkingRouteGeometry entity = geometryRepository.findById(routeId)
+                .orElseGet(WalkingRouteGeometry::new);
+        entity.setRouteId(routeId);
+        entity.setPointCount(geometry.size());
+        entity.setGeometry(RouteGeometryCodec.encode(geometry));
+        geometryRepository.save(entity);
+        saveDetailLevels(routeId, geometry);
+    }
+
+    /**
+     * Précalcule les versions simplifiées du tracé pour chaque niveau de détail réduit
+     */
+    private void saveDetailLevels(UUID routeId, RouteGeometry geometry) {
+        Map<RouteDetailLevel, WalkingRouteGeometryLevel> existing = new EnumMap<>(RouteDetailLevel.class);
+        for (WalkingRouteGeometryLevel level : geometryLevelRepository.findByRouteId(routeId)) {
+            existing.put(level.getDetailLevel(), level);
+        }
+        List<WalkingRouteGeometryLevel> levels = new ArrayList<>();
+        for (RouteDetailLevel detailLevel : RouteDetailLevel.values()) {
+            if (detailLevel == RouteDetailLevel.FULL) {
+                continue;
+            }
+            RouteGeometry simplified = RouteSimplifier.simplify(geometry, detailLevel.getToleranceMeters());
+            WalkingRouteGeometryLevel level = existing.getOrDefault(detailLevel, new WalkingRouteGeometryLevel());
+            level.setRouteId(routeId);
+            level.setDetailLevel(detailLevel);
+            level.setPointCount(simplified.size());
+            level.setGeometry(RouteGeometryCodec.encode(simplified));
+            levels.add(level);
+        }
+        geometryLevelRepository.saveAll(levels);
+    }
+
+    /**
+     * Convertit au format compact les tracés encore stockés uniquement dans route_points,
+     * puis calcule les niveaux de détail manquants
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateRoutePoints() {
+        try {
+            List<UUID> routeIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT rp.route_id FROM route_points rp " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM walking_route_geometries g WHERE g.route_id = rp.route_id)",
+                    UUID.class);
+            for (UUID routeId : routeIds) {
+                transactionTemplate.executeWithoutResult(status -> saveGeometry(routeId, readRoutePoints(routeId)));
+            }
+            if (!routeIds.isEmpty()) {
+                log.info("{} tracés convertis depuis route_points", routeIds.size());
+            }
+
+            List<UUID> unsimplified = jdbcTemplate.queryForList(
+                    "SELECT g.route_id FROM walking_route_geometries g " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM walking_route_geometry_levels l WHERE l.route_id = g.route_id)",
+                    UUID.class);
+            for (UUID routeId : unsimplified) {
+                transactionTemplate.executeWithoutResult(status -> geometryRepository.findEncodedGeometry(routeId)
+                        .ifPresent(encoded -> saveDetailLevels(routeId, RouteGeometryCodec.decode(encoded))));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Conversion des tracés interrompue : {}", e.getMessage());
+        }
+    }
+
+    private RouteGeometry readRoutePoints(UUID routeId) {
+        RouteGeometry.Builder builder = new RouteGeometry.Builder();
+        jdbcTemplate.query(
+                "SELECT latitude, longitude, elevation_meters FROM route_points " +
+                "WHERE route_id = ? ORDER BY sequence_number",
+                (RowCallbackHandler) rs -> {
+                    int elevation = rs.getInt(3);
+                    Integer elevationMeters = rs.wasNull() ? null : elevation;
+                    builder.add(rs.getBigDecimal(1).movePointRight(6).intValue(),
+                            rs.getBigDecimal(2).movePointRight(6).intValue(),
+                            elevationMeters);
+                },
+                routeId);
+        return builder.build();
+    }
+
+    /**
+     * Copie les champs modifiables du DTO ; le tracé est géré séparément (saveGeometry)
+     */
+    private void applyDto(WalkingRoute route, WalkingRouteDto dto) {
+        route.setName(dto.getName());
+        route.setDescription(dto.getDescription());
+        route.setDifficultyLevel(dto.getDifficultyLevel());
+        route.setDistanceMeters(dto.getDistanceMeters());
+        route.setEstimatedDurationMinutes(dto.getEstimatedDurationMinutes());
+        route.setStartPointLatitude(dto.getStartPointLatitude());
+        route.setStartPointLongitude(dto.getStartPointLongitude());
+        route.setEndPointLatitude(dto.getEndPointLatitude());
+        route.setEndPointLongitude(dto.getEndPointLongitude());
+        route.setElevationGainMeters(dto.getElevationGainMeters());
+        route.setRouteType(dto.getRouteType());
+    }
+
+    private WalkingRouteDto convertToDto(WalkingRoute route) {
+        WalkingRouteDto dto = new WalkingRouteDto();
+        dto.setId(route.getId());
+        dto.setName(route.getName());
+        dto.setDescription(route.getDescription());
+        dto.setDifficultyLevel(route.getDifficultyLevel());
+        dto.setDistanceMeters(route.getDistanceMeters());
+        dto.setEstimatedDurationMinutes(route.getEstimatedDurationMinutes());
+        dto.setStartPointLatitude(route.getStartPointLatitude());
+        dto.setStartPointLongitude(route.getStartPointLongitude());
+        dto.setEndPointLatitude(route.getEndPointLatitude());
+        dto.setEndPointLongitude(route.getEndPointLongitude());
+        dto.setElevationGainMeters(route.getElevationGainMeters());
+        dto.setRouteType(route.getRouteType());
+        return dto;
+    }
+}
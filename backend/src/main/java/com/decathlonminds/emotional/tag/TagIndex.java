@@ -0,0 +1,158 @@
+package com.decathlonminds.emotional.tag;
+
+import com.decathlonminds.emotional.dto.FeedPostDto;
+import com.decathlonminds.emotional.event.FeedPostChangedEvent;
+import com.decathlonminds.emotional.event.PostChangedEvent;
+import com.decathlonminds.emotional.model.SearchSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index inversé en mémoire des tags normalisés vers les posts et publications qui les portent.
+ * Les tags sont triés, ce qui permet l'autocomplétion par préfixe sur une simple sous-vue ;
+ * le nombre d'utilisations d'un tag est la taille de ses listes de postings.
+ * Tenu à jour par les événements d'écriture : seuls les tags ajoutés ou retirés sont touchés.
+ * Les écritures sont sérialisées, les lectures se font sans verrou.
+ */
+@Component
+public class TagIndex {
+
+    private static final Comparator<TagCount> MOST_USED_FIRST =
+            Comparator.comparingInt(TagCount::count).reversed().thenComparing(TagCount::tag);
+
+    private volatile ConcurrentSkipListMap<String, Postings> tags = new ConcurrentSkipListMap<>();
+
+    /**
+     * Remplace tout le contenu de l'index par les couples (origine, identifiant, tag) fournis
+     */
+    public synchronized void rebuild(Collection<TagPosting> postings) {
+        ConcurrentSkipListMap<String, Postings> rebuilt = new ConcurrentSkipListMap<>();
+        for (TagPosting posting : postings) {
+            String tag = TagNormalizer.normalize(posting.tag());
+            if (tag != null) {
+                rebuilt.computeIfAbsent(tag, key -> new Postings()).of(posting.source()).add(posting.id());
+            }
+        }
+        tags = rebuilt;
+    }
+
+    /**
+     * Reporte le passage de previousTags à currentTags pour un post ou une publication
+     */
+    public synchronized void update(SearchSource source, UUID id, Collection<String> previousTags,
+                                    Collection<String> currentTags) {
+        Set<String> previous = TagNormalizer.normalizeToSet(previousTags);
+        Set<String> current = TagNormalizer.normalizeToSet(currentTags);
+        for (String tag : previous) {
+            if (!current.contains(tag)) {
+                Postings postings = tags.get(tag);
+                if (postings != null) {
+                    postings.of(source).remove(id);
+                    if (postings.isEmpty()) {
+                        tags.remove(tag);
+                    }
+                }
+            }
+        }
+        for (String tag : current) {
+            if (!previous.contains(tag)) {
+                tags.computeIfAbsent(tag, key -> new Postings()).of(source).add(id);
+            }
+        }
+    }
+
+    /**
+     * Tags commençant par prefix (déjà normalisé), les plus utilisés d'abord
+     */
+    public List<TagCount> complete(String prefix, int limit) {
+        return mostUsed(tags.subMap(prefix, true, prefix + Character.MAX_VALUE, false), limit);
+    }
+
+    public List<TagCount> mostUsed(int limit) {
+        return mostUsed(tags, limit);
+    }
+
+    /**
+     * Identifiants portant le tag (déjà normalisé) pour une origine donnée ; vide si le tag est inconnu
+     */
+    public List<UUID> postings(String tag, SearchSource source) {
+        Postings postings = tags.get(tag);
+        return postings == null ? List.of() : new ArrayList<>(postings.of(source));
+    }
+
+    public int size() {
+        return tags.size();
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        update(SearchSource.POST, event.postId(), event.previousTags(), event.currentTags());
+    }
+
+    @TransactionalEventListener
+    public void onFeedPostChanged(FeedPostChangedEvent event) {
+        update(SearchSource.FEED_POST, event.postId(), tagsOf(event.previous()), tagsOf(event.current()));
+    }
+
+    private static List<String> tagsOf(FeedPostDto post) {
+        return post == null ? null : post.getTags();
+    }
+
+    /**
+     * Sélection des limit tags les plus utilisés avec un tas borné, sans trier toute la sous-vue
+     */
+    private static List<TagCount> mostUsed(NavigableMap<String, Postings> range, int limit) {
+        PriorityQueue<TagCount> top = new PriorityQueue<>(limit + 1, MOST_USED_FIRST.reversed());
+        range.forEach((tag, postings) -> {
+            int count = postings.count();
+            if (count == 0) {
+                return;
+            }
+            top.offer(new TagCount(tag, count));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<TagCount> result = new ArrayList<>(top);
+        result.sort(MOST_USED_FIRST);
+        return result;
+    }
+
+    /**
+     * Un tag porté par un post ou une publication, tel que lu en base
+     */
+    public record TagPosting(SearchSource source, UUID id, String tag) {
+    }
+
+    public record TagCount(String tag, int count) {
+    }
+
+    private static final class Postings {
+
+        private final Set<UUID> posts = ConcurrentHashMap.newKeySet();
+        private final Set<UUID> feedPosts = ConcurrentHashMap.newKeySet();
+
+        private Set<UUID> of(SearchSource source) {
+            return source == SearchSource.POST ? posts : feedPosts;
+        }
+
+        private int count() {
+            return posts.size() + feedPosts.size();
+        }
+
+        private boolean isEmpty() {
+            return posts.isEmpty() && feedPosts.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.decathlonminds.emotional.tag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Forme canonique des tags : sans '#' initial, sans espaces superflus, en minuscules.
+ * Les accents sont conservés (« santé » et « sante » restent deux tags distincts).
+ * Appliquée à l'écriture des posts et publications comme aux paramètres de recherche.
+ */
+public final class TagNormalizer {
+
+    public static final int MAX_LENGTH = 50;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TagNormalizer() {
+    }
+
+    /**
+     * Tag normalisé, ou null s'il est vide une fois nettoyé
+     */
+    public static String normalize(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String normalized = tag.strip();
+        while (normalized.startsWith("#")) {
+            normalized = normalized.substring(1).stripLeading();
+        }
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").toLowerCase(Locale.ROOT);
+        if (normalized.length() > MAX_LENGTH) {
+            normalized = normalized.substring(0, MAX_LENGTH).stripTrailing();
+        }
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Tags normalisés, sans vide ni doublon, dans leur ordre d'origine
+     */
+    public static List<String> normalizeAll(Collection<String> tags) {
+        return new ArrayList<>(normalizeToSet(tags));
+    }
+
+    public static Set<String> normalizeToSet(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String value = normalize(tag);
+                if (value != null) {
+                    normalized.add(value);
+                }
+            }
+        }
+        return normalized;
+    }
+}
@@ -2,10 +2,9 @@ package com.decathlonminds.emotional.validator;
 
 import com.decathlonminds.emotional.dto.FeedPostDto;
 import com.decathlonminds.emotional.model.PostType;
+import com.decathlonminds.emotional.model.SourceStatus;
 import org.springframework.stereotype.Component;
 
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,7 +15,7 @@ import java.util.regex.Pattern;
  * Assure le respect des règles métier importantes :
  * - Pas d'images avec des humains
  * - Événements avec dates futures (après 01/03/2025)
- * - Sources vérifiables pour les posts scientifiques
+ * - Sources vérifiables pour les posts scientifiques (vérification asynchrone, voir SourceReachabilityChecker)
  */
 @Component
 public class FeedPostValidator {
@@ -25,6 +24,12 @@ public class FeedPostValidator {
     private static final Pattern URL_PATTERN = Pattern.compile(
             "^(https?|ftp)://[a-zA-Z0-9+&@#/%?=~_|!:,.;-]*[a-zA-Z0-9+&@#/%=~_|]");
     
+    private final SourceReachabilityChecker sourceReachabilityChecker;
+    
+    public FeedPostValidator(SourceReachabilityChecker sourceReachabilityChecker) {
+        this.sourceReachabilityChecker = sourceReachabilityChecker;
+    }
+    
     /**
      * Valide un post selon les règles métier
      * @param postDto Post à valider
@@ -54,8 +59,15 @@ public class FeedPostValidator {
                 validationErrors.add("Les posts scientifiques doivent avoir une source");
             } else if (!isValidUrl(postDto.getSource())) {
                 validationErrors.add("La source doit être une URL valide");
-            } else if (!isSourceAccessible(postDto.getSource())) {
-                validationErrors.add("La source doit être accessible");
+            } else {
+                // Vérification non bloquante : sans verdict en cache, le post est accepté
+                // et sa source reste en attente de vérification
+                SourceStatus sourceStatus = sourceReachabilityChecker.getStatus(postDto.getSource());
+                if (sourceStatus == SourceStatus.UNREACHABLE) {
+                    validationErrors.add("La source doit être accessible");
+                } else {
+                    postDto.setSourceStatus(sourceStatus);
+                }
             }
         }
         
@@ -88,23 +100,4 @@ public class FeedPostValidator {
     private boolean isValidUrl(String urlString) {
         return URL_PATTERN.matcher(urlString).matches();
     }
-    
-    /**
-     * Vérifie si une URL est accessible
-     */
-    private boolean isSourceAccessible(String urlString) {
-        try {
-            URL url = new URL(urlString);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("HEAD");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            connection.setInstanceFollowRedirects(true);
-            
-            int responseCode = connection.getResponseCode();
-            return (responseCode >= 200 && responseCode < 400);
-        } catch (Exception e) {
-            return false;
-        }
-    }
 }
@@ -0,0 +1,207 @@
+package com.decathlonminds.emotional.validator;
+
+import com.decathlonminds.emotional.cache.LruTtlCache;
+import com.decathlonminds.emotional.model.SourceStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vérifie de façon non bloquante qu'une URL de source répond à une requête HEAD.
+ * Les verdicts sont mis en cache par URL (TTL distincts pour les sources accessibles et inaccessibles) :
+ * un même hôte peut servir une source et répondre 404 pour une autre. Les vérifications simultanées
+ * d'une même URL sont regroupées et le nombre de requêtes en cours est limité par hôte : au-delà,
+ * les vérifications attendent leur tour dans la file bornée de l'hôte. File pleine, la vérification
+ * est abandonnée avec PENDING, sans verdict en cache : le balayage de FeedService la relancera.
+ * Un hôte sans requête en cours ni en attente n'est plus suivi.
+ * Le verdict est rendu par le CompletableFuture de verify, complété sur un thread du client HTTP :
+ * l'appelant y enchaîne son traitement sur son propre exécuteur.
+ */
+@Component
+public class SourceReachabilityChecker {
+
+    private final HttpClient httpClient;
+    private final LruTtlCache<String, Boolean> verdicts;
+    private final Duration reachableTtl;
+    private final Duration unreachableTtl;
+    private final Duration requestTimeout;
+    private final int maxConcurrentPerHost;
+    private final int maxQueuedPerHost;
+
+    private final ConcurrentHashMap<String, CompletableFuture<SourceStatus>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, HostSlots> hosts = new ConcurrentHashMap<>();
+
+    public SourceReachabilityChecker(@Value("${feed.source-check.max-entries:10000}") int maxEntries,
+                                     @Value("${feed.source-check.reachable-ttl-minutes:360}") long reachableTtlMinutes,
+                                     @Value("${feed.source-check.unreachable-ttl-minutes:10}") long unreachableTtlMinutes,
+                                     @Value("${feed.source-check.timeout-seconds:5}") long timeoutSeconds,
+                                     @Value("${feed.source-check.max-concurrent-per-host:2}") int maxConcurrentPerHost,
+                                     @Value("${feed.source-check.max-queued-per-host:100}") int maxQueuedPerHost) {
+        this.reachableTtl = Duration.ofMinutes(reachableTtlMinutes);
+        this.unreachableTtl = Duration.ofMinutes(unreachableTtlMinutes);
+        this.requestTimeout = Duration.ofSeconds(timeoutSeconds);
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        this.maxQueuedPerHost = maxQueuedPerHost;
+        this.verdicts = new LruTtlCache<>(maxEntries, reachableTtl);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Renvoie le verdict en cache, ou PENDING, sans bloquer ni lancer de vérification :
+     * la vérification est lancée une fois la publication enregistrée (voir FeedService)
+     */
+    public SourceStatus getStatus(String url) {
+        return verdicts.getIfPresent(url).map(this::toStatus).orElse(SourceStatus.PENDING);
+    }
+
+    /**
+     * Lance (ou rejoint) la vérification d'une URL ; le résultat vaut VERIFIED ou UNREACHABLE,
+     * ou PENDING si la file de l'hôte est pleine
+     */
+    public CompletableFuture<SourceStatus> verify(String url) {
+        Optional<Boolean> verdict = verdicts.getIfPresent(url);
+        if (verdict.isPresent()) {
+            return CompletableFuture.completedFuture(toStatus(verdict.get()));
+        }
+
+        CompletableFuture<SourceStatus> promise = new CompletableFuture<>();
+        CompletableFuture<SourceStatus> existing = inFlight.putIfAbsent(url, promise);
+        if (existing != null) {
+            return existing;
+        }
+        launch(url, promise);
+        return promise;
+    }
+
+    private void launch(String url, CompletableFuture<SourceStatus> promise) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            complete(url, promise, false);
+            return;
+        }
+        String scheme = uri.getScheme();
+        if (uri.getHost() == null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) {
+            complete(url, promise, false);
+            return;
+        }
+
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        Runnable check = () -> send(uri, url, promise, host);
+        // Sous le verrou de l'entrée de l'hôte : une entrée ne peut pas être retirée pendant qu'on l'occupe
+        HostSlots.Admission[] admission = new HostSlots.Admission[1];
+        hosts.compute(host, (key, slots) -> {
+            HostSlots current = slots != null ? slots : new HostSlots();
+            admission[0] = current.admit(check);
+            return current.isIdle() ? null : current;
+        });
+        switch (admission[0]) {
+            case RUN -> check.run();
+            case QUEUED -> { }
+            case REJECTED -> {
+                inFlight.remove(url, promise);
+                promise.complete(SourceStatus.PENDING);
+            }
+        }
+    }
+
+    private void send(URI uri, String url, CompletableFuture<SourceStatus> promise, String host) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(uri)
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(requestTimeout)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            complete(url, promise, false);
+            release(host);
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> error == null
+                        && response.statusCode() >= 200 && response.statusCode() < 400)
+                .thenAccept(reachable -> {
+                    complete(url, promise, reachable);
+                    release(host);
+                });
+    }
+
+    /**
+     * Libère une place de l'hôte, ou la cède directement à la vérification suivante ;
+     * l'hôte n'est plus suivi quand il n'a plus rien en cours ni en attente
+     */
+    private void release(String host) {
+        Runnable[] next = new Runnable[1];
+        hosts.computeIfPresent(host, (key, slots) -> {
+            next[0] = slots.releaseOrNext();
+            return slots.isIdle() ? null : slots;
+        });
+        if (next[0] != null) {
+            next[0].run();
+        }
+    }
+
+    int trackedHostCount() {
+        return hosts.size();
+    }
+
+    private void complete(String url, CompletableFuture<SourceStatus> promise, boolean reachable) {
+        verdicts.put(url, reachable, reachable ? reachableTtl : unreachableTtl);
+        inFlight.remove(url, promise);
+        promise.complete(toStatus(reachable));
+    }
+
+    private SourceStatus toStatus(boolean reachable) {
+        return reachable ? SourceStatus.VERIFIED : SourceStatus.UNREACHABLE;
+    }
+
+    /**
+     * Requêtes en cours vers un hôte et vérifications en attente d'une place.
+     * Modifié uniquement dans hosts.compute, sous le verrou de l'entrée.
+     */
+    private final class HostSlots {
+
+        private enum Admission { RUN, QUEUED, REJECTED }
+
+        private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+
+        private Admission admit(Runnable check) {
+            if (active < maxConcurrentPerHost) {
+                active++;
+                return Admission.RUN;
+            }
+            if (waiting.size() >= maxQueuedPerHost) {
+                return Admission.REJECTED;
+            }
+            waiting.add(check);
+            return Admission.QUEUED;
+        }
+
+        private Runnable releaseOrNext() {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                active--;
+            }
+            return next;
+        }
+
+        private boolean isIdle() {
+            return active == 0 && waiting.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.decathlonminds.emotional;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Base des tests d'intégration : l'application complète sur un PostgreSQL jetable.
+ * La base est initialisée comme en production : database/init.sql (types énumérés, tables),
+ * puis Hibernate au démarrage (ddl-auto: update).
+ * Le conteneur est partagé par toutes les classes de test (les contextes Spring mis en cache
+ * gardent ainsi une base valide). Sans Docker, les tests peuvent viser une base neuve déjà
+ * initialisée avec init.sql : mvn test -Dtest.database.url=jdbc:postgresql://localhost:5432/decathlon_minds_db
+ * (test.database.username et test.database.password, postgres par défaut). Sinon ils sont ignorés.
+ */
+@SpringBootTest
+@EnabledIf("com.decathlonminds.emotional.PostgresIntegrationTest#databaseAvailable")
+public abstract class PostgresIntegrationTest {
+
+    private static final String DATABASE = "decathlon_minds_db";
+
+    private static final String EXTERNAL_URL = System.getProperty("test.database.url");
+
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCopyFileToContainer(MountableFile.forHostPath("../database/init.sql"),
+                    "/docker-entrypoint-initdb.d/init.sql");
+
+    static {
+        if (EXTERNAL_URL == null && DockerClientFactory.instance().isDockerAvailable()) {
+            POSTGRES.start();
+        }
+    }
+
+    static boolean databaseAvailable() {
+        return EXTERNAL_URL != null || POSTGRES.isRunning();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (EXTERNAL_URL != null) {
+            registry.add("spring.datasource.url", () -> EXTERNAL_URL
+                    + (EXTERNAL_URL.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+            registry.add("spring.datasource.username", () -> System.getProperty("test.database.username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("test.database.password", "postgres"));
+            return;
+        }
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + DATABASE
+                + "?reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    /**
+     * Crée un utilisateur s'il n'existe pas encore
+     */
+    protected void insertUser(UUID id) {
+        OffsetDateTime now = OffsetDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, created_at, updated_at) " +
+                "VALUES (?, ?, 'test', ?, ?) ON CONFLICT DO NOTHING", id, id + "@test.local", now, now);
+    }
+}
@@ -0,0 +1,62 @@
+package com.decathlonminds.emotional.controller;
+
+import com.decathlonminds.emotional.PostgresIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lecture conditionnelle d'une publication : 304 sans requête SQL, 404 sans ETag
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FeedControllerConditionalGetTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void matchingEtagIsAnsweredWithoutTheDatabase() throws Exception {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO feed_posts (id, type, title, created_at, updated_at) " +
+                "VALUES (?, 'ROUTE', 'Boucle', now(), now())", id);
+
+        String etag = mockMvc.perform(get("/feed/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/feed/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "W/\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void missingPostHasNoEtag() throws Exception {
+        mockMvc.perform(get("/feed/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/feed/{id}", UUID.randomUUID()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
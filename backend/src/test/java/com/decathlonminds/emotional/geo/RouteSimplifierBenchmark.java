@@ -0,0 +1,102 @@
+package com.decathlonminds.emotional.geo;
+
+import com.decathlonminds.emotional.model.RouteDetailLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simplification d'un tracé de 10 000 points (marche aléatoire de pas ~2,5 m, bruit GPS d'environ 1 m,
+ * altitude) à chaque niveau de détail : temps de simplification, puis de simplification et d'encodage.
+ * La taille de la réponse (points, octets encodés, octets JSON) est affichée au début de chaque niveau.
+ * Ce n'est pas un test : à lancer à la main après mvn test-compile, via main().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RouteSimplifierBenchmark {
+
+    private static final int POINTS = 10_000;
+
+    @Param({"FULL", "HIGH", "MEDIUM", "LOW"})
+    RouteDetailLevel level;
+
+    private RouteGeometry route;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        route = generateRoute(POINTS, 42);
+        byte[] encoded = RouteGeometryCodec.encode(RouteSimplifier.simplify(route, level.getToleranceMeters()));
+        StringWriter json = new StringWriter();
+        try {
+            RouteGeometryCodec.writeJsonPoints(encoded, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.printf("%n%s : %d points, %d octets encodés, %d octets JSON%n", level,
+                RouteGeometryCodec.decode(encoded).size(), encoded.length, json.toString().length());
+    }
+
+    @Benchmark
+    public RouteGeometry simplify() {
+        return RouteSimplifier.simplify(route, level.getToleranceMeters());
+    }
+
+    @Benchmark
+    public byte[] simplifyAndEncode() {
+        return RouteGeometryCodec.encode(RouteSimplifier.simplify(route, level.getToleranceMeters()));
+    }
+
+    /**
+     * Marche à cap lentement variable autour de Lille, points relevés tous les ~2,5 m avec un bruit d'environ 1 m
+     */
+    static RouteGeometry generateRoute(int size, long seed) {
+        Random random = new Random(seed);
+        double metersPerDegreeLatitude = 111_195.0;
+        double metersPerDegreeLongitude = metersPerDegreeLatitude * Math.cos(Math.toRadians(50.63));
+        double north = 0;
+        double east = 0;
+        double heading = 0;
+        double elevation = 40;
+        double[][] points = new double[size][];
+        for (int i = 0; i < size; i++) {
+            heading += random.nextGaussian() * 0.15;
+            north += Math.cos(heading) * 2.5;
+            east += Math.sin(heading) * 2.5;
+            elevation += random.nextGaussian() * 0.3;
+            points[i] = new double[] {
+                    50.63 + (north + random.nextGaussian()) / metersPerDegreeLatitude,
+                    3.06 + (east + random.nextGaussian()) / metersPerDegreeLongitude,
+                    elevation
+            };
+        }
+        return RouteGeometry.ofDegrees(points);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteSimplifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,22 @@
+package com.decathlonminds.emotional.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Garde la dernière requête SQL préparée par Hibernate, pour en examiner le plan ;
+ * enregistré par hibernate.session_factory.statement_inspector
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static volatile String lastSql;
+
+    public static String lastSql() {
+        return lastSql;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        lastSql = sql;
+        return sql;
+    }
+}
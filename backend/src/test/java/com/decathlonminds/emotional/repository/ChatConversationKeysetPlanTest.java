@@ -0,0 +1,64 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.PostgresIntegrationTest;
+import com.decathlonminds.emotional.model.ChatConversation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan des pages suivantes de l'historique d'un utilisateur : la requête générée par Hibernate borne
+ * le parcours de l'index (user_id, timestamp, id) au curseur, sans lire puis filtrer les conversations récentes
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.decathlonminds.emotional.repository.CapturingStatementInspector")
+class ChatConversationKeysetPlanTest extends PostgresIntegrationTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ChatConversationRepository chatConversationRepository;
+
+    @Test
+    void pageByUserAfterSeeksInTheUserIndex() {
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        insertUser(userId);
+        insertUser(otherUserId);
+        jdbcTemplate.update("INSERT INTO chat_conversations (id, user_id, user_message, bot_response, emotion, " +
+                "reason, \"timestamp\") " +
+                "SELECT gen_random_uuid(), CASE WHEN g % 100 = 0 THEN ?::uuid ELSE ?::uuid END, 'Bonjour', 'Citation', " +
+                "       'HAPPY', 'WORK', now() - g * interval '1 minute' " +
+                "FROM generate_series(1, 100000) g", userId, otherUserId);
+        jdbcTemplate.execute("ANALYZE chat_conversations");
+
+        Cursor cursor = jdbcTemplate.queryForObject("SELECT id, \"timestamp\" FROM chat_conversations " +
+                "WHERE user_id = ? ORDER BY \"timestamp\" DESC, id DESC OFFSET 500 LIMIT 1", (rs, row) -> new Cursor(
+                        rs.getTimestamp("timestamp").toInstant().atZone(ZoneOffset.UTC), rs.getObject("id", UUID.class)),
+                userId);
+        List<ChatConversation> page = chatConversationRepository.findPageByUserAfter(userId, cursor.timestamp(),
+                cursor.id(), PageRequest.ofSize(PAGE_SIZE));
+
+        assertThat(page).hasSize(PAGE_SIZE).allMatch(conversation -> conversation.getTimestamp().isBefore(cursor.timestamp()));
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + CapturingStatementInspector.lastSql(),
+                String.class, userId, Timestamp.from(cursor.timestamp().toInstant()), cursor.id(), 0, PAGE_SIZE));
+        assertThat(plan)
+                .as(plan)
+                .contains("Index Scan Backward using idx_chat_conversations_user_id_timestamp_id")
+                .containsPattern("Index Cond: .*ROW\\(")
+                .doesNotContain("Filter:")
+                .doesNotContain("Sort Key");
+    }
+
+    private record Cursor(ZonedDateTime timestamp, UUID id) {
+    }
+}
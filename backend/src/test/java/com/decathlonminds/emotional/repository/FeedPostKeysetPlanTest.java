@@ -0,0 +1,97 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.PostgresIntegrationTest;
+import com.decathlonminds.emotional.model.FeedPost;
+import com.decathlonminds.emotional.model.PostType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans des pages suivantes du fil : la requête générée par Hibernate borne le parcours de l'index
+ * (created_at DESC, id DESC) au curseur, sans lire puis filtrer les publications plus récentes
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.decathlonminds.emotional.repository.CapturingStatementInspector")
+class FeedPostKeysetPlanTest extends PostgresIntegrationTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static boolean populated;
+
+    @Autowired
+    private FeedPostRepository feedPostRepository;
+
+    @BeforeEach
+    void populate() {
+        if (populated) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO feed_posts (id, type, title, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), " +
+                "       CASE WHEN g % 20 = 0 THEN 'QUOTE' ELSE (ARRAY['EVENT', 'ROUTE', 'SCIENTIFIC'])[1 + g % 3] END, " +
+                "       'Publication ' || g, now() - interval '1 day' - g * interval '1 minute', now() " +
+                "FROM generate_series(1, 50000) g");
+        jdbcTemplate.execute("ANALYZE feed_posts");
+        populated = true;
+    }
+
+    @Test
+    void pageAfterSeeksInTheCreatedAtIndex() {
+        Cursor cursor = deepCursor(null, 10000);
+        List<FeedPost> page = feedPostRepository.findPageAfter(cursor.createdAt(), cursor.id(),
+                PageRequest.ofSize(PAGE_SIZE));
+
+        assertThat(page).hasSize(PAGE_SIZE).allMatch(post -> post.getCreatedAt().isBefore(cursor.createdAt()));
+        assertSeeks(explain(Timestamp.from(cursor.createdAt().toInstant()), cursor.id(), 0, PAGE_SIZE),
+                "idx_feed_posts_created_at_id");
+    }
+
+    @Test
+    void pageByTypeAfterSeeksInTheTypeIndex() {
+        Cursor cursor = deepCursor(PostType.QUOTE, 1000);
+        List<FeedPost> page = feedPostRepository.findPageByTypeAfter(PostType.QUOTE, cursor.createdAt(),
+                cursor.id(), PageRequest.ofSize(PAGE_SIZE));
+
+        assertThat(page).hasSize(PAGE_SIZE).allMatch(post -> post.getType() == PostType.QUOTE);
+        assertSeeks(explain(PostType.QUOTE.name(), Timestamp.from(cursor.createdAt().toInstant()),
+                cursor.id(), 0, PAGE_SIZE), "idx_feed_posts_type_created_at_id");
+    }
+
+    /**
+     * Dernière publication d'une page lointaine, lue en SQL pour ne pas remplacer la requête capturée
+     */
+    private Cursor deepCursor(PostType type, int offset) {
+        String where = type == null ? "" : "WHERE type = '" + type.name() + "' ";
+        return jdbcTemplate.queryForObject("SELECT id, created_at FROM feed_posts " + where +
+                "ORDER BY created_at DESC, id DESC OFFSET " + offset + " LIMIT 1", (rs, row) -> new Cursor(
+                        rs.getTimestamp("created_at").toInstant().atZone(ZoneOffset.UTC), rs.getObject("id", UUID.class)));
+    }
+
+    private String explain(Object... parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + CapturingStatementInspector.lastSql(),
+                String.class, parameters));
+    }
+
+    private record Cursor(ZonedDateTime createdAt, UUID id) {
+    }
+
+    private static void assertSeeks(String plan, String index) {
+        assertThat(plan)
+                .as(plan)
+                .contains("Index Scan using " + index)
+                .containsPattern("Index Cond: .*ROW\\(")
+                .doesNotContain("Filter:")
+                .doesNotContain("Sort Key");
+    }
+}
@@ -0,0 +1,69 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans du filtre /api/posts/filter : chaque combinaison de filtres lit sa page dans l'ordre
+ * d'un index (created_at DESC, id DESC), sans parcours séquentiel de posts ni tri
+ */
+class PostFilterIndexPlanTest extends PostgresIntegrationTest {
+
+    private static final String SELECT = "SELECT id, type, title, created_at FROM posts ";
+    private static final String ORDER = " ORDER BY created_at DESC, id DESC OFFSET 40 ROWS FETCH FIRST 20 ROWS ONLY";
+
+    private static boolean populated;
+
+    @BeforeEach
+    void populate() {
+        if (populated) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO posts (id, type, title, emotion, cause, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), " +
+                "       (ARRAY['ARTICLE', 'EVENT', 'ROUTE', 'QUOTE'])[1 + (g / 20) % 4], " +
+                "       'Post ' || g, " +
+                "       (ARRAY['STRESSED', 'SAD', 'HAPPY', 'ANXIOUS', 'TIRED'])[1 + g % 5], " +
+                "       (ARRAY['WORK', 'FAMILY', 'HEALTH', 'MONEY'])[1 + (g / 5) % 4], " +
+                "       now() - g * interval '1 minute', now() " +
+                "FROM generate_series(1, 50000) g");
+        jdbcTemplate.execute("ANALYZE posts");
+        populated = true;
+    }
+
+    @Test
+    void emotionAndCauseUseTheIndexWithoutType() {
+        assertReadsInIndexOrder(SELECT + "WHERE emotion = 'STRESSED' AND cause = 'WORK'" + ORDER,
+                "idx_posts_emotion_cause_created_at_id");
+    }
+
+    @Test
+    void emotionCauseAndTypeUseTheFullIndex() {
+        assertReadsInIndexOrder(SELECT + "WHERE emotion = 'STRESSED' AND cause = 'WORK' AND type = 'ARTICLE'" + ORDER,
+                "idx_posts_emotion_cause_type_created_at_id");
+    }
+
+    /**
+     * Un type sur quatre : parcourir idx_posts_created_at_id (recherche plein texte) en filtrant le type
+     * est aussi une lecture dans l'ordre, que le planificateur peut préférer
+     */
+    @Test
+    void typeUsesAnOrderedIndex() {
+        assertReadsInIndexOrder(SELECT + "WHERE type = 'ARTICLE'" + ORDER,
+                "idx_posts_type_created_at_id", "idx_posts_created_at_id");
+    }
+
+    private void assertReadsInIndexOrder(String sql, String... indexes) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        assertThat(plan)
+                .as(plan)
+                .containsAnyOf(indexes)
+                .doesNotContain("Seq Scan on posts")
+                .doesNotContain("Sort Key");
+    }
+}
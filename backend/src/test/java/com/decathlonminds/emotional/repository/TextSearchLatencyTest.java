@@ -0,0 +1,151 @@
+package com.decathlonminds.emotional.repository;
+
+import com.decathlonminds.emotional.PostgresIntegrationTest;
+import com.decathlonminds.emotional.dto.PageResult;
+import com.decathlonminds.emotional.dto.SearchResultDto;
+import com.decathlonminds.emotional.model.SearchSource;
+import com.decathlonminds.emotional.service.SearchService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recherche plein texte sur 1 million de lignes (800 000 posts, 200 000 publications du fil),
+ * migration 008 appliquée : plan et latence de SearchService (requête de page et total) pour un terme
+ * fréquent (un tiers des lignes), un mot du vocabulaire courant (~0,6 %) et un terme rare (200 lignes).
+ * Le chargement prend quelques minutes ; les tables sont vidées à la fin.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TextSearchLatencyTest extends PostgresIntegrationTest {
+
+    private static final int POSTS = 800_000;
+    private static final int FEED_POSTS = 200_000;
+    private static final int VOCABULARY = 5000;
+    private static final int PAGE_SIZE = 20;
+    private static final long TARGET_MILLIS = 50;
+
+    private static final String FREQUENT_TERM = "marche";
+    private static final String VOCABULARY_TERM = "mot1234";
+    private static final String RARE_TERM = "sophrologie";
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @BeforeAll
+    void populate() throws IOException {
+        jdbcTemplate.execute("TRUNCATE posts, feed_posts CASCADE");
+        // 30 mots tirés de façon déterministe parmi VOCABULARY, puis les termes fréquent et rare
+        String content = "(SELECT string_agg('mot' || abs(hashint8(g * 30 + k) % " + VOCABULARY + "), ' ') " +
+                "FROM generate_series(1, 30) k) " +
+                "|| CASE WHEN g % 3 = 0 THEN ' Une marche en forêt pour souffler.' ELSE '' END " +
+                "|| CASE WHEN g % 5000 = 0 THEN ' Séance de sophrologie.' ELSE '' END";
+        jdbcTemplate.update("INSERT INTO posts (id, type, title, content, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'SCIENTIFIC', 'Post ' || g, " + content + ", " +
+                "now() - g * interval '1 minute', now() FROM generate_series(1, " + POSTS + ") g");
+        jdbcTemplate.update("INSERT INTO feed_posts (id, type, title, content, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'SCIENTIFIC', 'Publication ' || g, " + content + ", " +
+                "now() - g * interval '1 minute' - interval '30 seconds', now() " +
+                "FROM generate_series(1, " + FEED_POSTS + ") g");
+        String migration = Files.readString(Path.of("../database/migrations/008_full_text_search.sql"));
+        for (String statement : migration.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!statement.isBlank()) {
+                jdbcTemplate.execute(statement);
+            }
+        }
+        // VACUUM vide aussi la liste d'attente des index GIN remplie par le chargement
+        jdbcTemplate.execute("VACUUM ANALYZE posts");
+        jdbcTemplate.execute("VACUUM ANALYZE feed_posts");
+    }
+
+    @AfterAll
+    void clear() {
+        jdbcTemplate.execute("TRUNCATE posts, feed_posts CASCADE");
+    }
+
+    @Test
+    void frequentTermWalksTheCreatedAtIndexes() {
+        assertThat(explain(FREQUENT_TERM))
+                .contains("Index Scan using idx_posts_created_at_id")
+                .contains("Index Scan using idx_feed_posts_created_at_id")
+                .doesNotContain("Bitmap Heap Scan");
+    }
+
+    @Test
+    void rareTermUsesTheSearchVectorIndexes() {
+        assertThat(explain(RARE_TERM))
+                .contains("Bitmap Index Scan on idx_posts_search_vector")
+                .contains("Bitmap Index Scan on idx_feed_posts_search_vector");
+    }
+
+    @Test
+    void frequentTermIsServedUnderTarget() {
+        PageResult<SearchResultDto> page = searchService.search(FREQUENT_TERM, null, 0, PAGE_SIZE);
+
+        assertThat(page.getItems()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalItems()).isEqualTo(2L * TextSearchRepository.CANDIDATES_PER_SOURCE);
+        assertThat(page.getItems().get(0).getSnippet()).contains("<mark>marche</mark>");
+        assertUnderTarget(FREQUENT_TERM);
+    }
+
+    @Test
+    void vocabularyTermIsServedUnderTarget() {
+        PageResult<SearchResultDto> page = searchService.search(VOCABULARY_TERM, null, 0, PAGE_SIZE);
+
+        assertThat(page.getItems()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalItems()).isEqualTo(2L * TextSearchRepository.CANDIDATES_PER_SOURCE);
+        assertUnderTarget(VOCABULARY_TERM);
+    }
+
+    @Test
+    void rareTermIsServedUnderTarget() {
+        PageResult<SearchResultDto> page = searchService.search(RARE_TERM, null, 0, PAGE_SIZE);
+
+        assertThat(page.getItems()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalItems()).isEqualTo((POSTS + FEED_POSTS) / 5000);
+        assertUnderTarget(RARE_TERM);
+    }
+
+    private String explain(String text) {
+        return String.join("\n", namedParameterJdbcTemplate.queryForList(
+                "EXPLAIN " + TextSearchRepository.searchSql(EnumSet.allOf(SearchSource.class)),
+                new MapSqlParameterSource()
+                        .addValue("text", text)
+                        .addValue("limit", PAGE_SIZE)
+                        .addValue("offset", 0),
+                String.class));
+    }
+
+    /**
+     * Médiane de 15 recherches de la première page, après 5 recherches de mise en cache
+     */
+    private void assertUnderTarget(String text) {
+        for (int i = 0; i < 5; i++) {
+            searchService.search(text, null, 0, PAGE_SIZE);
+        }
+        long[] millis = new long[15];
+        for (int i = 0; i < millis.length; i++) {
+            long start = System.nanoTime();
+            searchService.search(text, null, 0, PAGE_SIZE);
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        System.out.printf("Recherche « %s » : médiane %d ms, max %d ms%n", text, millis[millis.length / 2],
+                millis[millis.length - 1]);
+        assertThat(millis[millis.length / 2]).as(Arrays.toString(millis)).isLessThan(TARGET_MILLIS);
+    }
+}
@@ -0,0 +1,72 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.dto.ChatConversationDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rejeu des segments laissés par un arrêt : un segment illisible n'est jamais supprimé
+ */
+class ChatConversationWriterSegmentTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ChatAnalyticsService analytics = mock(ChatAnalyticsService.class);
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ChatConversationWriter writer;
+
+    @AfterEach
+    void stopWriter() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unreadableSegmentIsKeptWhileOthersAreReplayed() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][] {{1}});
+        Path readable = spillDirectory.resolve("conversations-000000000001.ndjson");
+        Files.writeString(readable, objectMapper.writeValueAsString(new ChatConversationWriter.PendingConversation(
+                UUID.randomUUID(), null, "message", "réponse", "SAD", "WORK", ZonedDateTime.now())) + "\n");
+        // Lecture impossible (un répertoire vide) mais suppression possible : le cas d'une erreur d'E/S transitoire
+        Path unreadable = Files.createDirectory(spillDirectory.resolve("conversations-000000000002.ndjson"));
+
+        writer = new ChatConversationWriter(jdbcTemplate, objectMapper, analytics, true, 2, 50, 100,
+                spillDirectory.toString());
+        writer.start();
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (Files.exists(readable) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        // Plusieurs passes du thread d'écriture, qui retente le segment illisible à chacune
+        Thread.sleep(300);
+
+        assertThat(readable).doesNotExist();
+        assertThat(unreadable).exists();
+        verify(analytics).record(any(ChatConversationDto.class));
+    }
+}
@@ -0,0 +1,86 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.PostgresIntegrationTest;
+import com.decathlonminds.emotional.dto.ChatConversationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Écriture différée : les conversations mises en file sont insérées par la vraie requête SQL
+ */
+@TestPropertySource(properties = {
+        "chat.write-behind.enabled=true",
+        "chat.write-behind.batch-size=2",
+        "chat.write-behind.flush-interval-ms=50",
+        "chat.write-behind.spill-dir=target/test-chat-spill"
+})
+class ChatConversationWriterTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ChatConversationWriter writer;
+
+    @BeforeEach
+    void createDefaultUser() {
+        insertUser(ChatConversationWriter.DEFAULT_USER_ID);
+    }
+
+    @Test
+    void enqueuedConversationsAreInsertedWithAllColumns() {
+        UUID userId = UUID.randomUUID();
+        insertUser(userId);
+
+        ChatConversationDto known = writer.enqueue(conversation(userId, "SAD", "WORK")).orElseThrow();
+        ChatConversationDto unknown = writer.enqueue(conversation(UUID.randomUUID(), "HAPPY", "FAMILY")).orElseThrow();
+        ChatConversationDto anonymous = writer.enqueue(conversation(null, "ANXIOUS", "HEALTH")).orElseThrow();
+
+        Map<String, Object> row = awaitRow(known.getId());
+        assertThat(row.get("user_id")).isEqualTo(userId);
+        assertThat(row.get("user_message")).isEqualTo("message");
+        assertThat(row.get("bot_response")).isEqualTo("réponse");
+        assertThat(row.get("emotion")).isEqualTo("SAD");
+        assertThat(row.get("reason")).isEqualTo("WORK");
+        // PostgreSQL arrondit les nanosecondes à la microseconde la plus proche
+        assertThat(((Timestamp) row.get("timestamp")).toInstant())
+                .isCloseTo(known.getTimestamp().toInstant(), within(1, ChronoUnit.MICROS));
+
+        // Utilisateur inconnu ou absent : la conversation est rattachée à l'utilisateur par défaut
+        assertThat(awaitRow(unknown.getId()).get("user_id")).isEqualTo(ChatConversationWriter.DEFAULT_USER_ID);
+        assertThat(awaitRow(anonymous.getId()).get("user_id")).isEqualTo(ChatConversationWriter.DEFAULT_USER_ID);
+        assertThat(writer.getPendingCount()).isZero();
+    }
+
+    private ChatConversationDto conversation(UUID userId, String emotion, String reason) {
+        return new ChatConversationDto(null, userId, "message", "réponse", emotion, reason, null);
+    }
+
+    private Map<String, Object> awaitRow(UUID id) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT user_id, user_message, bot_response, emotion, reason, \"timestamp\" " +
+                    "FROM chat_conversations WHERE id = ?", id);
+            if (!rows.isEmpty()) {
+                return rows.get(0);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("Conversation " + id + " non écrite");
+    }
+}
@@ -0,0 +1,130 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.PostgresIntegrationTest;
+import com.decathlonminds.emotional.dto.FeedPostDto;
+import com.decathlonminds.emotional.model.PostType;
+import com.decathlonminds.emotional.model.SourceStatus;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Validation des publications et vérification de leur source après enregistrement,
+ * contre un serveur HTTP local
+ */
+@AutoConfigureMockMvc
+class FeedServiceSourceCheckTest extends PostgresIntegrationTest {
+
+    private static HttpServer server;
+    private static String baseUrl;
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void pendingSourceIsResolvedAfterCommit() {
+        FeedPostDto created = feedService.createPost(scientificPost(baseUrl + "/ok?post=" + UUID.randomUUID()));
+        assertThat(created.getSourceStatus()).isEqualTo(SourceStatus.PENDING);
+        assertThat(awaitResolvedStatus(created.getId())).isEqualTo(SourceStatus.VERIFIED.name());
+
+        FeedPostDto unreachable = feedService.createPost(scientificPost(baseUrl + "/missing?post=" + UUID.randomUUID()));
+        assertThat(awaitResolvedStatus(unreachable.getId())).isEqualTo(SourceStatus.UNREACHABLE.name());
+    }
+
+    @Test
+    void stalePendingPostsAreSwept() {
+        UUID id = UUID.randomUUID();
+        String source = baseUrl + "/ok?post=" + id;
+        Timestamp longAgo = Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS));
+        // Publication laissée en attente sans vérification en cours (redémarrage...)
+        jdbcTemplate.update("INSERT INTO feed_posts (id, type, title, source, source_status, created_at, updated_at) " +
+                "VALUES (?, 'SCIENTIFIC', 'Étude', ?, 'PENDING', ?, ?)", id, source, longAgo, longAgo);
+
+        feedService.sweepPendingSources();
+
+        assertThat(awaitResolvedStatus(id)).isEqualTo(SourceStatus.VERIFIED.name());
+    }
+
+    @Test
+    void invalidPostsAreRejected() throws Exception {
+        FeedPostDto withoutSource = scientificPost(null);
+        assertThatThrownBy(() -> feedService.createPost(withoutSource)).isInstanceOf(IllegalArgumentException.class);
+
+        mockMvc.perform(post("/feed")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"EVENT\",\"title\":\"Sortie\",\"date\":\"2020-01-01T10:00:00Z\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/feed")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"SCIENTIFIC\",\"title\":\"Étude\",\"source\":\"pas une url\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private FeedPostDto scientificPost(String source) {
+        FeedPostDto post = new FeedPostDto();
+        post.setType(PostType.SCIENTIFIC);
+        post.setTitle("Étude");
+        post.setContent("Marcher réduit le stress");
+        post.setSource(source);
+        return post;
+    }
+
+    private String awaitResolvedStatus(UUID id) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            String status = jdbcTemplate.queryForObject(
+                    "SELECT source_status FROM feed_posts WHERE id = ?", String.class, id);
+            if (!SourceStatus.PENDING.name().equals(status)) {
+                return status;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("Source de la publication " + id + " toujours en attente");
+    }
+}
@@ -0,0 +1,91 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.PostgresIntegrationTest;
+import com.decathlonminds.emotional.cache.FeedPageCache;
+import com.decathlonminds.emotional.dto.CursorPage;
+import com.decathlonminds.emotional.dto.FeedPostDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lecture des pages du fil : un nombre constant de requêtes SQL, quel que soit le nombre de publications,
+ * de tags et de parcours liés (statistiques Hibernate). Les pages sont lues par GET /feed : la sérialisation
+ * JSON, faite dans la session ouverte pour la requête (open-in-view), compte aussi
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FeedServiceStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int POSTS = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FeedPageCache feedPageCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void fiveHundredPostsAreReadInTwoStatementsPerPage() throws Exception {
+        UUID routeId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO walking_routes (id, name, difficulty_level, distance_meters, " +
+                "estimated_duration_minutes, start_point_latitude, start_point_longitude, end_point_latitude, " +
+                "end_point_longitude) VALUES (?, 'Boucle du parc', 'LOW', 3000, 40, 50.63, 3.06, 50.64, 3.07)", routeId);
+        // Dans le futur : ces publications forment le début du fil, quelles que soient les autres données
+        jdbcTemplate.update("INSERT INTO feed_posts (id, type, title, walking_route_id, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'ROUTE', 'Parcours ' || g, CASE WHEN g % 2 = 0 THEN ?::uuid END, " +
+                "       now() + interval '1 day' - g * interval '1 second', now() " +
+                "FROM generate_series(1, ?) g", routeId, POSTS);
+        jdbcTemplate.update("INSERT INTO feed_post_tags (post_id, tag) " +
+                "SELECT p.id, t.tag FROM feed_posts p CROSS JOIN (VALUES ('marche'), ('nature'), ('calme')) t(tag) " +
+                "WHERE p.title LIKE 'Parcours %'");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        feedPageCache.invalidateAll();
+
+        // Les pages sont limitées à MAX_PAGE_SIZE : les 500 publications sont lues en pages de 100
+        int read = 0;
+        String cursor = null;
+        while (read < POSTS) {
+            statistics.clear();
+            MockHttpServletRequestBuilder request = get("/feed").param("size", String.valueOf(FeedService.MAX_PAGE_SIZE));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            CursorPage<FeedPostDto> page = objectMapper.readValue(body, new TypeReference<>() {
+            });
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(page.getItems()).hasSize(FeedService.MAX_PAGE_SIZE);
+            assertThat(page.getItems()).allSatisfy(post -> assertThat(post.getTags()).hasSize(3));
+            assertThat(page.getItems()).filteredOn(post -> routeId.equals(post.getWalkingRouteId()))
+                    .hasSize(FeedService.MAX_PAGE_SIZE / 2);
+            read += page.getItems().size();
+            cursor = page.getNextCursor();
+        }
+        assertThat(read).isEqualTo(POSTS);
+    }
+}
@@ -0,0 +1,129 @@
+package com.decathlonminds.emotional.service;
+
+import com.decathlonminds.emotional.model.ChatEmotion;
+import com.decathlonminds.emotional.model.ChatReason;
+import com.decathlonminds.emotional.model.QuoteSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'une citation rassurante : la table de ReassuranceQuoteEngine face à l'ancienne
+ * chaîne de if/else de ChatService, sur un mélange de requêtes proche du trafic réel
+ * (valeurs en majuscules pour l'essentiel, quelques minuscules, valeurs inconnues ou absentes).
+ * Ce n'est pas un test : à lancer à la main après mvn test-compile, via main().
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReassuranceQuoteBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({"WEIGHTED", "ROUND_ROBIN"})
+    QuoteSelection selection;
+
+    private ReassuranceQuoteEngine engine;
+    private final String[] emotions = new String[REQUESTS];
+    private final String[] reasons = new String[REQUESTS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new ReassuranceQuoteEngine(new ObjectMapper(),
+                new ClassPathResource("quotes/reassurance-quotes.json"), selection);
+        if (engine.size() == 0) {
+            throw new IllegalStateException("Aucune citation chargée");
+        }
+        Random random = new Random(42);
+        ChatEmotion[] knownEmotions = ChatEmotion.values();
+        ChatReason[] knownReasons = ChatReason.values();
+        for (int i = 0; i < REQUESTS; i++) {
+            emotions[i] = clientValue(random, knownEmotions[random.nextInt(knownEmotions.length)].name(), "BORED");
+            reasons[i] = clientValue(random, knownReasons[random.nextInt(knownReasons.length)].name(), "WEATHER");
+        }
+    }
+
+    /**
+     * Valeur telle qu'un client l'envoie : 85 % en majuscules, 8 % en minuscules, 5 % inconnue, 2 % absente
+     */
+    private static String clientValue(Random random, String known, String unknown) {
+        int roll = random.nextInt(100);
+        if (roll < 85) {
+            return known;
+        }
+        if (roll < 93) {
+            return known.toLowerCase();
+        }
+        return roll < 98 ? unknown : null;
+    }
+
+    @Benchmark
+    public String engine() {
+        int i = next++ & (REQUESTS - 1);
+        return engine.quote(emotions[i], reasons[i]);
+    }
+
+    @Benchmark
+    public String ifElseChain() {
+        int i = next++ & (REQUESTS - 1);
+        return ifElseChain(emotions[i], reasons[i]);
+    }
+
+    /**
+     * L'ancienne ChatService.generateReassuranceQuote, conservée à l'identique comme référence
+     */
+    private static String ifElseChain(String emotion, String reason) {
+        if ("HAPPY".equalsIgnoreCase(emotion)) {
+            if ("WORK".equalsIgnoreCase(reason)) {
+                return "Votre satisfaction au travail est une grande source de bonheur. Continuez à cultiver cet accomplissement !";
+            } else if ("LOVE".equalsIgnoreCase(reason)) {
+                return "L'amour est une force puissante qui illumine votre journée. Chérissez ces moments précieux.";
+            } else {
+                return "Le bonheur que vous ressentez est une force positive. Savourez pleinement ces instants !";
+            }
+        } else if ("SAD".equalsIgnoreCase(emotion)) {
+            if ("WORK".equalsIgnoreCase(reason)) {
+                return "Les défis professionnels font partie du chemin. Chaque obstacle surmonté est une victoire personnelle.";
+            } else if ("LOVE".equalsIgnoreCase(reason)) {
+                return "Les moments difficiles en amour nous enseignent beaucoup sur nous-mêmes. Prenez soin de votre cœur.";
+            } else {
+                return "La tristesse aussi est passagère. Prenez le temps de l'accueillir, puis laissez-la s'en aller doucement.";
+            }
+        } else if ("ANGRY".equalsIgnoreCase(emotion)) {
+            return "Respirez profondément. La colère est comme un nuage passager dans votre ciel intérieur.";
+        } else if ("ANXIOUS".equalsIgnoreCase(emotion)) {
+            return "Une étape à la fois. Vous faites de votre mieux et c'est déjà beaucoup.";
+        } else if ("TIRED".equalsIgnoreCase(emotion)) {
+            return "Accordez-vous le repos que vous méritez. Demain est un autre jour.";
+        } else {
+            return "Chaque émotion a sa valeur et son message. Écoutez ce que celle-ci veut vous dire.";
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReassuranceQuoteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,168 @@
+package com.decathlonminds.emotional.validator;
+
+import com.decathlonminds.emotional.model.SourceStatus;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérification des sources contre un serveur HTTP local
+ */
+class SourceReachabilityCheckerTest {
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+
+    private final AtomicInteger okRequests = new AtomicInteger();
+    private final AtomicInteger slowActive = new AtomicInteger();
+    private final AtomicInteger slowMaxActive = new AtomicInteger();
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            okRequests.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            slowMaxActive.accumulateAndGet(slowActive.incrementAndGet(), Math::max);
+            try {
+                slowRelease.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slowActive.decrementAndGet();
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        slowRelease.countDown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void reachableAndUnreachableSourcesAreCached() throws Exception {
+        SourceReachabilityChecker checker = checker(2);
+
+        assertThat(checker.getStatus(baseUrl + "/ok")).isEqualTo(SourceStatus.PENDING);
+        assertThat(checker.verify(baseUrl + "/ok").get(5, TimeUnit.SECONDS)).isEqualTo(SourceStatus.VERIFIED);
+        assertThat(checker.verify(baseUrl + "/missing").get(5, TimeUnit.SECONDS)).isEqualTo(SourceStatus.UNREACHABLE);
+
+        assertThat(checker.getStatus(baseUrl + "/ok")).isEqualTo(SourceStatus.VERIFIED);
+        assertThat(checker.getStatus(baseUrl + "/missing")).isEqualTo(SourceStatus.UNREACHABLE);
+        assertThat(checker.verify(baseUrl + "/ok").get(5, TimeUnit.SECONDS)).isEqualTo(SourceStatus.VERIFIED);
+        assertThat(okRequests).hasValue(1);
+    }
+
+    @Test
+    void getStatusDoesNotStartACheck() {
+        SourceReachabilityChecker checker = checker(2);
+
+        assertThat(checker.getStatus(baseUrl + "/ok")).isEqualTo(SourceStatus.PENDING);
+        assertThat(checker.getStatus(baseUrl + "/ok")).isEqualTo(SourceStatus.PENDING);
+        assertThat(okRequests).hasValue(0);
+    }
+
+    @Test
+    void checksBeyondTheHostLimitWaitForTheirTurn() throws Exception {
+        SourceReachabilityChecker checker = checker(1);
+
+        List<CompletableFuture<SourceStatus>> checks = IntStream.range(0, 5)
+                .mapToObj(i -> checker.verify(baseUrl + "/slow?page=" + i))
+                .collect(Collectors.toList());
+        Thread.sleep(200);
+        assertThat(checks).noneMatch(CompletableFuture::isDone);
+
+        slowRelease.countDown();
+        for (CompletableFuture<SourceStatus> check : checks) {
+            assertThat(check.get(10, TimeUnit.SECONDS)).isEqualTo(SourceStatus.VERIFIED);
+        }
+        assertThat(slowMaxActive).hasValue(1);
+    }
+
+    @Test
+    void checksBeyondTheHostQueueArePendingAndNotCached() throws Exception {
+        SourceReachabilityChecker checker = checker(1, 2);
+
+        List<CompletableFuture<SourceStatus>> checks = IntStream.range(0, 3)
+                .mapToObj(i -> checker.verify(baseUrl + "/slow?page=" + i))
+                .collect(Collectors.toList());
+        CompletableFuture<SourceStatus> rejected = checker.verify(baseUrl + "/slow?page=3");
+
+        assertThat(rejected.get(1, TimeUnit.SECONDS)).isEqualTo(SourceStatus.PENDING);
+        assertThat(checker.getStatus(baseUrl + "/slow?page=3")).isEqualTo(SourceStatus.PENDING);
+
+        slowRelease.countDown();
+        for (CompletableFuture<SourceStatus> check : checks) {
+            assertThat(check.get(10, TimeUnit.SECONDS)).isEqualTo(SourceStatus.VERIFIED);
+        }
+        assertThat(checker.verify(baseUrl + "/slow?page=3").get(10, TimeUnit.SECONDS)).isEqualTo(SourceStatus.VERIFIED);
+    }
+
+    @Test
+    void idleHostsAreNoLongerTracked() throws Exception {
+        SourceReachabilityChecker checker = checker(1);
+
+        CompletableFuture<SourceStatus> slow = checker.verify(baseUrl + "/slow");
+        Thread.sleep(100);
+        assertThat(checker.trackedHostCount()).isEqualTo(1);
+
+        slowRelease.countDown();
+        assertThat(slow.get(10, TimeUnit.SECONDS)).isEqualTo(SourceStatus.VERIFIED);
+        assertThat(checker.verify(baseUrl + "/missing").get(5, TimeUnit.SECONDS)).isEqualTo(SourceStatus.UNREACHABLE);
+        assertThat(checker.verify("http://localhost:" + server.getAddress().getPort() + "/ok")
+                .get(5, TimeUnit.SECONDS)).isEqualTo(SourceStatus.VERIFIED);
+        // La place est libérée juste après le verdict
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (checker.trackedHostCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(checker.trackedHostCount()).isZero();
+    }
+
+    @Test
+    void invalidUrlsAreUnreachable() throws Exception {
+        SourceReachabilityChecker checker = checker(2);
+
+        assertThat(checker.verify("ftp://127.0.0.1/file").get(5, TimeUnit.SECONDS)).isEqualTo(SourceStatus.UNREACHABLE);
+        assertThat(checker.verify("http://").get(5, TimeUnit.SECONDS)).isEqualTo(SourceStatus.UNREACHABLE);
+    }
+
+    private SourceReachabilityChecker checker(int maxConcurrentPerHost) {
+        return checker(maxConcurrentPerHost, 100);
+    }
+
+    private SourceReachabilityChecker checker(int maxConcurrentPerHost, int maxQueuedPerHost) {
+        return new SourceReachabilityChecker(100, 60, 10, 5, maxConcurrentPerHost, maxQueuedPerHost);
+    }
+}
@@ -35,7 +35,8 @@ CREATE TABLE emotional_entries (
     recorded_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     location_latitude DECIMAL(9,6),
     location_longitude DECIMAL(9,6),
-    weather_condition VARCHAR(50)
+    weather_condition VARCHAR(50),
+    geo_cell BIGINT
 );
 
 -- Create walking_routes table
@@ -66,6 +67,24 @@ CREATE TABLE route_points (
     UNIQUE(route_id, sequence_number)
 );
 
+-- Create walking_route_geometries table (tracé compact, un enregistrement par parcours)
+CREATE TABLE walking_route_geometries (
+    route_id UUID PRIMARY KEY REFERENCES walking_routes(id) ON DELETE CASCADE,
+    point_count INTEGER NOT NULL,
+    geometry BYTEA NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create walking_route_geometry_levels table (tracés simplifiés par niveau de détail)
+CREATE TABLE walking_route_geometry_levels (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    route_id UUID NOT NULL REFERENCES walking_routes(id) ON DELETE CASCADE,
+    detail_level VARCHAR(10) NOT NULL,
+    point_count INTEGER NOT NULL,
+    geometry BYTEA NOT NULL,
+    CONSTRAINT uk_walking_route_geometry_levels_route_level UNIQUE (route_id, detail_level)
+);
+
 -- Create emotional_recommendations table
 CREATE TABLE emotional_recommendations (
     id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
@@ -93,10 +112,24 @@ CREATE TABLE user_activities (
     notes TEXT
 );
 
+-- Create emotion_daily_rollups table (agrégats quotidiens pour les tendances d'humeur)
+CREATE TABLE emotion_daily_rollups (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id),
+    day DATE NOT NULL,
+    emotion VARCHAR(20) NOT NULL,
+    entry_count INTEGER NOT NULL DEFAULT 0,
+    low_count INTEGER NOT NULL DEFAULT 0,
+    medium_count INTEGER NOT NULL DEFAULT 0,
+    high_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_emotion_daily_rollups_user_day_emotion UNIQUE (user_id, day, emotion)
+);
+
 -- Create indexes for better query performance
 CREATE INDEX idx_emotional_entries_user_id ON emotional_entries(user_id);
 CREATE INDEX idx_emotional_entries_emotion ON emotional_entries(emotion);
 CREATE INDEX idx_emotional_entries_recorded_at ON emotional_entries(recorded_at);
+CREATE INDEX idx_emotional_entries_geo_cell ON emotional_entries(geo_cell);
 CREATE INDEX idx_walking_routes_difficulty ON walking_routes(difficulty_level);
 CREATE INDEX idx_route_points_route_id ON route_points(route_id);
 CREATE INDEX idx_user_activities_user_id ON user_activities(user_id);
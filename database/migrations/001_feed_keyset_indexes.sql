@@ -0,0 +1,11 @@
+-- Index composites pour la pagination par curseur (created_at, id) du fil d'actualité.
+-- Hibernate les crée sur une base neuve (ddl-auto: update) ; ce script sert aux bases existantes.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feed_posts_created_at_id
+    ON feed_posts (created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feed_posts_type_created_at_id
+    ON feed_posts (type, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feed_post_tags_tag_post_id
+    ON feed_post_tags (tag, post_id);
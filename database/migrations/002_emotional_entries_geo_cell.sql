@@ -0,0 +1,7 @@
+-- Cellule géographique (courbe de Morton) des états émotionnels, pour la recherche de proximité.
+-- Les lignes existantes sont complétées par le backend au démarrage (EmotionalEntryService.backfillGeoCells).
+
+ALTER TABLE emotional_entries ADD COLUMN IF NOT EXISTS geo_cell BIGINT;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_emotional_entries_geo_cell
+    ON emotional_entries (geo_cell);
@@ -0,0 +1,44 @@
+-- Agrégats quotidiens des états émotionnels par utilisateur et par émotion, lus par
+-- GET /emotional-entries/user/{userId}/trends. Le backend les tient à jour à chaque écriture ;
+-- cette migration crée la table et la remplit une fois à partir de l'historique.
+-- Les journées sont découpées dans le même fuseau que le backend : la valeur de app.time-zone est
+-- passée en variable psql (psql -v app_time_zone=..., voir README).
+
+\set ON_ERROR_STOP on
+\if :{?app_time_zone}
+\else
+\echo 'Variable app_time_zone absente : relancer avec -v app_time_zone=<valeur de app.time-zone>'
+\quit
+\endif
+
+CREATE TABLE IF NOT EXISTS emotion_daily_rollups (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id),
+    day DATE NOT NULL,
+    emotion VARCHAR(20) NOT NULL,
+    entry_count INTEGER NOT NULL DEFAULT 0,
+    low_count INTEGER NOT NULL DEFAULT 0,
+    medium_count INTEGER NOT NULL DEFAULT 0,
+    high_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_emotion_daily_rollups_user_day_emotion UNIQUE (user_id, day, emotion)
+);
+
+BEGIN;
+
+DELETE FROM emotion_daily_rollups;
+
+-- Table créée par Hibernate si le backend a déjà démarré : pas de valeur par défaut sur id
+INSERT INTO emotion_daily_rollups (id, user_id, day, emotion, entry_count, low_count, medium_count, high_count)
+SELECT gen_random_uuid(),
+       user_id,
+       (recorded_at AT TIME ZONE :'app_time_zone')::date,
+       emotion::text,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE intensity = 'LOW'),
+       COUNT(*) FILTER (WHERE intensity = 'MEDIUM'),
+       COUNT(*) FILTER (WHERE intensity = 'HIGH')
+FROM emotional_entries
+WHERE recorded_at IS NOT NULL
+GROUP BY user_id, (recorded_at AT TIME ZONE :'app_time_zone')::date, emotion;
+
+COMMIT;
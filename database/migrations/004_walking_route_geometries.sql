@@ -0,0 +1,11 @@
+-- Tracés des parcours au format compact (écarts en varint zigzag, millionièmes de degré),
+-- une ligne par parcours au lieu d'une ligne par point dans route_points.
+-- Les tracés existants sont convertis par le backend au démarrage (WalkingRouteService.migrateRoutePoints) ;
+-- route_points est conservée en lecture seule tant que tous les clients n'ont pas migré.
+
+CREATE TABLE IF NOT EXISTS walking_route_geometries (
+    route_id UUID PRIMARY KEY REFERENCES walking_routes(id) ON DELETE CASCADE,
+    point_count INTEGER NOT NULL,
+    geometry BYTEA NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,11 @@
+-- Versions simplifiées (Douglas–Peucker) des tracés, une par niveau de détail (HIGH : 2 m, MEDIUM : 10 m, LOW : 40 m).
+-- Recalculées par le backend à chaque enregistrement d'un tracé ; les tracés existants sont traités au démarrage.
+
+CREATE TABLE IF NOT EXISTS walking_route_geometry_levels (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    route_id UUID NOT NULL REFERENCES walking_routes(id) ON DELETE CASCADE,
+    detail_level VARCHAR(10) NOT NULL,
+    point_count INTEGER NOT NULL,
+    geometry BYTEA NOT NULL,
+    CONSTRAINT uk_walking_route_geometry_levels_route_level UNIQUE (route_id, detail_level)
+);
@@ -0,0 +1,11 @@
+-- Index composites de la recherche multicritère des parcours (GET /routes).
+-- Hibernate les crée sur une base neuve (ddl-auto: update) ; ce script sert aux bases existantes.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_walking_routes_difficulty_duration
+    ON walking_routes (difficulty_level, estimated_duration_minutes);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_walking_routes_type_difficulty_duration
+    ON walking_routes (route_type, difficulty_level, estimated_duration_minutes);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_walking_routes_difficulty_distance
+    ON walking_routes (difficulty_level, distance_meters);
@@ -0,0 +1,13 @@
+-- Index composites du filtre /api/posts/filter alignés sur son tri complet (created_at DESC, id DESC) : la page
+-- est lue dans l'ordre de l'index, sans tri, y compris quand le type n'est pas filtré (émotion + cause).
+-- Hibernate les crée sur une base neuve (ddl-auto: update) ; ce script sert aux bases existantes.
+-- Plans vérifiés par PostFilterIndexPlanTest.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_emotion_cause_created_at_id
+    ON posts (emotion, cause, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_emotion_cause_type_created_at_id
+    ON posts (emotion, cause, type, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_type_created_at_id
+    ON posts (type, created_at DESC, id DESC);
@@ -0,0 +1,27 @@
+-- Recherche plein texte (GET /search) sur posts et feed_posts : colonne tsvector générée
+-- (configuration french : racinisation et mots vides français), titre pondéré A, contenu B,
+-- indexée en GIN. PostgreSQL la tient à jour à chaque écriture ; aucune action du backend.
+-- Hibernate ne gère pas ces colonnes : ce script est nécessaire aussi sur une base neuve.
+-- Pour un terme fréquent, seules les correspondances les plus récentes sont classées, lues en
+-- parcourant (created_at DESC, id DESC) : idx_posts_created_at_id, comme idx_feed_posts_created_at_id (001).
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('french', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_search_vector
+    ON posts USING GIN (search_vector);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_created_at_id
+    ON posts (created_at DESC, id DESC);
+
+ALTER TABLE feed_posts ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('french', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feed_posts_search_vector
+    ON feed_posts USING GIN (search_vector);
@@ -0,0 +1,42 @@
+-- Tags normalisés (TagNormalizer) : sans '#' initial, espaces réduits, minuscules.
+-- Réécrit les tags existants sous cette forme pour que les recherches par tag et l'index
+-- d'autocomplétion, alimentés avec des tags normalisés, retrouvent les anciennes lignes.
+-- Les doublons créés par la normalisation sont fusionnés.
+-- normalize_tag reprend TagNormalizer.normalize étape par étape, pour que les tags réécrits ici
+-- soient identiques à ceux écrits par l'API (recherches exactes de TagIndex). Les minuscules
+-- utilisent la collation ICU racine (und-x-icu), l'équivalent de toLowerCase(Locale.ROOT) :
+-- le résultat ne dépend pas de la collation de la base.
+
+BEGIN;
+
+CREATE FUNCTION pg_temp.normalize_tag(tag text) RETURNS text LANGUAGE sql IMMUTABLE AS $$
+    SELECT regexp_replace(                          -- 5. stripTrailing après la coupe
+        left(                                       -- 4. MAX_LENGTH = 50
+            lower(                                  -- 3. toLowerCase(Locale.ROOT)
+                regexp_replace(                     -- 2. blancs internes (\s ASCII de Java) réduits à une espace
+                    regexp_replace(tag, '^[#\s]+|\s+$', '', 'g'),  -- 1. strip, puis '#' et blancs initiaux
+                    '[ \t\n\v\f\r]+', ' ', 'g')
+                COLLATE "und-x-icu"),
+            50),
+        '\s+$', '')
+$$;
+
+CREATE TEMP TABLE normalized_post_tags ON COMMIT DROP AS
+    SELECT DISTINCT post_id, pg_temp.normalize_tag(tag) AS tag
+    FROM post_tags;
+DELETE FROM post_tags;
+INSERT INTO post_tags (post_id, tag)
+    SELECT post_id, tag FROM normalized_post_tags WHERE tag <> '';
+
+CREATE TEMP TABLE normalized_feed_post_tags ON COMMIT DROP AS
+    SELECT DISTINCT post_id, pg_temp.normalize_tag(tag) AS tag
+    FROM feed_post_tags;
+DELETE FROM feed_post_tags;
+INSERT INTO feed_post_tags (post_id, tag)
+    SELECT post_id, tag FROM normalized_feed_post_tags WHERE tag <> '';
+
+COMMIT;
+
+-- Posts portant un tag (GET /api/posts/tag/{tag}), comme idx_feed_post_tags_tag_post_id (001)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_post_tags_tag_post_id
+    ON post_tags (tag, post_id);
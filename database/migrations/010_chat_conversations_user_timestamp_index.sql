@@ -0,0 +1,6 @@
+-- Historique des conversations d'un utilisateur (GET /conversation/user/{userId}, pagination par clé
+-- (timestamp, id) décroissante) et export NDJSON (même index parcouru dans l'ordre croissant).
+-- Hibernate le crée sur une base neuve (ddl-auto: update) ; ce script sert aux bases existantes.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_conversations_user_id_timestamp_id
+    ON chat_conversations (user_id, "timestamp", id);
@@ -0,0 +1,22 @@
+-- Rétention des conversations du chatbot : les journées plus anciennes que chat.retention.max-age-days
+-- sont résumées dans chat_daily_summaries (une ligne par utilisateur et par jour) puis retirées de
+-- chat_conversations ; le texte intégral est archivé en NDJSON compressé (chat.retention.archive-dir).
+-- Hibernate crée la table sur une base neuve (ddl-auto: update) ; ce script sert aux bases existantes.
+-- Les journées sont découpées dans le fuseau app.time-zone (Europe/Paris par défaut).
+
+CREATE TABLE IF NOT EXISTS chat_daily_summaries (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id),
+    day DATE NOT NULL,
+    conversation_count INTEGER NOT NULL DEFAULT 0,
+    emotion_counts JSONB NOT NULL DEFAULT '{}'::jsonb,
+    reason_counts JSONB NOT NULL DEFAULT '{}'::jsonb,
+    transcript TEXT,
+    archive_files TEXT[],
+    compacted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT uk_chat_daily_summaries_user_day UNIQUE (user_id, day)
+);
+
+-- Sélection des conversations à compacter (timestamp antérieur à la date limite)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_conversations_timestamp
+    ON chat_conversations ("timestamp");
@@ -0,0 +1,108 @@
+-- Compteurs des conversations du chatbot (émotion × raison, dernière émotion, séries), tenus en mémoire
+-- par le backend et écrits périodiquement dans ces tables (chat.analytics.checkpoint-interval-ms).
+-- Cette migration crée les tables et les remplit une seule fois à partir de chat_conversations, tant
+-- qu'elles sont vides ; la réexécuter ensuite ne modifie rien (les compteurs des journées déjà compactées
+-- par le job de rétention ne pourraient plus être reconstitués). Les journées compactées avant ce premier
+-- remplissage n'ont plus le détail émotion × raison et ne sont pas reprises.
+-- Les compteurs globaux sont rangés sous l'identifiant nul, d'où l'absence de clé étrangère vers users.
+-- Première exécution après un premier démarrage du backend (chat_conversations doit exister), mais backend
+-- arrêté : ses compteurs en mémoire écraseraient le remplissage au point de reprise suivant. Redémarrez-le
+-- ensuite, il relit les compteurs remplis ici.
+
+CREATE TABLE IF NOT EXISTS chat_emotion_counters (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    emotion VARCHAR(20) NOT NULL,
+    reason VARCHAR(20) NOT NULL,
+    conversation_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_chat_emotion_counters_user_emotion_reason UNIQUE (user_id, emotion, reason)
+);
+
+CREATE TABLE IF NOT EXISTS chat_emotion_streaks (
+    user_id UUID PRIMARY KEY,
+    last_emotion VARCHAR(20),
+    last_seen_at TIMESTAMP WITH TIME ZONE,
+    streak_emotion VARCHAR(20),
+    streak_length INTEGER NOT NULL DEFAULT 0,
+    longest_streak_emotion VARCHAR(20),
+    longest_streak_length INTEGER NOT NULL DEFAULT 0
+);
+
+BEGIN;
+
+-- Un point de reprise concurrent attend la fin du remplissage, qui voit donc les tables dans leur état final
+LOCK TABLE chat_emotion_counters, chat_emotion_streaks IN SHARE ROW EXCLUSIVE MODE;
+
+-- Émotions et raisons hors des listes du chatbot (ou absentes) sont comptées sous UNKNOWN
+CREATE TEMPORARY TABLE normalized_conversations ON COMMIT DROP AS
+SELECT id,
+       user_id,
+       "timestamp",
+       CASE WHEN UPPER(emotion) IN ('HAPPY', 'SAD', 'ANGRY', 'ANXIOUS', 'TIRED', 'CONFUSED', 'RELAXED', 'EXCITED')
+            THEN UPPER(emotion) END AS emotion,
+       CASE WHEN UPPER(reason) IN ('WORK', 'LOVE', 'SELF', 'FAMILY', 'FRIENDS', 'MONEY', 'HEALTH', 'WORLD')
+            THEN UPPER(reason) END AS reason
+FROM chat_conversations;
+
+-- Table créée par Hibernate si le backend a déjà démarré : pas de valeur par défaut sur id.
+-- Compteurs par utilisateur et globaux en une seule instruction : le test sur la table vide vaut pour les deux
+INSERT INTO chat_emotion_counters (id, user_id, emotion, reason, conversation_count)
+SELECT gen_random_uuid(), user_id, emotion, reason, conversation_count
+FROM (
+    SELECT user_id, COALESCE(emotion, 'UNKNOWN') AS emotion, COALESCE(reason, 'UNKNOWN') AS reason,
+           COUNT(*) AS conversation_count
+    FROM normalized_conversations
+    GROUP BY user_id, 2, 3
+    UNION ALL
+    SELECT '00000000-0000-0000-0000-000000000000'::uuid, COALESCE(emotion, 'UNKNOWN'), COALESCE(reason, 'UNKNOWN'),
+           COUNT(*)
+    FROM normalized_conversations
+    GROUP BY 2, 3
+) counts
+WHERE NOT EXISTS (SELECT 1 FROM chat_emotion_counters);
+
+-- Séries : suites de conversations consécutives de même émotion (îlots), une conversation sans émotion
+-- connue interrompt la série en cours
+WITH runs AS (
+    SELECT user_id, emotion, "timestamp",
+           ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY "timestamp", id)
+         - ROW_NUMBER() OVER (PARTITION BY user_id, emotion ORDER BY "timestamp", id) AS run
+    FROM normalized_conversations
+),
+run_lengths AS (
+    SELECT user_id, emotion, run, COUNT(*) AS length, MAX("timestamp") AS ended_at
+    FROM runs
+    GROUP BY user_id, emotion, run
+),
+current_runs AS (
+    SELECT DISTINCT ON (user_id) user_id, emotion, length, ended_at
+    FROM run_lengths
+    ORDER BY user_id, ended_at DESC
+),
+longest_runs AS (
+    SELECT DISTINCT ON (user_id) user_id, emotion, length
+    FROM run_lengths
+    WHERE emotion IS NOT NULL
+    ORDER BY user_id, length DESC, ended_at DESC
+),
+last_known AS (
+    SELECT DISTINCT ON (user_id) user_id, emotion
+    FROM normalized_conversations
+    WHERE emotion IS NOT NULL
+    ORDER BY user_id, "timestamp" DESC, id DESC
+)
+INSERT INTO chat_emotion_streaks (user_id, last_emotion, last_seen_at, streak_emotion, streak_length,
+                                  longest_streak_emotion, longest_streak_length)
+SELECT c.user_id,
+       k.emotion,
+       c.ended_at,
+       c.emotion,
+       CASE WHEN c.emotion IS NULL THEN 0 ELSE c.length END,
+       l.emotion,
+       COALESCE(l.length, 0)
+FROM current_runs c
+LEFT JOIN longest_runs l ON l.user_id = c.user_id
+LEFT JOIN last_known k ON k.user_id = c.user_id
+WHERE NOT EXISTS (SELECT 1 FROM chat_emotion_streaks);
+
+COMMIT;